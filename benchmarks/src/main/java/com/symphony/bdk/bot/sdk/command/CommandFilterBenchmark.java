@@ -0,0 +1,106 @@
+package com.symphony.bdk.bot.sdk.command;
+
+import static com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder.beginsWith;
+import static com.symphony.bdk.bot.sdk.command.matcher.EscapedCharacter.whiteSpace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.symphony.bdk.bot.sdk.command.config.CommandRateLimitProps;
+import com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder;
+import com.symphony.bdk.bot.sdk.command.model.BotCommand;
+import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures the routing of a message to its command handler by
+ * {@link CommandFilterImpl} depending on the number of registered commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandFilterBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int matchers;
+
+  /**
+   * predicate: matchers registered with {@link CommandMatcherBuilder#predicate()}
+   * pattern: matchers registered with {@code pattern().asPredicate()}
+   */
+  @Param({"predicate", "pattern"})
+  private String registration;
+
+  private CommandFilterImpl commandFilter;
+  private MessageEvent lastCommandMessage;
+  private MessageEvent chatMessage;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    // no limit configured, as in the default settings
+    CommandRateLimiter commandRateLimiter = new CommandRateLimiter(new CommandRateLimitProps(),
+        null, new SimpleMeterRegistry());
+    commandFilter = new CommandFilterImpl(new BlackholeDispatcher(blackhole), commandRateLimiter);
+    for (int i = 0; i < matchers; i++) {
+      CommandMatcherBuilder builder = beginsWith("/command" + i).followedBy(whiteSpace());
+      Predicate<String> matcher = "predicate".equals(registration)
+          ? builder.predicate() : builder.pattern().asPredicate();
+      commandFilter.addFilter("command" + i, matcher);
+    }
+
+    lastCommandMessage = message("/command" + (matchers - 1) + " list open tickets for me");
+    chatMessage = message("hey team, has anyone looked at the release notes for today?");
+  }
+
+  @Benchmark
+  public void filterLastRegisteredCommand() {
+    commandFilter.filter(lastCommandMessage);
+  }
+
+  @Benchmark
+  public void filterChatMessage() {
+    commandFilter.filter(chatMessage);
+  }
+
+  private static MessageEvent message(String text) {
+    MessageEvent messageEvent = new MessageEvent();
+    messageEvent.setStreamId("iWyZBIOdQQzQj0tKOLRivX___qu6YeyZdA");
+    messageEvent.setUserId(12345678L);
+    messageEvent.setMessage(text);
+    return messageEvent;
+  }
+
+  private static class BlackholeDispatcher implements CommandDispatcher {
+    private final Blackhole blackhole;
+
+    BlackholeDispatcher(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void register(String channel, BaseCommandHandler handler) {
+    }
+
+    @Override
+    public void push(String channel, BotCommand command) {
+      blackhole.consume(command);
+    }
+  }
+
+}
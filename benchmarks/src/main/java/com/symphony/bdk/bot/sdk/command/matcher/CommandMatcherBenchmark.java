@@ -0,0 +1,74 @@
+package com.symphony.bdk.bot.sdk.command.matcher;
+
+import static com.symphony.bdk.bot.sdk.command.matcher.CharacterMatcher.any;
+import static com.symphony.bdk.bot.sdk.command.matcher.CharacterMatcher.negatedSet;
+import static com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder.beginsWith;
+import static com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder.group;
+import static com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder.nonCapturingGroup;
+import static com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder.oneOrMore;
+import static com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder.optional;
+import static com.symphony.bdk.bot.sdk.command.matcher.EscapedCharacter.whiteSpace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CommandMatcherBuilder} predicates on chat text with each
+ * {@link MatcherEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandMatcherBenchmark {
+
+  private static final String COMMAND =
+      "@BotName /template alert {\"title\": \"Disk usage above 90%\", \"host\": \"db-02\"}";
+
+  private static final String CHAT_MESSAGE = "Morning all! Quick reminder that the quarterly "
+      + "review moved to Thursday 3pm, please update your slides by Wednesday EOD and ping "
+      + "@BotName /template if you need the new deck layout. Thanks!";
+
+  @Param({"JDK", "LINEAR"})
+  private MatcherEngine engine;
+
+  private Predicate<String> templateCommand;
+
+  @Setup
+  public void setup() {
+    // README example: ^@BotName\s/template(?:\s+(?:([^\s]+)(?:\s+([\s\S]+)?)?)?)?
+    templateCommand = beginsWith("@")
+        .followedBy("BotName")
+        .followedBy(whiteSpace())
+        .followedBy("/template")
+        .followedBy(optional(nonCapturingGroup(
+            oneOrMore(whiteSpace()).followedBy(optional(nonCapturingGroup(
+                group(oneOrMore(negatedSet(whiteSpace()))).followedBy(optional(nonCapturingGroup(
+                    oneOrMore(whiteSpace()).followedBy(optional(group(oneOrMore(any())))))))))))))
+        .predicate(engine);
+  }
+
+  @Benchmark
+  public boolean matchCommand() {
+    return templateCommand.test(COMMAND);
+  }
+
+  @Benchmark
+  public boolean matchChatMessage() {
+    return templateCommand.test(CHAT_MESSAGE);
+  }
+
+}
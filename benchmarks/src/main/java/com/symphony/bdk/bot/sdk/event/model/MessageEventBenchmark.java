@@ -0,0 +1,72 @@
+package com.symphony.bdk.bot.sdk.event.model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.InboundMessage;
+import model.Stream;
+import model.User;
+
+/**
+ * Measures the conversion of a datafeed message into a {@link MessageEvent}.
+ * <p>
+ * The {@link InboundMessage} is populated in every invocation, as the datafeed
+ * deserialization does, since it caches the parsed message text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageEventBenchmark {
+
+  private static final String PRESENTATION_ML = "<div data-format=\"PresentationML\" "
+      + "data-version=\"2.0\" class=\"wysiwyg\"><p><span class=\"entity\" "
+      + "data-entity-id=\"0\">@BotName</span> /template alert "
+      + "{\"title\": \"Disk usage above 90%\", \"host\": \"db-02\"}</p></div>";
+
+  private static final String DATA = "{\"0\":{\"id\":[{\"type\":"
+      + "\"com.symphony.user.userId\",\"value\":\"349026222344891\"}],"
+      + "\"type\":\"com.symphony.user.mention\"}}";
+
+  @Benchmark
+  public MessageEvent newMessageEvent() {
+    return new MessageEvent(inboundMessage());
+  }
+
+  private static InboundMessage inboundMessage() {
+    User user = new User();
+    user.setUserId(12345678L);
+    user.setFirstName("Jane");
+    user.setLastName("Doe");
+    user.setDisplayName("Jane Doe");
+    user.setEmail("jane.doe@example.com");
+    user.setUsername("jdoe");
+
+    Stream stream = new Stream();
+    stream.setStreamId("iWyZBIOdQQzQj0tKOLRivX___qu6YeyZdA");
+    stream.setStreamType("ROOM");
+
+    InboundMessage message = new InboundMessage();
+    message.setMessageId("R5jbDUEIWJwvOXo3tVuHPn___oyZhqX0bQ");
+    message.setTimestamp(1583341542108L);
+    message.setMessage(PRESENTATION_ML);
+    message.setData(DATA);
+    message.setUser(user);
+    message.setStream(stream);
+    message.setExternalRecipients(false);
+    message.setUserAgent("DESKTOP-40.0.0-10665-MacOSX-10.14.6-Chrome-78.0.3904.130");
+    message.setOriginalFormat("com.symphony.messageml.v2");
+    return message;
+  }
+
+}
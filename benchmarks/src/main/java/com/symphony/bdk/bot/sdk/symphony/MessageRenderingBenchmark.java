@@ -0,0 +1,109 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.helper.ConditionalHelpers;
+import com.symphony.bdk.bot.sdk.lib.jsonmapper.JsonMapperImpl;
+import com.symphony.bdk.bot.sdk.lib.templating.TemplateServiceImpl;
+import com.symphony.bdk.bot.sdk.symphony.config.OutboundProps;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import model.OutboundMessage;
+import services.HandlebarsTemplateLoader;
+
+/**
+ * Measures the rendering of a {@link SymphonyMessage} into the message sent to
+ * Symphony by {@link MessageClientImpl}, without sending it. The number of
+ * table rows goes up to large table-style messages, whose steady-state
+ * allocation per message is reported as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageRenderingBenchmark {
+
+  private static final String TEMPLATE = "<card accent=\"tempo-bg-color--blue\">"
+      + "<header><b>{{title}}</b></header><body><table>"
+      + "{{#each rows}}<tr><td>{{name}}</td><td>{{#if done}}done{{else}}pending{{/if}}</td>"
+      + "</tr>{{/each}}</table></body></card>";
+
+  @Param({"5", "500"})
+  private int rows;
+
+  private MessageClientImpl messageClient;
+  private SymphonyMessage plainMessage;
+  private SymphonyMessage templateMessage;
+  private SymphonyMessage enrichedTemplateMessage;
+
+  @Setup
+  public void setup() {
+    Handlebars handlebars = new HandlebarsTemplateLoader().getHandlebars();
+    handlebars.registerHelpers(ConditionalHelpers.class);
+    messageClient = new MessageClientImpl(null, new TemplateServiceImpl(handlebars),
+        new JsonMapperImpl(new ObjectMapper()),
+        new OutboundGovernor(new OutboundProps(), new SimpleMeterRegistry()), null, null, null);
+
+    Map<String, Object> data = templateData(rows);
+    plainMessage = new SymphonyMessage("Your report is ready, 3 tasks are still pending.");
+    templateMessage = new SymphonyMessage();
+    templateMessage.setTemplateMessage(TEMPLATE, data);
+    enrichedTemplateMessage = new SymphonyMessage();
+    enrichedTemplateMessage.setEnrichedTemplateMessage(TEMPLATE, data,
+        "com.symphony.bdk.report", data, "1.0");
+  }
+
+  @Benchmark
+  public OutboundMessage renderPlainMessage() {
+    return messageClient.toOutboundMessage(plainMessage);
+  }
+
+  @Benchmark
+  public OutboundMessage renderTemplateMessage() {
+    return messageClient.toOutboundMessage(templateMessage);
+  }
+
+  @Benchmark
+  public OutboundMessage renderEnrichedTemplateMessage() {
+    return messageClient.toOutboundMessage(enrichedTemplateMessage);
+  }
+
+  private static Map<String, Object> templateData(int rowCount) {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      rows.add(row("Task #" + i, i % 3 == 0));
+    }
+    Map<String, Object> data = new HashMap<>();
+    data.put("title", "Weekly operations report");
+    data.put("rows", rows);
+    return data;
+  }
+
+  private static Map<String, Object> row(String name, boolean done) {
+    Map<String, Object> row = new HashMap<>();
+    row.put("name", name);
+    row.put("done", done);
+    return row;
+  }
+
+}
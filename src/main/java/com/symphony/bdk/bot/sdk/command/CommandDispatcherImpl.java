@@ -28,7 +28,7 @@ public class CommandDispatcherImpl implements CommandDispatcher {
    * {@inheritDoc}
    */
   @Override
-  @Async("botTaskExecutor")
+  @Async("botCommandExecutor")
   public void push(String channel, BotCommand command) {
     LOGGER.debug("Looking for command handler for {}", channel);
     BaseCommandHandler handler = commandHandlers.get(channel);
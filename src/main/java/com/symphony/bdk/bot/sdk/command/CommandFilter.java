@@ -32,7 +32,8 @@ public interface CommandFilter {
   /**
    * Performs the actual message filtering based on registered filters. If the
    * message corresponds to a valid command, {@link CommandDispatcher} will be
-   * called.
+   * called. When more than one filter matches the message, the first registered
+   * one wins.
    *
    * @param messageEvent
    */
@@ -1,6 +1,9 @@
 package com.symphony.bdk.bot.sdk.command;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -8,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.symphony.bdk.bot.sdk.command.matcher.CommandMatcher;
 import com.symphony.bdk.bot.sdk.command.model.BotCommand;
 import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
 
@@ -17,14 +21,24 @@ public class CommandFilterImpl implements CommandFilter {
 
   private CommandDispatcher commandDispatcher;
 
-  private Map<String, Predicate<String>> commandFilters = new HashMap<>();
+  private CommandRateLimiter commandRateLimiter;
+
+  private Map<String, CommandRoute> commandFilters = new LinkedHashMap<>();
+
+  private CommandPrefixIndex<CommandRoute> prefixIndex = new CommandPrefixIndex<>();
+
+  private List<CommandRoute> unindexedRoutes = new ArrayList<>();
+
+  private int registrationOrder;
 
   private String defaultCommandName;
 
   private Predicate<String> defaultCommandFilter;
 
-  public CommandFilterImpl(CommandDispatcher commandDispatcher) {
+  public CommandFilterImpl(CommandDispatcher commandDispatcher,
+      CommandRateLimiter commandRateLimiter) {
     this.commandDispatcher = commandDispatcher;
+    this.commandRateLimiter = commandRateLimiter;
   }
 
   /**
@@ -33,7 +47,12 @@ public class CommandFilterImpl implements CommandFilter {
   @Override
   public void addFilter(String commandName, Predicate<String> filter) {
     LOGGER.info("Registering filter for command: {}", commandName);
-    commandFilters.put(commandName, filter);
+    CommandRoute route = new CommandRoute(commandName, filter, registrationOrder++);
+    if (commandFilters.put(commandName, route) != null) {
+      reindex();
+    } else {
+      index(route);
+    }
   }
 
   /**
@@ -53,19 +72,82 @@ public class CommandFilterImpl implements CommandFilter {
   @Override
   public void filter(MessageEvent messageEvent) {
     LOGGER.debug("Filtering message");
-    Optional<String> command = commandFilters.entrySet().stream()
-        .filter(e -> e.getValue().test(messageEvent.getMessage()))
-        .map(Map.Entry::getKey)
-        .findFirst();
+    Optional<String> command = findCommand(messageEvent.getMessage());
     if (!command.isPresent()) {
       command = defaultFilter(messageEvent.getMessage());
     }
 
+    if (command.isPresent() && commandRateLimiter.isLimited(messageEvent)) {
+      LOGGER.debug("Dropping rate limited command {}", command.get());
+      return;
+    }
+
     command.ifPresent(cmd ->
       commandDispatcher.push(cmd, new BotCommand(
           cmd, messageEvent, commandDispatcher)));
   }
 
+  /**
+   * Tests the routes of the prefixes the message begins with and the unindexed routes in
+   * registration order. Each of these lists is already in registration order, so they are
+   * merged rather than sorted.
+   */
+  private Optional<String> findCommand(String message) {
+    List<List<CommandRoute>> candidates = new ArrayList<>(2);
+    prefixIndex.collect(message, candidates);
+    if (!unindexedRoutes.isEmpty()) {
+      candidates.add(unindexedRoutes);
+    }
+
+    if (candidates.size() == 1) {
+      for (CommandRoute route : candidates.get(0)) {
+        if (route.getFilter().test(message)) {
+          return Optional.of(route.getCommandName());
+        }
+      }
+      return Optional.empty();
+    }
+
+    int[] positions = new int[candidates.size()];
+    while (true) {
+      int next = -1;
+      for (int i = 0; i < positions.length; i++) {
+        if (positions[i] < candidates.get(i).size() && (next < 0
+            || order(candidates, i, positions[i]) < order(candidates, next, positions[next]))) {
+          next = i;
+        }
+      }
+      if (next < 0) {
+        return Optional.empty();
+      }
+      CommandRoute route = candidates.get(next).get(positions[next]++);
+      if (route.getFilter().test(message)) {
+        return Optional.of(route.getCommandName());
+      }
+    }
+  }
+
+  private static int order(List<List<CommandRoute>> candidates, int list, int position) {
+    return candidates.get(list).get(position).getOrder();
+  }
+
+  private void index(CommandRoute route) {
+    if (route.getFilter() instanceof CommandMatcher
+        && ((CommandMatcher) route.getFilter()).hasLiteralPrefix()) {
+      prefixIndex.put(((CommandMatcher) route.getFilter()).getLiteralPrefix(), route);
+    } else {
+      unindexedRoutes.add(route);
+    }
+  }
+
+  private void reindex() {
+    prefixIndex.clear();
+    unindexedRoutes = new ArrayList<>();
+    commandFilters.values().stream()
+        .sorted(Comparator.comparingInt(CommandRoute::getOrder))
+        .forEach(this::index);
+  }
+
   private Optional<String> defaultFilter(String message) {
     LOGGER.debug("Looking for default filter");
     String defaultCommand = null;
@@ -82,4 +164,28 @@ public class CommandFilterImpl implements CommandFilter {
     return Optional.of(defaultCommand);
   }
 
+  private static class CommandRoute {
+    private final String commandName;
+    private final Predicate<String> filter;
+    private final int order;
+
+    CommandRoute(String commandName, Predicate<String> filter, int order) {
+      this.commandName = commandName;
+      this.filter = filter;
+      this.order = order;
+    }
+
+    String getCommandName() {
+      return commandName;
+    }
+
+    Predicate<String> getFilter() {
+      return filter;
+    }
+
+    int getOrder() {
+      return order;
+    }
+  }
+
 }
@@ -4,18 +4,25 @@ import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.symphony.bdk.bot.sdk.command.config.CachedResponse;
 import com.symphony.bdk.bot.sdk.command.model.BotCommand;
+import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
 import com.symphony.bdk.bot.sdk.feature.FeatureManager;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Outcome;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Type;
 import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
 import com.symphony.bdk.bot.sdk.symphony.UsersClient;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
 
 import lombok.Setter;
+import model.OutboundMessage;
 
 /**
  * Base class for bot command handling. Has it child classes automatically registered to {@link
  * CommandDispatcher} and {@link CommandFilter}. Provides mechanism for developers to define a
- * response for the command room
+ * response for the command room. Responses of handlers annotated with {@link CachedResponse} are
+ * cached.
  *
  * @author Marcus Secato
  */
@@ -33,6 +40,10 @@ public abstract class CommandHandler implements BaseCommandHandler {
 
   private UsersClient usersClient;
 
+  private HandlerMetrics handlerMetrics;
+
+  private final ResponseCache responseCache = ResponseCache.forHandler(getClass());
+
   private void register() {
     init();
     commandDispatcher.register(getCommandName(), this);
@@ -61,15 +72,24 @@ public abstract class CommandHandler implements BaseCommandHandler {
   public void onCommand(BotCommand command) {
     LOGGER.debug("Received command {}", command.getMessageEvent());
 
+    final long start = System.nanoTime();
+    if (responseCache != null && sendCachedResponse(command.getMessageEvent())) {
+      recordMetrics(start, Outcome.OK);
+      return;
+    }
+
     final SymphonyMessage commandResponse = new SymphonyMessage();
     try {
       handle(command, commandResponse);
-      if (commandResponse.hasContent() && featureManager.isCommandFeedbackEnabled()) {
-        messageClient._sendMessage(command.getMessageEvent().getStreamId(), commandResponse);
+      boolean respond = commandResponse.hasContent() && featureManager.isCommandFeedbackEnabled();
+      if (respond) {
+        sendResponse(command.getMessageEvent(), commandResponse);
       }
+      recordMetrics(start, respond ? Outcome.OK : Outcome.NO_RESPONSE);
 
     } catch (Exception e) {
       LOGGER.error("Error processing command {}\n{}", getCommandName(), e);
+      recordMetrics(start, Outcome.ERROR);
       if (featureManager.unexpectedErrorResponse() != null) {
         messageClient._sendMessage(command.getMessageEvent().getStreamId(),
             new SymphonyMessage(featureManager.unexpectedErrorResponse()));
@@ -77,6 +97,37 @@ public abstract class CommandHandler implements BaseCommandHandler {
     }
   }
 
+  private boolean sendCachedResponse(MessageEvent messageEvent) {
+    OutboundMessage cachedResponse = responseCache.get(messageEvent);
+    if (handlerMetrics != null) {
+      handlerMetrics.recordCacheAccess(this, cachedResponse != null);
+    }
+    if (cachedResponse == null) {
+      return false;
+    }
+
+    LOGGER.debug("Sending cached response of command {}", getCommandName());
+    messageClient._sendMessage(messageEvent.getStreamId(), cachedResponse);
+    return true;
+  }
+
+  private void sendResponse(MessageEvent messageEvent, SymphonyMessage commandResponse) {
+    if (responseCache == null || commandResponse.getAttachments() != null) {
+      messageClient._sendMessage(messageEvent.getStreamId(), commandResponse);
+      return;
+    }
+
+    OutboundMessage renderedResponse = messageClient.toOutboundMessage(commandResponse);
+    responseCache.put(messageEvent, renderedResponse);
+    messageClient._sendMessage(messageEvent.getStreamId(), renderedResponse);
+  }
+
+  private void recordMetrics(long start, Outcome outcome) {
+    if (handlerMetrics != null) {
+      handlerMetrics.record(Type.COMMAND, this, start, outcome);
+    }
+  }
+
   /**
    * Returns the pattern used by {@link CommandFilter} to filter out bot commands.
    *
@@ -0,0 +1,71 @@
+package com.symphony.bdk.bot.sdk.command;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Character trie mapping literal command prefixes to the values registered for them. Looking up
+ * a message returns the values of every prefix the message starts with, so the cost of a lookup
+ * depends on the message length rather than on the number of registered commands. The values of
+ * a prefix are kept in the order they were registered.
+ *
+ * @param <T> the indexed value type
+ */
+class CommandPrefixIndex<T> {
+
+  private Node<T> root = new Node<>();
+
+  /**
+   * Registers a value under the given non-empty prefix
+   *
+   * @param prefix
+   * @param value
+   */
+  void put(String prefix, T value) {
+    if (prefix == null || prefix.isEmpty()) {
+      throw new IllegalArgumentException("Prefix must not be empty");
+    }
+    Node<T> node = root;
+    for (int i = 0; i < prefix.length(); i++) {
+      node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node<>());
+    }
+    node.values.add(value);
+  }
+
+  /**
+   * Collects the values of all prefixes the text begins with, from the shortest prefix to the
+   * longest one. The values of each prefix are collected as one list, in registration order,
+   * which must not be modified.
+   *
+   * @param text
+   * @param out collection receiving the value lists found
+   */
+  void collect(String text, Collection<List<T>> out) {
+    Node<T> node = root;
+    for (int i = 0; i < text.length(); i++) {
+      node = node.children.get(text.charAt(i));
+      if (node == null) {
+        return;
+      }
+      if (!node.values.isEmpty()) {
+        out.add(node.values);
+      }
+    }
+  }
+
+  /**
+   * Removes every registered value
+   */
+  void clear() {
+    root = new Node<>();
+  }
+
+  private static class Node<T> {
+    private final Map<Character, Node<T>> children = new HashMap<>(4);
+    private final List<T> values = new ArrayList<>(1);
+  }
+
+}
@@ -0,0 +1,171 @@
+package com.symphony.bdk.bot.sdk.command;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.symphony.bdk.bot.sdk.command.config.CommandRateLimitProps;
+import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
+import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits the rate of commands issued by a single user and in a single stream,
+ * using a token bucket per user and per stream. Buckets not used for a while
+ * are evicted so that memory stays bounded. A command takes a token from both
+ * buckets, and from none of them if one is empty.
+ * <p>
+ * When a command is limited, a reply can be sent to the stream, at most once
+ * per stream in a given interval.
+ */
+@Component
+public class CommandRateLimiter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CommandRateLimiter.class);
+
+  private static final String METRIC_NAME = "symphony_bot_rate_limited_commands";
+  private static final String METRIC_DESCRIPTION = "Commands dropped by the rate limiter";
+  private static final String TAG_SCOPE = "scope";
+
+  private final Double userLimit;
+  private final Double streamLimit;
+  private final String replyMessage;
+  private final Cache<Long, TokenBucket> userBuckets;
+  private final Cache<String, TokenBucket> streamBuckets;
+  // guards the tokens of all the buckets, so that both are taken at once
+  private final Object tokenLock = new Object();
+  private final Cache<String, Boolean> recentReplies;
+  private final Counter userLimited;
+  private final Counter streamLimited;
+  private final MessageClientImpl messageClient;
+
+  public CommandRateLimiter(CommandRateLimitProps props, MessageClientImpl messageClient,
+      MeterRegistry meterRegistry) {
+    this.userLimit = props.getUserLimit();
+    this.streamLimit = props.getStreamLimit();
+    this.replyMessage = props.getReplyMessage();
+    this.messageClient = messageClient;
+    this.userBuckets = CacheBuilder.newBuilder()
+        .expireAfterAccess(props.getExpiry(), TimeUnit.MILLISECONDS)
+        .build();
+    this.streamBuckets = CacheBuilder.newBuilder()
+        .expireAfterAccess(props.getExpiry(), TimeUnit.MILLISECONDS)
+        .build();
+    this.recentReplies = CacheBuilder.newBuilder()
+        .expireAfterWrite(props.getReplyInterval(), TimeUnit.MILLISECONDS)
+        .build();
+    this.userLimited = counter(meterRegistry, "user");
+    this.streamLimited = counter(meterRegistry, "stream");
+  }
+
+  /**
+   * Takes a token from the buckets of the user and the stream the message
+   * comes from, if both have one.
+   *
+   * @param messageEvent the command message
+   * @return true if the command exceeds the user or the stream limit and must
+   *         be dropped
+   */
+  public boolean isLimited(MessageEvent messageEvent) {
+    TokenBucket userBucket = userLimit != null && messageEvent.getUserId() != null
+        ? bucket(userBuckets, messageEvent.getUserId(), userLimit) : null;
+    TokenBucket streamBucket = streamLimit != null && messageEvent.getStreamId() != null
+        ? bucket(streamBuckets, messageEvent.getStreamId(), streamLimit) : null;
+
+    boolean userAllowed;
+    boolean streamAllowed;
+    synchronized (tokenLock) {
+      userAllowed = userBucket == null || userBucket.hasToken();
+      streamAllowed = streamBucket == null || streamBucket.hasToken();
+      if (userAllowed && streamAllowed) {
+        if (userBucket != null) {
+          userBucket.take();
+        }
+        if (streamBucket != null) {
+          streamBucket.take();
+        }
+        return false;
+      }
+    }
+
+    if (!userAllowed) {
+      LOGGER.info("Command rate limit reached for user {}", messageEvent.getUserId());
+      userLimited.increment();
+    } else {
+      LOGGER.info("Command rate limit reached for stream {}", messageEvent.getStreamId());
+      streamLimited.increment();
+    }
+    replyLimited(messageEvent.getStreamId());
+    return true;
+  }
+
+  /**
+   * Sends the reply through the message thread pool, so that the datafeed
+   * thread does not wait for Symphony.
+   */
+  private void replyLimited(String streamId) {
+    if (replyMessage != null && streamId != null
+        && recentReplies.asMap().putIfAbsent(streamId, Boolean.TRUE) == null) {
+      messageClient.sendMessageAsync(streamId, new SymphonyMessage(replyMessage))
+          .whenComplete((result, e) -> {
+            if (e != null) {
+              LOGGER.warn("Could not send rate limit message to stream {}", streamId, e);
+            }
+          });
+    }
+  }
+
+  private static <K> TokenBucket bucket(Cache<K, TokenBucket> buckets, K key,
+      double permitsPerSecond) {
+    try {
+      return buckets.get(key, () -> new TokenBucket(permitsPerSecond));
+    } catch (ExecutionException e) {
+      // TokenBucket creation does not throw checked exceptions
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String scope) {
+    return Counter.builder(METRIC_NAME)
+        .description(METRIC_DESCRIPTION)
+        .tag(TAG_SCOPE, scope)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Token bucket refilled at a fixed rate, holding up to one second of tokens.
+   * Unlike Guava's RateLimiter, a token can be looked for without taking it.
+   * Guarded by the token lock.
+   */
+  private static class TokenBucket {
+    private final double permitsPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double permitsPerSecond) {
+      this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+      this.capacity = Math.max(1, permitsPerSecond);
+      this.tokens = capacity;
+      this.lastRefill = System.nanoTime();
+    }
+
+    boolean hasToken() {
+      long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+      lastRefill = now;
+      return tokens >= 1;
+    }
+
+    void take() {
+      tokens--;
+    }
+  }
+
+}
@@ -0,0 +1,227 @@
+package com.symphony.bdk.bot.sdk.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.symphony.bdk.bot.sdk.command.config.FanOutProps;
+import com.symphony.bdk.bot.sdk.command.model.FanOutResult;
+import com.symphony.bdk.bot.sdk.command.model.FanOutResult.StreamResult;
+import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
+
+import model.OutboundMessage;
+
+/**
+ * Sends a message to many streams in parallel. The message is rendered once
+ * and the same payload is sent to every stream. The number of messages being
+ * sent at the same time and, optionally, the number of messages sent per
+ * second are bounded. A failure sending to a stream does not prevent sending
+ * to the other ones.
+ * <p>
+ * No thread waits for the limits: the messages are queued and each one is
+ * submitted to a pool of its own, with one thread per message sent at the same
+ * time, once a previous one is sent. Broadcasts thus do not take the message
+ * thread pool lanes from the ordinary responses. Messages to the same stream
+ * are sent one at a time, in order.
+ */
+@Component
+public class FanOutSender {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FanOutSender.class);
+
+  private final MessageClientImpl messageClient;
+  private final int concurrency;
+  private final ExecutorService sendExecutor;
+  private final RateLimiter rateLimiter;
+  private final long rateInterval;
+  private final ScheduledExecutorService rateScheduler;
+  // messages waiting to be submitted, guarded by itself with the fields below
+  private final Queue<PendingSend> pending = new ArrayDeque<>();
+  private final Set<String> sendingStreams = new HashSet<>();
+  private int inFlight;
+  private boolean draining;
+  private boolean drainAgain;
+  private boolean drainScheduled;
+
+  public FanOutSender(MessageClientImpl messageClient, FanOutProps fanOutProps) {
+    this.messageClient = messageClient;
+    this.concurrency = Math.max(1, fanOutProps.getConcurrency());
+    this.sendExecutor = Executors.newFixedThreadPool(concurrency,
+        new ThreadFactoryBuilder().setNameFormat("fan-out-%d").setDaemon(true).build());
+    if (fanOutProps.getRate() != null) {
+      this.rateLimiter = RateLimiter.create(fanOutProps.getRate());
+      this.rateInterval = Math.max(1L, (long) Math.ceil(1000 / fanOutProps.getRate()));
+      this.rateScheduler = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("fan-out-rate-%d").setDaemon(true).build());
+    } else {
+      this.rateLimiter = null;
+      this.rateInterval = 0;
+      this.rateScheduler = null;
+    }
+  }
+
+  /**
+   * Queues the message for each stream. The calling thread does not wait for
+   * the concurrency or the rate limit.
+   *
+   * @param message the message
+   * @param streamIds the streams to send the message to
+   * @return a future completed when the message was sent, or failed to be
+   *         sent, to every stream
+   */
+  public CompletableFuture<FanOutResult> send(SymphonyMessage message,
+      Collection<String> streamIds) {
+    final OutboundMessage outMessage;
+    try {
+      outMessage = messageClient.toOutboundMessage(message);
+    } catch (RuntimeException e) {
+      LOGGER.error("Could not render multi response message", e);
+      List<StreamResult> streamResults = new ArrayList<>(streamIds.size());
+      streamIds.forEach(streamId -> streamResults.add(new StreamResult(streamId, 0, e)));
+      return CompletableFuture.completedFuture(new FanOutResult(streamResults));
+    }
+
+    List<CompletableFuture<StreamResult>> results = new ArrayList<>(streamIds.size());
+    synchronized (pending) {
+      for (String streamId : streamIds) {
+        PendingSend send = new PendingSend(streamId, outMessage);
+        pending.add(send);
+        results.add(send.result);
+      }
+    }
+    drain();
+
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+        .thenApply(done -> {
+          List<StreamResult> streamResults = new ArrayList<>(results.size());
+          results.forEach(result -> streamResults.add(result.join()));
+          return new FanOutResult(streamResults);
+        });
+  }
+
+  /**
+   * Stops waiting for the rate limit, the messages still queued are not sent.
+   */
+  @PreDestroy
+  public void shutdown() {
+    sendExecutor.shutdown();
+    if (rateScheduler != null) {
+      rateScheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Submits the queued messages within the limits. Only one thread drains at
+   * a time, the others ask it to go over the queue again, so that sends
+   * completing right away do not recurse.
+   */
+  private void drain() {
+    synchronized (pending) {
+      if (draining) {
+        drainAgain = true;
+        return;
+      }
+      draining = true;
+    }
+
+    while (true) {
+      List<PendingSend> ready = new ArrayList<>();
+      synchronized (pending) {
+        Iterator<PendingSend> sends = pending.iterator();
+        while (inFlight < concurrency && sends.hasNext()) {
+          PendingSend send = sends.next();
+          if (sendingStreams.contains(send.streamId)) {
+            // keeps the messages to a stream in order
+            continue;
+          }
+          if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+            scheduleDrain();
+            break;
+          }
+          sends.remove();
+          sendingStreams.add(send.streamId);
+          ready.add(send);
+          inFlight++;
+        }
+        if (ready.isEmpty() && !drainAgain) {
+          draining = false;
+          return;
+        }
+        drainAgain = false;
+      }
+      ready.forEach(this::submit);
+    }
+  }
+
+  // guarded by pending
+  private void scheduleDrain() {
+    if (drainScheduled) {
+      return;
+    }
+    drainScheduled = true;
+    rateScheduler.schedule(() -> {
+      synchronized (pending) {
+        drainScheduled = false;
+      }
+      drain();
+    }, rateInterval, TimeUnit.MILLISECONDS);
+  }
+
+  private void submit(PendingSend send) {
+    final long start = System.nanoTime();
+    try {
+      sendExecutor.execute(() -> {
+        try {
+          messageClient.sendMessage(send.streamId, send.message);
+          sent(send, start, null);
+        } catch (Exception e) {
+          sent(send, start, e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      sent(send, start, e);
+    }
+  }
+
+  private void sent(PendingSend send, long start, Exception error) {
+    synchronized (pending) {
+      inFlight--;
+      sendingStreams.remove(send.streamId);
+    }
+    if (error != null) {
+      LOGGER.warn("Could not send multi response message to stream {}", send.streamId);
+    }
+    send.result.complete(new StreamResult(send.streamId,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), error));
+    drain();
+  }
+
+  private static final class PendingSend {
+    private final String streamId;
+    private final OutboundMessage message;
+    private final CompletableFuture<StreamResult> result = new CompletableFuture<>();
+
+    PendingSend(String streamId, OutboundMessage message) {
+      this.streamId = streamId;
+      this.message = message;
+    }
+  }
+
+}
@@ -1,21 +1,29 @@
 package com.symphony.bdk.bot.sdk.command;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.symphony.bdk.bot.sdk.command.model.BotCommand;
+import com.symphony.bdk.bot.sdk.command.model.FanOutResult;
+import com.symphony.bdk.bot.sdk.command.model.FanOutResult.StreamResult;
 import com.symphony.bdk.bot.sdk.feature.FeatureManager;
 import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
 
 import lombok.Setter;
+import model.OutboundMessage;
 
 /**
  * Base class for bot command handling. Has it child classes automatically registered to {@link
  * CommandDispatcher} and {@link CommandFilter}. Provides mechanism for developers to define
- * responses for many rooms
+ * responses for many rooms. Responses are sent to their rooms in parallel, see {@link
+ * FanOutSender}.
  *
  * @author Gabriel Berberian
  */
@@ -27,6 +35,8 @@ public abstract class MultiResponseCommandHandler extends CommandHandler {
 
   private FeatureManager featureManager;
 
+  private FanOutSender fanOutSender;
+
   private String getCommandName() {
     return this.getClass().getCanonicalName();
   }
@@ -41,7 +51,7 @@ public abstract class MultiResponseCommandHandler extends CommandHandler {
         LOGGER.error("Error processing command {}\nIncomplete multi response composer",
             getCommandName());
       } else if (multiResponseComposer.hasContent() && featureManager.isCommandFeedbackEnabled()) {
-        sendContent(multiResponseComposer.getComposedResponse());
+        sendContent(command, multiResponseComposer.getComposedResponse());
       }
     } catch (Exception e) {
       LOGGER.error("Error processing command {}\n{}", getCommandName(), e);
@@ -52,15 +62,53 @@ public abstract class MultiResponseCommandHandler extends CommandHandler {
     }
   }
 
-  private void sendContent(Map<SymphonyMessage, Set<String>> composedResponse) {
-    composedResponse.forEach((message, streamIds) -> {
-      sendMessageToStreams(message, streamIds);
-    });
+  private void sendContent(BotCommand command,
+      Map<SymphonyMessage, Set<String>> composedResponse) {
+    if (fanOutSender == null) {
+      composedResponse.forEach(this::sendMessageToStreams);
+      return;
+    }
+
+    List<CompletableFuture<FanOutResult>> fanOuts = new ArrayList<>(composedResponse.size());
+    composedResponse.forEach(
+        (message, streamIds) -> fanOuts.add(fanOutSender.send(message, streamIds)));
+    CompletableFuture.allOf(fanOuts.toArray(new CompletableFuture[0]))
+        .thenRun(() -> {
+          List<StreamResult> streamResults = new ArrayList<>();
+          fanOuts.forEach(fanOut -> streamResults.addAll(fanOut.join().getStreamResults()));
+          onResponsesSent(command, new FanOutResult(streamResults));
+        })
+        .exceptionally(e -> {
+          LOGGER.error("Error processing sent responses of command {}", getCommandName(), e);
+          return null;
+        });
   }
 
   private void sendMessageToStreams(SymphonyMessage symphonyMessage, Set<String> streamIds) {
+    OutboundMessage outMessage = messageClient.toOutboundMessage(symphonyMessage);
     for (String streamId : streamIds) {
-      messageClient._sendMessage(streamId, symphonyMessage);
+      messageClient._sendMessage(streamId, outMessage);
+    }
+  }
+
+  /**
+   * Called once the composed responses were sent, or failed to be sent, to all their streams.
+   * Logs the streams that could not be reached by default. This method can be overridden by the
+   * child classes to report the delivery status. It may run on a message thread rather than on
+   * the thread the command was handled on.
+   *
+   * @param command the handled command
+   * @param result the outcome and duration of each message sent
+   */
+  protected void onResponsesSent(BotCommand command, FanOutResult result) {
+    List<StreamResult> failed = result.getFailed();
+    if (failed.isEmpty()) {
+      LOGGER.debug("Sent {} responses of command {}", result.getStreamResults().size(),
+          getCommandName());
+    } else {
+      LOGGER.warn("Could not send {} of {} responses of command {} to streams {}",
+          failed.size(), result.getStreamResults().size(), getCommandName(),
+          failed.stream().map(StreamResult::getStreamId).collect(Collectors.toList()));
     }
   }
 
@@ -0,0 +1,82 @@
+package com.symphony.bdk.bot.sdk.command;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.symphony.bdk.bot.sdk.command.config.CachedResponse;
+import com.symphony.bdk.bot.sdk.command.config.CachedResponse.Scope;
+import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
+
+import model.OutboundMessage;
+
+/**
+ * Rendered responses of a {@link CommandHandler} annotated with
+ * {@link CachedResponse}, keyed by command text and, depending on the scope,
+ * by user or stream.
+ */
+class ResponseCache {
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  private final Scope scope;
+  private final Cache<String, OutboundMessage> responses;
+
+  private ResponseCache(CachedResponse cachedResponse) {
+    this.scope = cachedResponse.scope();
+    this.responses = CacheBuilder.newBuilder()
+        .expireAfterWrite(cachedResponse.ttl(), TimeUnit.MILLISECONDS)
+        .maximumSize(cachedResponse.maxSize())
+        .build();
+  }
+
+  /**
+   * @param handlerClass the command handler class
+   * @return the response cache of the handler or null if the handler is not
+   *         annotated with {@link CachedResponse}
+   */
+  static ResponseCache forHandler(Class<?> handlerClass) {
+    CachedResponse cachedResponse = handlerClass.getAnnotation(CachedResponse.class);
+    return cachedResponse != null ? new ResponseCache(cachedResponse) : null;
+  }
+
+  /**
+   * @param messageEvent the command message
+   * @return the cached response or null if none
+   */
+  OutboundMessage get(MessageEvent messageEvent) {
+    String key = key(messageEvent);
+    return key != null ? responses.getIfPresent(key) : null;
+  }
+
+  /**
+   * @param messageEvent the command message
+   * @param response the rendered response
+   */
+  void put(MessageEvent messageEvent, OutboundMessage response) {
+    String key = key(messageEvent);
+    if (key != null) {
+      responses.put(key, response);
+    }
+  }
+
+  private String key(MessageEvent messageEvent) {
+    String text = messageEvent.getMessage();
+    if (text == null) {
+      return null;
+    }
+
+    switch (scope) {
+      case USER:
+        return messageEvent.getUserId() != null
+            ? messageEvent.getUserId().toString() + KEY_SEPARATOR + text
+            : null;
+      case STREAM:
+        return messageEvent.getStreamId() != null
+            ? messageEvent.getStreamId() + KEY_SEPARATOR + text
+            : null;
+      default:
+        return text;
+    }
+  }
+
+}
@@ -0,0 +1,48 @@
+package com.symphony.bdk.bot.sdk.command.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.symphony.bdk.bot.sdk.command.CommandHandler;
+
+/**
+ * Annotation used to cache the rendered response of a {@link CommandHandler}
+ * whose response only depends on the command text (e.g. help or status
+ * commands). While cached, the response is sent again without calling the
+ * handler or rendering its template.
+ *
+ * Responses with attachments are not cached.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CachedResponse {
+
+  /**
+   * What, besides the command text, a cached response is bound to
+   */
+  enum Scope {
+    /** Same response for everyone */
+    GLOBAL,
+    /** One response per user, for responses depending on who issued the command */
+    USER,
+    /** One response per stream */
+    STREAM
+  }
+
+  /**
+   * @return how long (in milliseconds) a response is cached
+   */
+  long ttl() default 60000;
+
+  /**
+   * @return maximum number of responses cached for the handler
+   */
+  long maxSize() default 1000;
+
+  /**
+   * @return the cache scope
+   */
+  Scope scope() default Scope.GLOBAL;
+}
@@ -14,6 +14,7 @@ import org.springframework.core.type.AnnotationMetadata;
 
 import com.symphony.bdk.bot.sdk.command.AuthenticatedCommandHandler;
 import com.symphony.bdk.bot.sdk.command.CommandHandler;
+import com.symphony.bdk.bot.sdk.command.MultiResponseCommandHandler;
 import com.symphony.bdk.bot.sdk.scan.BaseBeanFactoryPostProcessor;
 
 /**
@@ -41,7 +42,8 @@ public class CommandBeanFactoryProcessor extends BaseBeanFactoryPostProcessor {
           .addPropertyReference("commandFilter", "commandFilterImpl")
           .addPropertyReference("messageClient", "messageClientImpl")
           .addPropertyReference("featureManager", "featureManager")
-          .addPropertyReference("usersClient", "usersClientImpl");
+          .addPropertyReference("usersClient", "usersClientImpl")
+          .addPropertyReference("handlerMetrics", "handlerMetrics");
 
       // Inject AuthenticationProvider to AuthenticatedCommandHandler
       AnnotationMetadata beanMetadata = getBeanMetadata(beanDefinition);
@@ -57,6 +59,11 @@ public class CommandBeanFactoryProcessor extends BaseBeanFactoryPostProcessor {
         }
       }
 
+      // Inject FanOutSender to MultiResponseCommandHandler
+      if (beanMetadata != null && isMultiResponseCommandHandler(beanMetadata)) {
+        builder.addPropertyReference("fanOutSender", "fanOutSender");
+      }
+
       beanDefinitionRegistry.registerBeanDefinition(
           beanDefinition.getBeanClassName(), builder.getBeanDefinition());
     }
@@ -78,6 +85,12 @@ public class CommandBeanFactoryProcessor extends BaseBeanFactoryPostProcessor {
         AuthenticatedCommandHandler.class.getCanonicalName());
   }
 
+  private boolean isMultiResponseCommandHandler(
+      AnnotationMetadata beanMetadata) {
+    return beanMetadata.getSuperClassName().equals(
+        MultiResponseCommandHandler.class.getCanonicalName());
+  }
+
   private boolean isAuthProviderAnnotated(AnnotationMetadata beanMetadata) {
     return beanMetadata.isAnnotated(CommandAuthenticationProvider.class.getName());
   }
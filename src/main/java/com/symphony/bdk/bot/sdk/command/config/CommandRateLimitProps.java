@@ -0,0 +1,25 @@
+package com.symphony.bdk.bot.sdk.command.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "command.rate-limit")
+public class CommandRateLimitProps {
+
+  private Double userLimit;
+
+  private Double streamLimit;
+
+  private long expiry = 600000;
+
+  private String replyMessage;
+
+  private long replyInterval = 60000;
+
+}
@@ -0,0 +1,19 @@
+package com.symphony.bdk.bot.sdk.command.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "command.fan-out")
+public class FanOutProps {
+
+  private int concurrency = 8;
+
+  private Double rate;
+
+}
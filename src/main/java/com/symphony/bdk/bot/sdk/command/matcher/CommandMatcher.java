@@ -0,0 +1,137 @@
+package com.symphony.bdk.bot.sdk.command.matcher;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Predicate built by {@link CommandMatcherBuilder}. Besides matching messages, it exposes the
+ * literal text every matching message must start with, which allows command filtering to skip
+ * matchers that cannot possibly match a given message.
+ */
+public class CommandMatcher implements Predicate<String> {
+
+  private final Predicate<String> matcher;
+  private final String literalPrefix;
+
+  protected CommandMatcher(Predicate<String> matcher, String literalPrefix) {
+    this.matcher = matcher;
+    this.literalPrefix = literalPrefix != null ? literalPrefix : "";
+  }
+
+  /**
+   * Instantiates a command matcher for a regular expression.
+   *
+   * @param regex the regular expression.
+   * @return the command matcher.
+   */
+  public static CommandMatcher of(String regex) {
+    return of(regex, MatcherEngine.JDK);
+  }
+
+  /**
+   * Instantiates a command matcher for a regular expression using the given engine.
+   *
+   * @param regex  the regular expression.
+   * @param engine the regular expression engine.
+   * @return the command matcher.
+   */
+  public static CommandMatcher of(String regex, MatcherEngine engine) {
+    Predicate<String> matcher = engine == MatcherEngine.LINEAR
+        ? LinearPattern.compile(regex).asPredicate()
+        : Pattern.compile(regex).asPredicate();
+    return new CommandMatcher(matcher, literalPrefixOf(regex));
+  }
+
+  @Override
+  public boolean test(String message) {
+    return matcher.test(message);
+  }
+
+  /**
+   * The literal text that any message matched by this matcher begins with.
+   *
+   * @return the literal prefix, empty if the matcher is not anchored on a literal.
+   */
+  public String getLiteralPrefix() {
+    return literalPrefix;
+  }
+
+  /**
+   * Whether this matcher can only match messages beginning with a known literal.
+   *
+   * @return true if a literal prefix is known, false otherwise.
+   */
+  public boolean hasLiteralPrefix() {
+    return !literalPrefix.isEmpty();
+  }
+
+  /**
+   * Extracts the literal text a regular expression requires at the beginning of the input. Only
+   * expressions anchored with ^ and with no top-level alternation have a literal prefix.
+   *
+   * @param regex the regular expression.
+   * @return the literal prefix, empty if none can be safely determined.
+   */
+  static String literalPrefixOf(String regex) {
+    if (regex == null || !regex.startsWith("^") || hasTopLevelAlternation(regex)) {
+      return "";
+    }
+
+    StringBuilder prefix = new StringBuilder();
+    int i = 1;
+    while (i < regex.length()) {
+      char c = regex.charAt(i);
+      int atomLength;
+      char literal;
+      if (c == '\\') {
+        if (i + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+          // character classes (\s, \w...), boundaries and escape sequences end the literal
+          break;
+        }
+        literal = regex.charAt(i + 1);
+        atomLength = 2;
+      } else if (".[](){}*+?^$|".indexOf(c) >= 0) {
+        break;
+      } else {
+        literal = c;
+        atomLength = 1;
+      }
+
+      int next = i + atomLength;
+      if (next < regex.length() && "*?{".indexOf(regex.charAt(next)) >= 0) {
+        // the last literal is optional or repeated, so it can't be part of the prefix
+        break;
+      }
+      prefix.append(literal);
+      if (next < regex.length() && regex.charAt(next) == '+') {
+        break;
+      }
+      i = next;
+    }
+
+    return prefix.toString();
+  }
+
+  private static boolean hasTopLevelAlternation(String regex) {
+    int depth = 0;
+    boolean inCharacterClass = false;
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (inCharacterClass) {
+        inCharacterClass = c != ']';
+      } else if (c == '[') {
+        inCharacterClass = true;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      } else if (c == '|' && depth == 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -1,5 +1,7 @@
 package com.symphony.bdk.bot.sdk.command.matcher;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 import com.symphony.bdk.bot.sdk.command.CommandFilter;
@@ -16,9 +18,12 @@ import java.util.stream.Collectors;
  * @author Gabriel Berberian
  */
 public class CommandMatcherBuilder implements Regex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CommandMatcherBuilder.class);
 
   private static final String QUANTIFIERS = "+*";
 
+  private static volatile MatcherEngine defaultEngine = MatcherEngine.JDK;
+
   private String regex;
 
   public CommandMatcherBuilder() {
@@ -52,12 +57,70 @@ public class CommandMatcherBuilder implements Regex {
   }
 
   /**
-   * Make a predicate with the current regex of the command matcher builder.
+   * Make a linear-time pattern with the current regex of the command matcher builder. Unlike
+   * {@link #pattern()}, matching never backtracks, which bounds the matching time on arbitrary
+   * user input. Named groups can be extracted from {@link LinearMatchResult}.
+   *
+   * @return the command matcher linear pattern
+   * @throws IllegalArgumentException if the regex uses constructs not supported by the linear
+   *                                  engine (e.g. numeric references)
+   */
+  public LinearPattern linearPattern() {
+    return LinearPattern.compile(regex());
+  }
+
+  /**
+   * Make a predicate with the current regex of the command matcher builder, using the default
+   * engine (see {@link #setDefaultEngine(MatcherEngine)}). The returned predicate is a {@link
+   * CommandMatcher}, which lets {@link CommandFilter} index it by its literal prefix. When the
+   * default engine is {@link MatcherEngine#LINEAR} and the regex uses constructs it does not
+   * support (e.g. numeric references), the {@link MatcherEngine#JDK} engine is used instead.
    *
    * @return the command matcher predicate
    */
   public Predicate<String> predicate() {
-    return pattern().asPredicate();
+    MatcherEngine engine = defaultEngine;
+    if (engine == MatcherEngine.LINEAR) {
+      try {
+        return predicate(MatcherEngine.LINEAR);
+      } catch (IllegalArgumentException e) {
+        LOGGER.warn("Falling back to the JDK engine for command pattern {}: {}", regex(),
+            e.getMessage());
+        return predicate(MatcherEngine.JDK);
+      }
+    }
+    return predicate(engine);
+  }
+
+  /**
+   * Make a predicate with the current regex of the command matcher builder using the given
+   * engine.
+   *
+   * @param engine the regular expression engine.
+   * @return the command matcher predicate
+   */
+  public Predicate<String> predicate(MatcherEngine engine) {
+    return CommandMatcher.of(regex(), engine);
+  }
+
+  /**
+   * Sets the engine used by {@link #predicate()} for all command matchers. Must be set before
+   * command handlers are registered, e.g. in the application main method.
+   *
+   * @param engine the regular expression engine.
+   */
+  public static void setDefaultEngine(MatcherEngine engine) {
+    if (engine == null) {
+      throw new IllegalArgumentException("Matcher engine must not be null");
+    }
+    defaultEngine = engine;
+  }
+
+  /**
+   * @return the engine used by {@link #predicate()}
+   */
+  public static MatcherEngine getDefaultEngine() {
+    return defaultEngine;
   }
 
   /**
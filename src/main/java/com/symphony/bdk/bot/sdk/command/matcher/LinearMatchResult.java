@@ -0,0 +1,90 @@
+package com.symphony.bdk.bot.sdk.command.matcher;
+
+import java.util.Map;
+
+/**
+ * Result of a successful {@link LinearPattern} match. Gives access to the matched text and to
+ * the text captured by numbered and named groups.
+ */
+public class LinearMatchResult {
+
+  private final String input;
+  private final int[] captures;
+  private final Map<String, Integer> groupNames;
+
+  LinearMatchResult(String input, int[] captures, Map<String, Integer> groupNames) {
+    this.input = input;
+    this.captures = captures;
+    this.groupNames = groupNames;
+  }
+
+  /**
+   * @return the number of capturing groups in the pattern
+   */
+  public int groupCount() {
+    return captures.length / 2 - 1;
+  }
+
+  /**
+   * @return the whole matched text
+   */
+  public String group() {
+    return group(0);
+  }
+
+  /**
+   * Gets the text captured by a group
+   *
+   * @param group the group index, 0 being the whole match
+   * @return the captured text, null if the group did not participate in the match
+   */
+  public String group(int group) {
+    checkGroup(group);
+    int start = captures[2 * group];
+    int end = captures[2 * group + 1];
+    return start < 0 || end < 0 ? null : input.substring(start, end);
+  }
+
+  /**
+   * Gets the text captured by a named group
+   *
+   * @param name the group name
+   * @return the captured text, null if the group did not participate in the match
+   */
+  public String group(String name) {
+    return group(groupIndex(name));
+  }
+
+  /**
+   * @param group the group index, 0 being the whole match
+   * @return start index of the text captured by the group, -1 if it did not participate
+   */
+  public int start(int group) {
+    checkGroup(group);
+    return captures[2 * group];
+  }
+
+  /**
+   * @param group the group index, 0 being the whole match
+   * @return end index of the text captured by the group, -1 if it did not participate
+   */
+  public int end(int group) {
+    checkGroup(group);
+    return captures[2 * group + 1];
+  }
+
+  private int groupIndex(String name) {
+    Integer index = groupNames.get(name);
+    if (index == null) {
+      throw new IllegalArgumentException("No group with name <" + name + ">");
+    }
+    return index;
+  }
+
+  private void checkGroup(int group) {
+    if (group < 0 || group > groupCount()) {
+      throw new IndexOutOfBoundsException("No group " + group);
+    }
+  }
+
+}
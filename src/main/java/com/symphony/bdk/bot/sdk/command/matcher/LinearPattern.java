@@ -0,0 +1,291 @@
+package com.symphony.bdk.bot.sdk.command.matcher;
+
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.BEGIN_INPUT;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.END_INPUT;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.END_INPUT_OR_LINE_TERMINATOR;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.OP_ASSERT;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.OP_CHAR;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.OP_JMP;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.OP_MATCH;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.OP_SAVE;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.OP_SPLIT;
+import static com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.WORD_BOUNDARY;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.Instruction;
+import com.symphony.bdk.bot.sdk.command.matcher.LinearRegexCompiler.Program;
+
+/**
+ * Regular expression matched without backtracking. The expression is compiled into a
+ * nondeterministic automaton which is simulated over all its states at once, so the matching time
+ * is bounded by the message length times the pattern size, whatever the message content.
+ * <p>
+ * Whether an input matches is always the same as with {@link java.util.regex.Pattern} for the
+ * supported syntax, as are the leftmost match and captured groups. The only exception is nested
+ * repetitions whose body can match an empty text (e.g. {@code (a*?)*}), where the extent of the
+ * match may differ.
+ */
+public class LinearPattern {
+
+  private final String regex;
+  private final Program program;
+
+  private LinearPattern(String regex) {
+    this.regex = regex;
+    this.program = LinearRegexCompiler.compile(regex);
+  }
+
+  /**
+   * Compiles a regular expression into a linear pattern.
+   *
+   * @param regex the regular expression.
+   * @return the linear pattern.
+   * @throws IllegalArgumentException if the expression is invalid or uses a construct that
+   *                                  requires backtracking (e.g. backreferences, lookarounds)
+   */
+  public static LinearPattern compile(String regex) {
+    return new LinearPattern(regex);
+  }
+
+  /**
+   * @return the regular expression this pattern was compiled from
+   */
+  public String pattern() {
+    return regex;
+  }
+
+  /**
+   * Looks for the first subsequence of the input matching the pattern.
+   *
+   * @param input the input text.
+   * @return the match result, empty if no subsequence matches.
+   */
+  public Optional<LinearMatchResult> find(CharSequence input) {
+    String text = input.toString();
+    int[] captures = run(text, false, true);
+    return captures == null ? Optional.empty()
+        : Optional.of(new LinearMatchResult(text, captures, program.groupNames));
+  }
+
+  /**
+   * Matches the entire input against the pattern.
+   *
+   * @param input the input text.
+   * @return the match result, empty if the input does not match.
+   */
+  public Optional<LinearMatchResult> matchEntire(CharSequence input) {
+    String text = input.toString();
+    int[] captures = run(text, true, true);
+    return captures == null ? Optional.empty()
+        : Optional.of(new LinearMatchResult(text, captures, program.groupNames));
+  }
+
+  /**
+   * Whether any subsequence of the input matches the pattern.
+   *
+   * @param input the input text.
+   * @return true if the pattern is found in the input, false otherwise.
+   */
+  public boolean matches(CharSequence input) {
+    return run(input.toString(), false, false) != null;
+  }
+
+  /**
+   * Creates a predicate which tests whether the pattern is found in a given input string.
+   *
+   * @return the predicate.
+   */
+  public Predicate<String> asPredicate() {
+    return this::matches;
+  }
+
+  @Override
+  public String toString() {
+    return regex;
+  }
+
+  private int[] run(String text, boolean entire, boolean capture) {
+    Instruction[] instructions = program.instructions;
+    int slots = capture ? 2 * (program.groupCount + 1) : 0;
+    ThreadList current = new ThreadList(instructions.length);
+    ThreadList next = new ThreadList(instructions.length);
+    int[] matched = null;
+
+    int pos = 0;
+    while (true) {
+      if (matched == null && (pos == 0 || !entire)) {
+        // lowest priority thread starting a new match attempt at this position
+        addThread(current, 0, text, pos, newCaptures(slots));
+      }
+      if (current.size == 0 && (matched != null || entire)) {
+        break;
+      }
+
+      int codePoint = pos < text.length() ? text.codePointAt(pos) : -1;
+      int nextPos = codePoint < 0 ? pos : pos + Character.charCount(codePoint);
+      for (int i = 0; i < current.size; i++) {
+        Instruction instruction = instructions[current.pcs[i]];
+        if (instruction.op == OP_CHAR) {
+          if (codePoint >= 0 && instruction.characters.contains(codePoint)) {
+            addThread(next, current.pcs[i] + 1, text, nextPos, current.captures[i]);
+          }
+        } else if (instruction.op == OP_MATCH && (!entire || pos == text.length())) {
+          matched = current.captures[i] != null ? current.captures[i] : new int[0];
+          // threads with lower priority cannot produce a preferred match
+          break;
+        }
+      }
+
+      if (codePoint < 0) {
+        break;
+      }
+      ThreadList swap = current;
+      current = next;
+      next = swap;
+      next.clear();
+      pos = nextPos;
+    }
+
+    return matched;
+  }
+
+  private void addThread(ThreadList list, int startPc, String text, int pos, int[] startCaptures) {
+    Instruction[] instructions = program.instructions;
+    int[] pcStack = list.pcStack;
+    int[][] captureStack = list.captureStack;
+    int top = 0;
+    pcStack[top] = startPc;
+    captureStack[top++] = startCaptures;
+
+    while (top > 0) {
+      int pc = pcStack[--top];
+      int[] captures = captureStack[top];
+      if (!list.visit(pc)) {
+        continue;
+      }
+
+      Instruction instruction = instructions[pc];
+      switch (instruction.op) {
+        case OP_JMP:
+          pcStack[top] = instruction.x;
+          captureStack[top++] = captures;
+          break;
+        case OP_SPLIT:
+          // pushed in reverse order so that the preferred branch is explored first
+          pcStack[top] = instruction.y;
+          captureStack[top++] = captures;
+          pcStack[top] = instruction.x;
+          captureStack[top++] = captures;
+          break;
+        case OP_SAVE:
+          int[] saved = captures;
+          if (captures != null && instruction.x < captures.length) {
+            saved = Arrays.copyOf(captures, captures.length);
+            saved[instruction.x] = pos;
+          }
+          pcStack[top] = pc + 1;
+          captureStack[top++] = saved;
+          break;
+        case OP_ASSERT:
+          if (assertion(instruction.x, text, pos)) {
+            pcStack[top] = pc + 1;
+            captureStack[top++] = captures;
+          }
+          break;
+        default:
+          list.add(pc, captures);
+      }
+    }
+  }
+
+  private static int[] newCaptures(int slots) {
+    if (slots == 0) {
+      return null;
+    }
+    int[] captures = new int[slots];
+    Arrays.fill(captures, -1);
+    return captures;
+  }
+
+  private static boolean assertion(int kind, String text, int pos) {
+    int length = text.length();
+    switch (kind) {
+      case BEGIN_INPUT:
+        return pos == 0;
+      case END_INPUT:
+        return pos == length;
+      case END_INPUT_OR_LINE_TERMINATOR:
+        if (pos == length) {
+          return true;
+        }
+        if (pos == length - 2) {
+          return text.charAt(pos) == '\r' && text.charAt(pos + 1) == '\n';
+        }
+        return pos == length - 1 && isLineTerminator(text.charAt(pos))
+            && !(text.charAt(pos) == '\n' && pos > 0 && text.charAt(pos - 1) == '\r');
+      case WORD_BOUNDARY:
+        return isWordBoundary(text, pos);
+      default:
+        return !isWordBoundary(text, pos);
+    }
+  }
+
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == 0x2028 || c == 0x2029;
+  }
+
+  private static boolean isWordBoundary(String text, int pos) {
+    boolean before = pos > 0 && isWord(text.codePointBefore(pos));
+    boolean after = pos < text.length() && isWord(text.codePointAt(pos));
+    return before != after;
+  }
+
+  private static boolean isWord(int codePoint) {
+    return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+  }
+
+  /**
+   * Ordered set of threads, one per program counter, with preallocated work stacks
+   */
+  private static class ThreadList {
+    private final int[] pcs;
+    private final int[][] captures;
+    private final int[] visited;
+    private final int[] pcStack;
+    private final int[][] captureStack;
+    private int generation = 1;
+    private int size;
+
+    ThreadList(int programSize) {
+      pcs = new int[programSize];
+      captures = new int[programSize][];
+      visited = new int[programSize];
+      // every instruction is visited at most once per step and pushes at most two entries
+      pcStack = new int[2 * programSize + 1];
+      captureStack = new int[2 * programSize + 1][];
+    }
+
+    boolean visit(int pc) {
+      if (visited[pc] == generation) {
+        return false;
+      }
+      visited[pc] = generation;
+      return true;
+    }
+
+    void add(int pc, int[] threadCaptures) {
+      pcs[size] = pc;
+      captures[size++] = threadCaptures;
+    }
+
+    void clear() {
+      size = 0;
+      generation++;
+      Arrays.fill(captures, null);
+    }
+  }
+
+}
@@ -0,0 +1,661 @@
+package com.symphony.bdk.bot.sdk.command.matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the regular expressions produced by {@link CommandMatcherBuilder},
+ * {@link CharacterMatcher} and {@link EscapedCharacter} into a program for the
+ * {@link LinearPattern} virtual machine. The syntax and semantics follow
+ * {@link java.util.regex.Pattern} for the supported constructs; any construct that would require
+ * backtracking is rejected with an {@link IllegalArgumentException}.
+ */
+class LinearRegexCompiler {
+
+  static final int MAX_PROGRAM_SIZE = 10000;
+
+  static final int OP_CHAR = 0;
+  static final int OP_SPLIT = 1;
+  static final int OP_JMP = 2;
+  static final int OP_SAVE = 3;
+  static final int OP_ASSERT = 4;
+  static final int OP_MATCH = 5;
+
+  static final int BEGIN_INPUT = 0;
+  static final int END_INPUT = 1;
+  static final int END_INPUT_OR_LINE_TERMINATOR = 2;
+  static final int WORD_BOUNDARY = 3;
+  static final int NOT_WORD_BOUNDARY = 4;
+
+  private final String regex;
+  private int pos;
+  private int groupCount;
+  private final Map<String, Integer> groupNames = new HashMap<>();
+  private final List<Instruction> program = new ArrayList<>();
+
+  private LinearRegexCompiler(String regex) {
+    this.regex = regex;
+  }
+
+  /**
+   * Compiles a regular expression
+   *
+   * @param regex
+   * @return the compiled program
+   */
+  static Program compile(String regex) {
+    LinearRegexCompiler compiler = new LinearRegexCompiler(regex);
+    Node root = compiler.parseAlternation();
+    if (compiler.pos < regex.length()) {
+      throw compiler.error("Unmatched closing ')'");
+    }
+    compiler.emit(new Instruction(OP_SAVE, 0, 0, null));
+    compiler.emit(root);
+    compiler.emit(new Instruction(OP_SAVE, 1, 0, null));
+    compiler.emit(new Instruction(OP_MATCH, 0, 0, null));
+    return new Program(compiler.program.toArray(new Instruction[0]), compiler.groupCount,
+        Collections.unmodifiableMap(compiler.groupNames));
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Parsing
+  // ---------------------------------------------------------------------------------------------
+
+  private Node parseAlternation() {
+    List<Node> branches = new ArrayList<>();
+    branches.add(parseConcatenation());
+    while (more() && peek() == '|') {
+      pos++;
+      branches.add(parseConcatenation());
+    }
+    return branches.size() == 1 ? branches.get(0) : new Node(Node.ALTERNATION, branches);
+  }
+
+  private Node parseConcatenation() {
+    List<Node> items = new ArrayList<>();
+    while (more() && peek() != '|' && peek() != ')') {
+      items.add(parseQuantified());
+    }
+    return new Node(Node.CONCATENATION, items);
+  }
+
+  private Node parseQuantified() {
+    Node atom = parseAtom();
+    if (!more()) {
+      return atom;
+    }
+
+    int min;
+    int max;
+    char c = peek();
+    if (c == '*') {
+      min = 0;
+      max = -1;
+      pos++;
+    } else if (c == '+') {
+      min = 1;
+      max = -1;
+      pos++;
+    } else if (c == '?') {
+      min = 0;
+      max = 1;
+      pos++;
+    } else if (c == '{') {
+      pos++;
+      min = parseNumber();
+      max = min;
+      if (more() && peek() == ',') {
+        pos++;
+        max = more() && peek() == '}' ? -1 : parseNumber();
+      }
+      expect('}');
+      if (max != -1 && max < min) {
+        throw error("Illegal repetition range");
+      }
+    } else {
+      return atom;
+    }
+
+    boolean greedy = true;
+    if (more() && peek() == '?') {
+      greedy = false;
+      pos++;
+    } else if (more() && peek() == '+') {
+      throw error("Possessive quantifiers are not supported");
+    }
+    if (more() && "*+?{".indexOf(peek()) >= 0) {
+      throw error("Dangling meta character '" + peek() + "'");
+    }
+    return Node.repeat(atom, min, max, greedy);
+  }
+
+  private Node parseAtom() {
+    char c = next();
+    switch (c) {
+      case '(':
+        return parseGroup();
+      case '[':
+        return Node.characters(parseCharacterClass());
+      case '.':
+        return Node.characters(CharSet.ANY_EXCEPT_LINE_TERMINATOR);
+      case '^':
+        return Node.assertion(BEGIN_INPUT);
+      case '$':
+        return Node.assertion(END_INPUT_OR_LINE_TERMINATOR);
+      case '\\':
+        return parseEscape();
+      case '*':
+      case '+':
+      case '?':
+        throw error("Dangling meta character '" + c + "'");
+      case '{':
+        throw error("Illegal repetition");
+      default:
+        return Node.characters(CharSet.of(codePointFrom(c)));
+    }
+  }
+
+  private Node parseGroup() {
+    int index = -1;
+    if (more() && peek() == '?') {
+      pos++;
+      char kind = next();
+      if (kind == ':') {
+        index = 0;
+      } else if (kind == '<' && more() && Character.isLetter(peek())) {
+        int start = pos;
+        while (more() && Character.isLetterOrDigit(peek())) {
+          pos++;
+        }
+        String name = regex.substring(start, pos);
+        expect('>');
+        if (groupNames.containsKey(name)) {
+          throw error("Named capturing group <" + name + "> is already defined");
+        }
+        index = ++groupCount;
+        groupNames.put(name, index);
+      } else {
+        throw error("Lookarounds and inline flags are not supported");
+      }
+    } else {
+      index = ++groupCount;
+    }
+
+    Node body = parseAlternation();
+    expect(')');
+    return index == 0 ? body : Node.capture(body, index);
+  }
+
+  private Node parseEscape() {
+    char c = next();
+    switch (c) {
+      case 'b':
+        return Node.assertion(WORD_BOUNDARY);
+      case 'B':
+        return Node.assertion(NOT_WORD_BOUNDARY);
+      case 'A':
+        return Node.assertion(BEGIN_INPUT);
+      case 'z':
+        return Node.assertion(END_INPUT);
+      case 'Z':
+        return Node.assertion(END_INPUT_OR_LINE_TERMINATOR);
+      default:
+        pos--;
+        return Node.characters(parseCharacterEscape());
+    }
+  }
+
+  private CharSet parseCharacterEscape() {
+    char c = next();
+    switch (c) {
+      case 'd':
+        return CharSet.DIGIT;
+      case 'D':
+        return CharSet.DIGIT.negate();
+      case 'w':
+        return CharSet.WORD;
+      case 'W':
+        return CharSet.WORD.negate();
+      case 's':
+        return CharSet.WHITE_SPACE;
+      case 'S':
+        return CharSet.WHITE_SPACE.negate();
+      case 'v':
+        return CharSet.VERTICAL_WHITE_SPACE;
+      case 'V':
+        return CharSet.VERTICAL_WHITE_SPACE.negate();
+      case 'h':
+        return CharSet.HORIZONTAL_WHITE_SPACE;
+      case 'H':
+        return CharSet.HORIZONTAL_WHITE_SPACE.negate();
+      case 't':
+        return CharSet.of('\t');
+      case 'n':
+        return CharSet.of('\n');
+      case 'r':
+        return CharSet.of('\r');
+      case 'f':
+        return CharSet.of('\f');
+      case 'a':
+        return CharSet.of('\u0007');
+      case 'e':
+        return CharSet.of('\u001B');
+      case '0':
+        return CharSet.of(parseOctal());
+      case 'x':
+        return CharSet.of(parseHexadecimal());
+      case 'u':
+        return CharSet.of(parseHex(4));
+      case 'c':
+        return CharSet.of(next() ^ 64);
+      default:
+        if (c >= '1' && c <= '9' || c == 'k') {
+          throw error("Backreferences are not supported");
+        }
+        if (Character.isLetterOrDigit(c)) {
+          throw error("Unsupported escape sequence");
+        }
+        return CharSet.of(codePointFrom(c));
+    }
+  }
+
+  private CharSet parseCharacterClass() {
+    boolean negated = false;
+    if (more() && peek() == '^') {
+      negated = true;
+      pos++;
+    }
+
+    List<CharSet> members = new ArrayList<>();
+    boolean first = true;
+    while (true) {
+      if (!more()) {
+        throw error("Unclosed character class");
+      }
+      char c = peek();
+      if (c == ']' && !first) {
+        pos++;
+        break;
+      }
+      first = false;
+      if (c == '[' || (c == '&' && pos + 1 < regex.length() && regex.charAt(pos + 1) == '&')) {
+        throw error("Nested classes and intersections are not supported");
+      }
+
+      CharSet member;
+      int single;
+      if (c == '\\') {
+        pos++;
+        member = parseCharacterEscape();
+        single = member.singleCodePoint();
+      } else {
+        pos++;
+        single = codePointFrom(c);
+        member = CharSet.of(single);
+      }
+
+      if (single >= 0 && more() && peek() == '-' && pos + 1 < regex.length()
+          && regex.charAt(pos + 1) != ']') {
+        pos++;
+        int end;
+        if (peek() == '\\') {
+          pos++;
+          end = parseCharacterEscape().singleCodePoint();
+          if (end < 0) {
+            throw error("Illegal character range");
+          }
+        } else {
+          end = codePointFrom(next());
+        }
+        if (end < single) {
+          throw error("Illegal character range");
+        }
+        member = CharSet.range(single, end);
+      }
+      members.add(member);
+    }
+
+    CharSet set = CharSet.union(members);
+    return negated ? set.negate() : set;
+  }
+
+  private int parseOctal() {
+    int value = 0;
+    int digits = 0;
+    while (digits < 3 && more() && peek() >= '0' && peek() <= '7') {
+      int candidate = value * 8 + (peek() - '0');
+      if (candidate > 0377) {
+        break;
+      }
+      value = candidate;
+      digits++;
+      pos++;
+    }
+    if (digits == 0) {
+      throw error("Illegal octal escape sequence");
+    }
+    return value;
+  }
+
+  private int parseHexadecimal() {
+    if (more() && peek() == '{') {
+      pos++;
+      int start = pos;
+      while (more() && peek() != '}') {
+        pos++;
+      }
+      String hex = regex.substring(start, pos);
+      expect('}');
+      try {
+        return Integer.parseInt(hex, 16);
+      } catch (NumberFormatException e) {
+        throw error("Illegal hexadecimal escape sequence");
+      }
+    }
+    return parseHex(2);
+  }
+
+  private int parseHex(int digits) {
+    if (pos + digits > regex.length()) {
+      throw error("Illegal hexadecimal escape sequence");
+    }
+    try {
+      int value = Integer.parseInt(regex.substring(pos, pos + digits), 16);
+      pos += digits;
+      return value;
+    } catch (NumberFormatException e) {
+      throw error("Illegal hexadecimal escape sequence");
+    }
+  }
+
+  private int parseNumber() {
+    int start = pos;
+    while (more() && Character.isDigit(peek())) {
+      pos++;
+    }
+    if (start == pos) {
+      throw error("Illegal repetition");
+    }
+    return Integer.parseInt(regex.substring(start, pos));
+  }
+
+  private int codePointFrom(char c) {
+    if (Character.isHighSurrogate(c) && more() && Character.isLowSurrogate(peek())) {
+      return Character.toCodePoint(c, next());
+    }
+    return c;
+  }
+
+  private boolean more() {
+    return pos < regex.length();
+  }
+
+  private char peek() {
+    return regex.charAt(pos);
+  }
+
+  private char next() {
+    if (!more()) {
+      throw error("Unexpected end of pattern");
+    }
+    return regex.charAt(pos++);
+  }
+
+  private void expect(char c) {
+    if (!more() || next() != c) {
+      throw error("Expected '" + c + "'");
+    }
+  }
+
+  private IllegalArgumentException error(String description) {
+    return new IllegalArgumentException(
+        description + " near index " + pos + " of pattern: " + regex);
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Code generation
+  // ---------------------------------------------------------------------------------------------
+
+  private void emit(Node node) {
+    switch (node.type) {
+      case Node.CHARACTERS:
+        emit(new Instruction(OP_CHAR, 0, 0, node.characters));
+        break;
+      case Node.ASSERTION:
+        emit(new Instruction(OP_ASSERT, node.min, 0, null));
+        break;
+      case Node.CONCATENATION:
+        node.children.forEach(this::emit);
+        break;
+      case Node.ALTERNATION:
+        emitAlternation(node.children);
+        break;
+      case Node.CAPTURE:
+        emit(new Instruction(OP_SAVE, 2 * node.min, 0, null));
+        emit(node.children.get(0));
+        emit(new Instruction(OP_SAVE, 2 * node.min + 1, 0, null));
+        break;
+      case Node.REPEAT:
+        emitRepeat(node);
+        break;
+      default:
+        throw new IllegalStateException("Unknown node type " + node.type);
+    }
+  }
+
+  private void emitAlternation(List<Node> branches) {
+    List<Instruction> jumpsToEnd = new ArrayList<>();
+    for (int i = 0; i < branches.size() - 1; i++) {
+      Instruction split = emit(new Instruction(OP_SPLIT, program.size() + 1, 0, null));
+      emit(branches.get(i));
+      jumpsToEnd.add(emit(new Instruction(OP_JMP, 0, 0, null)));
+      split.y = program.size();
+    }
+    emit(branches.get(branches.size() - 1));
+    jumpsToEnd.forEach(jump -> jump.x = program.size());
+  }
+
+  private void emitRepeat(Node node) {
+    Node body = node.children.get(0);
+    for (int i = 0; i < node.min; i++) {
+      emit(body);
+    }
+
+    if (node.max == -1) {
+      int loop = program.size();
+      Instruction split = emit(new Instruction(OP_SPLIT, 0, 0, null));
+      int bodyStart = program.size();
+      emit(body);
+      emit(new Instruction(OP_JMP, loop, 0, null));
+      setBranches(split, bodyStart, program.size(), node.greedy);
+    } else {
+      List<Instruction> splits = new ArrayList<>();
+      for (int i = node.min; i < node.max; i++) {
+        Instruction split = emit(new Instruction(OP_SPLIT, 0, 0, null));
+        split.x = program.size();
+        splits.add(split);
+        emit(body);
+      }
+      int end = program.size();
+      splits.forEach(split -> setBranches(split, split.x, end, node.greedy));
+    }
+  }
+
+  private void setBranches(Instruction split, int take, int skip, boolean greedy) {
+    split.x = greedy ? take : skip;
+    split.y = greedy ? skip : take;
+  }
+
+  private Instruction emit(Instruction instruction) {
+    if (program.size() >= MAX_PROGRAM_SIZE) {
+      throw new IllegalArgumentException("Pattern is too large for the linear engine: " + regex);
+    }
+    program.add(instruction);
+    return instruction;
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Data structures
+  // ---------------------------------------------------------------------------------------------
+
+  /**
+   * A compiled program
+   */
+  static class Program {
+    final Instruction[] instructions;
+    final int groupCount;
+    final Map<String, Integer> groupNames;
+
+    Program(Instruction[] instructions, int groupCount, Map<String, Integer> groupNames) {
+      this.instructions = instructions;
+      this.groupCount = groupCount;
+      this.groupNames = groupNames;
+    }
+  }
+
+  /**
+   * A program instruction. Depending on the operation, x and y hold jump targets, the capture
+   * slot or the assertion kind.
+   */
+  static class Instruction {
+    final int op;
+    int x;
+    int y;
+    final CharSet characters;
+
+    Instruction(int op, int x, int y, CharSet characters) {
+      this.op = op;
+      this.x = x;
+      this.y = y;
+      this.characters = characters;
+    }
+  }
+
+  private static class Node {
+    static final int CHARACTERS = 0;
+    static final int ASSERTION = 1;
+    static final int CONCATENATION = 2;
+    static final int ALTERNATION = 3;
+    static final int CAPTURE = 4;
+    static final int REPEAT = 5;
+
+    final int type;
+    final List<Node> children;
+    CharSet characters;
+    int min;
+    int max;
+    boolean greedy;
+
+    Node(int type, List<Node> children) {
+      this.type = type;
+      this.children = children;
+    }
+
+    static Node characters(CharSet characters) {
+      Node node = new Node(CHARACTERS, Collections.emptyList());
+      node.characters = characters;
+      return node;
+    }
+
+    static Node assertion(int kind) {
+      Node node = new Node(ASSERTION, Collections.emptyList());
+      node.min = kind;
+      return node;
+    }
+
+    static Node capture(Node body, int index) {
+      Node node = new Node(CAPTURE, Collections.singletonList(body));
+      node.min = index;
+      return node;
+    }
+
+    static Node repeat(Node body, int min, int max, boolean greedy) {
+      Node node = new Node(REPEAT, Collections.singletonList(body));
+      node.min = min;
+      node.max = max;
+      node.greedy = greedy;
+      return node;
+    }
+  }
+
+  /**
+   * A set of code points matched by a single program step
+   */
+  abstract static class CharSet {
+
+    static final CharSet DIGIT = range('0', '9');
+    static final CharSet WORD = union(Arrays.asList(
+        range('a', 'z'), range('A', 'Z'), range('0', '9'), of('_')));
+    static final CharSet WHITE_SPACE = union(Arrays.asList(
+        of(' '), of('\t'), of('\n'), of('\u000B'), of('\f'), of('\r')));
+    static final CharSet VERTICAL_WHITE_SPACE = union(Arrays.asList(
+        of('\n'), of('\u000B'), of('\f'), of('\r'), of(0x85), of(0x2028), of(0x2029)));
+    static final CharSet HORIZONTAL_WHITE_SPACE = union(Arrays.asList(
+        of(' '), of('\t'), of(0xA0), of(0x1680), of(0x180E), range(0x2000, 0x200A),
+        of(0x202F), of(0x205F), of(0x3000)));
+    static final CharSet ANY_EXCEPT_LINE_TERMINATOR = union(Arrays.asList(
+        of('\n'), of('\r'), of(0x85), of(0x2028), of(0x2029))).negate();
+
+    abstract boolean contains(int codePoint);
+
+    int singleCodePoint() {
+      return -1;
+    }
+
+    CharSet negate() {
+      CharSet self = this;
+      return new CharSet() {
+        @Override
+        boolean contains(int codePoint) {
+          return !self.contains(codePoint);
+        }
+      };
+    }
+
+    static CharSet of(int single) {
+      return new CharSet() {
+        @Override
+        boolean contains(int codePoint) {
+          return codePoint == single;
+        }
+
+        @Override
+        int singleCodePoint() {
+          return single;
+        }
+      };
+    }
+
+    static CharSet range(int first, int last) {
+      return new CharSet() {
+        @Override
+        boolean contains(int codePoint) {
+          return codePoint >= first && codePoint <= last;
+        }
+      };
+    }
+
+    static CharSet union(List<CharSet> members) {
+      if (members.size() == 1) {
+        return members.get(0);
+      }
+      CharSet[] sets = members.toArray(new CharSet[0]);
+      return new CharSet() {
+        @Override
+        boolean contains(int codePoint) {
+          for (CharSet set : sets) {
+            if (set.contains(codePoint)) {
+              return true;
+            }
+          }
+          return false;
+        }
+      };
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+package com.symphony.bdk.bot.sdk.command.matcher;
+
+/**
+ * Regular expression engines available to match commands built with
+ * {@link CommandMatcherBuilder}.
+ */
+public enum MatcherEngine {
+
+  /**
+   * The backtracking {@link java.util.regex.Pattern} engine. Supports every regular expression
+   * construct, but matching time may grow exponentially with the message length for patterns
+   * containing nested quantifiers.
+   */
+  JDK,
+
+  /**
+   * A non-backtracking engine ({@link LinearPattern}) whose matching time grows linearly with the
+   * message length. Backreferences, lookarounds, possessive quantifiers and inline flags are not
+   * supported.
+   */
+  LINEAR
+
+}
@@ -0,0 +1,56 @@
+package com.symphony.bdk.bot.sdk.command.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Holds the outcome of sending a multi response to its streams
+ */
+@Getter
+@AllArgsConstructor
+public class FanOutResult {
+
+  private final List<StreamResult> streamResults;
+
+  /**
+   * @return the results of the streams the message was sent to
+   */
+  public List<StreamResult> getSucceeded() {
+    return streamResults.stream()
+        .filter(StreamResult::isSuccess)
+        .collect(Collectors.collectingAndThen(Collectors.toList(),
+            Collections::unmodifiableList));
+  }
+
+  /**
+   * @return the results of the streams the message could not be sent to
+   */
+  public List<StreamResult> getFailed() {
+    return streamResults.stream()
+        .filter(result -> !result.isSuccess())
+        .collect(Collectors.collectingAndThen(Collectors.toList(),
+            Collections::unmodifiableList));
+  }
+
+  /**
+   * Outcome of sending a message to one stream
+   */
+  @Getter
+  @AllArgsConstructor
+  public static class StreamResult {
+    private final String streamId;
+    /** Time (in milliseconds) from the submission of the message to its outcome */
+    private final long duration;
+    /** Error raised when sending, null on success */
+    private final Throwable error;
+
+    public boolean isSuccess() {
+      return error == null;
+    }
+  }
+
+}
@@ -0,0 +1,243 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Limits the number of tasks admitted to a bot executor, applying an
+ * {@link AdmissionPolicy} to tasks submitted beyond that limit.
+ * <p>
+ * Tasks are submitted with a {@link Priority}. Commands can use the whole
+ * capacity while events are only admitted up to a lower limit, so that events
+ * are shed first when the bot is overloaded. Tasks that could not run as
+ * submitted are counted by priority and outcome, and the time admitted tasks
+ * wait before being started is recorded by priority.
+ * <p>
+ * The controller is the bound of the delegate executor, whose queue should
+ * not be bounded: with {@link AdmissionPolicy#DROP_OLDEST}, a dropped task
+ * stays in the delegate queue until it is skipped, while the new task is
+ * queued behind it.
+ */
+public class AdmissionController {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionController.class);
+
+  private static final String METRIC_NAME = "symphony_bot_admission_rejections";
+  private static final String METRIC_DESCRIPTION =
+      "Tasks not run as submitted because the bot was overloaded";
+  private static final String QUEUE_WAIT_METRIC_NAME = "symphony_bot_queue_wait";
+  private static final String QUEUE_WAIT_METRIC_DESCRIPTION =
+      "Time between a task submission and its start";
+  private static final String TAG_PRIORITY = "priority";
+  private static final String TAG_OUTCOME = "outcome";
+
+  /**
+   * Priority classes of the admitted tasks
+   */
+  public enum Priority {
+    COMMAND,
+    EVENT
+  }
+
+  private enum Outcome {
+    CALLER_RUNS,
+    DROPPED,
+    REJECTED
+  }
+
+  private final Executor delegate;
+  private final AdmissionPolicy policy;
+  private final int capacity;
+  private final int eventCapacity;
+  private final Consumer<Priority> rejectionListener;
+  private final AtomicInteger admitted = new AtomicInteger();
+  private final Map<Priority, Deque<AdmittedTask>> pending = new EnumMap<>(Priority.class);
+  private final Map<Priority, Map<Outcome, Counter>> counters = new EnumMap<>(Priority.class);
+  private final Map<Priority, Timer> queueWaitTimers = new EnumMap<>(Priority.class);
+
+  /**
+   * @param delegate executor running the admitted tasks
+   * @param policy policy applied to tasks submitted beyond the capacity
+   * @param capacity maximum number of commands admitted (queued or running)
+   * @param eventCapacity maximum number of tasks admitted when submitting an event
+   * @param rejectionListener called on the submitting thread when a task is
+   *        rejected, may be null
+   * @param registry registry the rejection counters are added to
+   */
+  public AdmissionController(Executor delegate, AdmissionPolicy policy, int capacity,
+      int eventCapacity, Consumer<Priority> rejectionListener, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.policy = policy;
+    this.capacity = capacity;
+    this.eventCapacity = Math.min(eventCapacity, capacity);
+    this.rejectionListener = rejectionListener;
+
+    for (Priority priority : Priority.values()) {
+      pending.put(priority, new ConcurrentLinkedDeque<>());
+      Map<Outcome, Counter> priorityCounters = new EnumMap<>(Outcome.class);
+      for (Outcome outcome : Outcome.values()) {
+        priorityCounters.put(outcome, Counter.builder(METRIC_NAME)
+            .description(METRIC_DESCRIPTION)
+            .tag(TAG_PRIORITY, priority.name().toLowerCase())
+            .tag(TAG_OUTCOME, outcome.name().toLowerCase())
+            .register(registry));
+      }
+      counters.put(priority, priorityCounters);
+      queueWaitTimers.put(priority, Timer.builder(QUEUE_WAIT_METRIC_NAME)
+          .description(QUEUE_WAIT_METRIC_DESCRIPTION)
+          .tag(TAG_PRIORITY, priority.name().toLowerCase())
+          .publishPercentileHistogram()
+          .register(registry));
+    }
+  }
+
+  /**
+   * Creates an executor submitting its tasks with the given priority.
+   *
+   * @param priority the tasks priority
+   * @return the executor
+   */
+  public Executor executor(Priority priority) {
+    return task -> submit(priority, task);
+  }
+
+  /**
+   * @return number of tasks currently admitted (queued or running)
+   */
+  public int getAdmittedCount() {
+    return admitted.get();
+  }
+
+  /**
+   * Submits a task, applying the admission policy if the capacity for its
+   * priority is reached.
+   *
+   * @param priority the task priority
+   * @param task the task
+   */
+  public void submit(Priority priority, Runnable task) {
+    int limit = priority == Priority.COMMAND ? capacity : eventCapacity;
+    if (tryAdmit(limit)) {
+      dispatch(priority, task);
+    } else if (policy == AdmissionPolicy.DROP_OLDEST && dropOldest(priority)) {
+      // the slot of the dropped task is handed over to the new one
+      dispatch(priority, task);
+    } else {
+      overloaded(priority, task);
+    }
+  }
+
+  private boolean tryAdmit(int limit) {
+    while (true) {
+      int current = admitted.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (admitted.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private boolean dropOldest(Priority priority) {
+    // commands may replace events, events may only replace events
+    if (drop(Priority.EVENT)) {
+      return true;
+    }
+    return priority == Priority.COMMAND && drop(Priority.COMMAND);
+  }
+
+  private boolean drop(Priority priority) {
+    Deque<AdmittedTask> tasks = pending.get(priority);
+    AdmittedTask oldest;
+    while ((oldest = tasks.pollFirst()) != null) {
+      if (oldest.state.compareAndSet(AdmittedTask.PENDING, AdmittedTask.DROPPED)) {
+        // only the skipped wrapper is kept queued by the delegate
+        oldest.task = null;
+        LOGGER.warn("Bot is overloaded, dropped oldest pending {}", name(priority));
+        counters.get(priority).get(Outcome.DROPPED).increment();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void dispatch(Priority priority, Runnable task) {
+    AdmittedTask admittedTask = new AdmittedTask(priority, task);
+    pending.get(priority).addLast(admittedTask);
+    try {
+      delegate.execute(admittedTask);
+    } catch (TaskRejectedException e) {
+      if (admittedTask.state.compareAndSet(AdmittedTask.PENDING, AdmittedTask.DROPPED)) {
+        pending.get(priority).remove(admittedTask);
+        admitted.decrementAndGet();
+      }
+      overloaded(priority, task);
+    }
+  }
+
+  private void overloaded(Priority priority, Runnable task) {
+    if (policy == AdmissionPolicy.CALLER_RUNS) {
+      LOGGER.debug("Bot is overloaded, running {} on submitting thread", name(priority));
+      counters.get(priority).get(Outcome.CALLER_RUNS).increment();
+      task.run();
+      return;
+    }
+
+    LOGGER.warn("Bot is overloaded, rejected {}", name(priority));
+    counters.get(priority).get(Outcome.REJECTED).increment();
+    if (rejectionListener != null) {
+      rejectionListener.accept(priority);
+    }
+  }
+
+  private static String name(Priority priority) {
+    return priority.name().toLowerCase();
+  }
+
+  /**
+   * Admitted task which is skipped if it is dropped before being started
+   */
+  private class AdmittedTask implements Runnable {
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int DROPPED = 2;
+
+    private final Priority priority;
+    private volatile Runnable task;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final long submittedAt = System.nanoTime();
+
+    AdmittedTask(Priority priority, Runnable task) {
+      this.priority = priority;
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      if (!state.compareAndSet(PENDING, RUNNING)) {
+        return;
+      }
+      pending.get(priority).remove(this);
+      queueWaitTimers.get(priority).record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+      try {
+        task.run();
+      } finally {
+        admitted.decrementAndGet();
+      }
+    }
+  }
+
+}
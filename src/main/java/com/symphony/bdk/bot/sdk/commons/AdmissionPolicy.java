@@ -0,0 +1,29 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+/**
+ * What to do with a task submitted when the bot is already handling as many
+ * tasks as it can admit.
+ */
+public enum AdmissionPolicy {
+
+  /**
+   * The task runs on the submitting thread, slowing down the datafeed reading
+   * until the bot catches up. Not applicable to the ordered bot pool, in
+   * which the task would overtake the tasks already queued for its stream.
+   */
+  CALLER_RUNS,
+
+  /**
+   * The oldest task not yet started is dropped to make room for the new one.
+   * Events are dropped before commands. The new task is rejected if no task
+   * can be dropped.
+   */
+  DROP_OLDEST,
+
+  /**
+   * The new task is rejected. A busy reply can be sent to the stream it came
+   * from.
+   */
+  REJECT
+
+}
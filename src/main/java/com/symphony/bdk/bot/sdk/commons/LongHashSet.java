@@ -0,0 +1,182 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive long values stored in a single open addressing array, using
+ * 8 bytes per slot instead of the ~50 bytes per entry of a
+ * {@code HashSet<Long>}.
+ * <p>
+ * Not thread safe.
+ */
+public class LongHashSet {
+
+  private static final long EMPTY = 0L;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] slots;
+  private boolean containsZero;
+  private int size;
+
+  public LongHashSet() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param expectedSize number of values the set can hold before growing
+   */
+  public LongHashSet(int expectedSize) {
+    slots = new long[tableSize(expectedSize)];
+  }
+
+  /**
+   * Adds a value to the set.
+   *
+   * @param value the value
+   * @return true if the value was not already in the set
+   */
+  public boolean add(long value) {
+    if (value == EMPTY) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+
+    int mask = slots.length - 1;
+    int index = mix(value) & mask;
+    while (slots[index] != EMPTY) {
+      if (slots[index] == value) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    slots[index] = value;
+    if (++size > slots.length / 2) {
+      grow();
+    }
+    return true;
+  }
+
+  /**
+   * @param value the value
+   * @return true if the value is in the set
+   */
+  public boolean contains(long value) {
+    if (value == EMPTY) {
+      return containsZero;
+    }
+
+    int mask = slots.length - 1;
+    int index = mix(value) & mask;
+    while (slots[index] != EMPTY) {
+      if (slots[index] == value) {
+        return true;
+      }
+      index = (index + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Removes a value from the set.
+   *
+   * @param value the value
+   * @return true if the value was in the set
+   */
+  public boolean remove(long value) {
+    if (value == EMPTY) {
+      if (!containsZero) {
+        return false;
+      }
+      containsZero = false;
+      size--;
+      return true;
+    }
+
+    int mask = slots.length - 1;
+    int index = mix(value) & mask;
+    while (slots[index] != value) {
+      if (slots[index] == EMPTY) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    slots[index] = EMPTY;
+    size--;
+
+    // moves back the following values of the probe sequence so that none is left unreachable
+    int next = (index + 1) & mask;
+    while (slots[next] != EMPTY) {
+      long moved = slots[next];
+      int home = mix(moved) & mask;
+      if (((next - home) & mask) >= ((next - index) & mask)) {
+        slots[index] = moved;
+        slots[next] = EMPTY;
+        index = next;
+      }
+      next = (next + 1) & mask;
+    }
+    return true;
+  }
+
+  /**
+   * @return number of values in the set
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if the set has no values
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all values, keeping the allocated capacity.
+   */
+  public void clear() {
+    Arrays.fill(slots, EMPTY);
+    containsZero = false;
+    size = 0;
+  }
+
+  private void grow() {
+    long[] previous = slots;
+    slots = new long[previous.length * 2];
+    int mask = slots.length - 1;
+    for (long value : previous) {
+      if (value != EMPTY) {
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        slots[index] = value;
+      }
+    }
+  }
+
+  private static int tableSize(int expectedSize) {
+    int size = DEFAULT_CAPACITY;
+    while (size < 2L * expectedSize + 1) {
+      size <<= 1;
+    }
+    return size;
+  }
+
+  private static int mix(long value) {
+    // finalizer of the 64-bit MurmurHash3, spreading every bit of the value over the index
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return (int) hash;
+  }
+
+}
@@ -0,0 +1,25 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+/**
+ * Strategies used to run tasks submitted to the bot thread pools.
+ */
+public enum PoolMode {
+
+  /**
+   * Tasks run on a shared thread pool, in no particular order.
+   */
+  SHARED,
+
+  /**
+   * Tasks from the same stream run one at a time and in the order they were
+   * received. Tasks from different streams run in parallel.
+   */
+  ORDERED,
+
+  /**
+   * Every task runs on its own virtual thread, up to a maximum number of
+   * concurrent tasks. Requires Java 21, the shared mode is used otherwise.
+   */
+  VIRTUAL
+
+}
@@ -0,0 +1,133 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Executor that runs tasks on a fixed number of single-threaded lanes. Tasks
+ * are assigned to a lane based on the stream ID found in the log context, so
+ * tasks from the same stream run one at a time and in submission order, while
+ * tasks from different streams run in parallel. The stream ID can also be
+ * given explicitly, see {@link #execute(String, Runnable)}.
+ * <p>
+ * Tasks submitted without a stream ID are spread over the lanes in turn.
+ */
+public class StreamOrderedExecutor implements Executor {
+
+  private static final String STREAM_ID = "streamId";
+  private static final String LANES_METRIC_NAME = "symphony_bot_dispatch_lanes";
+  private static final String LANES_METRIC_DESCRIPTION = "Number of ordered dispatch lanes";
+  private static final String QUEUE_METRIC_NAME = "symphony_bot_dispatch_queue_depth";
+  private static final String QUEUE_METRIC_DESCRIPTION = "Tasks waiting in an ordered dispatch lane";
+  private static final String TAG_LANE = "lane";
+
+  private final ThreadPoolExecutor[] lanes;
+  private final TaskDecorator taskDecorator;
+  private final AtomicInteger nextLane = new AtomicInteger();
+
+  /**
+   * @param laneCount number of single-threaded lanes
+   * @param queueCapacity number of tasks each lane can hold before rejecting new ones
+   * @param threadNamePrefix prefix of the lane thread names
+   * @param taskDecorator decorator applied to every task (e.g. {@link MDCTaskDecorator})
+   */
+  public StreamOrderedExecutor(int laneCount, int queueCapacity, String threadNamePrefix,
+      TaskDecorator taskDecorator) {
+    if (laneCount < 1) {
+      throw new IllegalArgumentException("Lane count must be greater than 0");
+    }
+    this.taskDecorator = taskDecorator;
+    this.lanes = new ThreadPoolExecutor[laneCount];
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+    for (int i = 0; i < laneCount; i++) {
+      lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+    }
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    execute(MDC.get(STREAM_ID), task);
+  }
+
+  /**
+   * Runs a task in the lane of the given stream, after the tasks previously
+   * submitted for that stream.
+   *
+   * @param streamId the stream ID, may be null
+   * @param task the task
+   */
+  public void execute(String streamId, Runnable task) {
+    ThreadPoolExecutor lane = lanes[laneFor(streamId)];
+    try {
+      lane.execute(taskDecorator != null ? taskDecorator.decorate(task) : task);
+    } catch (RejectedExecutionException e) {
+      throw new TaskRejectedException("Executor [" + lane + "] did not accept task: " + task, e);
+    }
+  }
+
+  /**
+   * @return the number of lanes
+   */
+  public int getLaneCount() {
+    return lanes.length;
+  }
+
+  /**
+   * @param lane the lane index
+   * @return number of tasks waiting to be run in the given lane
+   */
+  public int getQueueDepth(int lane) {
+    return lanes[lane].getQueue().size();
+  }
+
+  /**
+   * Registers the lane count and the queue depth of each lane to the given
+   * registry.
+   *
+   * @param registry the meter registry
+   */
+  public void registerMetrics(MeterRegistry registry) {
+    Gauge.builder(LANES_METRIC_NAME, this, StreamOrderedExecutor::getLaneCount)
+        .description(LANES_METRIC_DESCRIPTION)
+        .register(registry);
+    for (int i = 0; i < lanes.length; i++) {
+      final int lane = i;
+      Gauge.builder(QUEUE_METRIC_NAME, this, value -> value.getQueueDepth(lane))
+          .description(QUEUE_METRIC_DESCRIPTION)
+          .tags(Tags.of(TAG_LANE, String.valueOf(lane)))
+          .register(registry);
+    }
+  }
+
+  /**
+   * Stops accepting tasks. Tasks already queued are still run.
+   */
+  public void shutdown() {
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.shutdown();
+    }
+  }
+
+  private int laneFor(String streamId) {
+    if (streamId == null) {
+      return Math.floorMod(nextLane.getAndIncrement(), lanes.length);
+    }
+    int hash = streamId.hashCode();
+    // spreads the higher bits so that similar stream IDs do not share lanes
+    return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+  }
+
+}
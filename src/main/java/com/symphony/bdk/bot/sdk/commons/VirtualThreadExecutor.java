@@ -0,0 +1,154 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Executor that runs every task on a new virtual thread. The number of tasks
+ * running at the same time is capped by a semaphore. Tasks submitted when the
+ * cap is reached wait for a permit on their own virtual thread, up to a given
+ * number of waiting tasks after which new tasks are rejected.
+ * <p>
+ * Virtual threads are only available from Java 21, see {@link #isSupported()}.
+ */
+public class VirtualThreadExecutor implements AsyncTaskExecutor {
+
+  private final ThreadFactory threadFactory;
+  private final Semaphore permits;
+  private final int waitingCapacity;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final TaskDecorator taskDecorator;
+
+  /**
+   * @param threadNamePrefix prefix of the virtual thread names
+   * @param maxConcurrency maximum number of tasks running at the same time
+   * @param waitingCapacity maximum number of tasks waiting for a running slot
+   * @param taskDecorator decorator applied to every task (e.g. {@link MDCTaskDecorator})
+   * @throws IllegalStateException if virtual threads are not supported by the running JVM
+   */
+  public VirtualThreadExecutor(String threadNamePrefix, int maxConcurrency, int waitingCapacity,
+      TaskDecorator taskDecorator) {
+    this(virtualThreadFactory(threadNamePrefix), maxConcurrency, waitingCapacity, taskDecorator);
+  }
+
+  /**
+   * Creates an executor starting its tasks with the given thread factory.
+   */
+  VirtualThreadExecutor(ThreadFactory threadFactory, int maxConcurrency, int waitingCapacity,
+      TaskDecorator taskDecorator) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be greater than 0");
+    }
+    this.threadFactory = threadFactory;
+    this.permits = new Semaphore(maxConcurrency);
+    this.waitingCapacity = Math.max(0, waitingCapacity);
+    this.taskDecorator = taskDecorator;
+  }
+
+  /**
+   * @return whether the running JVM supports virtual threads
+   */
+  public static boolean isSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    Runnable decorated = taskDecorator != null ? taskDecorator.decorate(task) : task;
+    if (permits.tryAcquire()) {
+      try {
+        start(() -> runAndRelease(decorated));
+      } catch (RuntimeException | Error e) {
+        // the task never runs, so it never releases its permit
+        permits.release();
+        throw e;
+      }
+      return;
+    }
+
+    if (waiting.incrementAndGet() > waitingCapacity) {
+      waiting.decrementAndGet();
+      throw new TaskRejectedException("Executor [" + this + "] did not accept task: " + task
+          + ", " + permits.availablePermits() + " permits available and "
+          + waitingCapacity + " tasks already waiting");
+    }
+    try {
+      start(() -> {
+        try {
+          permits.acquireUninterruptibly();
+        } finally {
+          waiting.decrementAndGet();
+        }
+        runAndRelease(decorated);
+      });
+    } catch (RuntimeException | Error e) {
+      waiting.decrementAndGet();
+      throw e;
+    }
+  }
+
+  @Override
+  public void execute(Runnable task, long startTimeout) {
+    execute(task);
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    FutureTask<Object> future = new FutureTask<>(task, null);
+    execute(future);
+    return future;
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    FutureTask<T> future = new FutureTask<>(task);
+    execute(future);
+    return future;
+  }
+
+  /**
+   * @return number of tasks waiting for a running slot
+   */
+  public int getWaitingCount() {
+    return waiting.get();
+  }
+
+  private void start(Runnable runnable) {
+    threadFactory.newThread(runnable).start();
+  }
+
+  private void runAndRelease(Runnable task) {
+    try {
+      task.run();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+    // Thread.ofVirtual() is looked up at runtime as the SDK is compiled for Java 8
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Method name = builderClass.getMethod("name", String.class, long.class);
+      builder = name.invoke(builder, threadNamePrefix, 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Virtual threads are not supported by this JVM", e);
+    }
+  }
+
+}
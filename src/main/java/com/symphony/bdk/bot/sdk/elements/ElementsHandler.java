@@ -12,6 +12,9 @@ import com.symphony.bdk.bot.sdk.event.BaseEventHandler;
 import com.symphony.bdk.bot.sdk.event.EventDispatcher;
 import com.symphony.bdk.bot.sdk.event.model.SymphonyElementsEvent;
 import com.symphony.bdk.bot.sdk.feature.FeatureManager;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Outcome;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Type;
 import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
 import com.symphony.bdk.bot.sdk.symphony.UsersClient;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
@@ -38,6 +41,7 @@ public abstract class ElementsHandler implements
   private MessageClientImpl messageClient;
   private FeatureManager featureManager;
   private UsersClient usersClient;
+  private HandlerMetrics handlerMetrics;
 
   private void register() {
     init();
@@ -60,6 +64,7 @@ public abstract class ElementsHandler implements
   public void onCommand(BotCommand command) {
     LOGGER.debug("Received command to display elements form {}", command.getMessageEvent());
 
+    final long start = System.nanoTime();
     final SymphonyMessage elementsResponse = new SymphonyMessage();
     try {
       displayElements(command, elementsResponse);
@@ -67,9 +72,12 @@ public abstract class ElementsHandler implements
       if (elementsResponse.hasContent()) {
         messageClient._sendMessage(command.getMessageEvent().getStreamId(), elementsResponse);
       }
+      recordMetrics(Type.ELEMENTS_COMMAND, start,
+          elementsResponse.hasContent() ? Outcome.OK : Outcome.NO_RESPONSE);
 
     } catch (Exception e) {
       LOGGER.error("Error processing command {}\n{}", getCommandName(), e);
+      recordMetrics(Type.ELEMENTS_COMMAND, start, Outcome.ERROR);
       if (featureManager.unexpectedErrorResponse() != null) {
         messageClient._sendMessage(command.getMessageEvent().getStreamId(),
             new SymphonyMessage(featureManager.unexpectedErrorResponse()));
@@ -84,17 +92,21 @@ public abstract class ElementsHandler implements
   public void onEvent(SymphonyElementsEvent event) {
     LOGGER.debug("Received action for elements form: {}", event.getFormId());
 
+    final long start = System.nanoTime();
     final SymphonyMessage eventResponse = new SymphonyMessage();
     try {
       handleAction(event, eventResponse);
 
-      if (eventResponse.hasContent()
-          && featureManager.isCommandFeedbackEnabled()) {
+      boolean respond = eventResponse.hasContent()
+          && featureManager.isCommandFeedbackEnabled();
+      if (respond) {
         messageClient._sendMessage(event.getStreamId(), eventResponse);
       }
+      recordMetrics(Type.ELEMENTS_ACTION, start, respond ? Outcome.OK : Outcome.NO_RESPONSE);
 
     } catch (Exception e) {
       LOGGER.error("Error processing elements action {}", e);
+      recordMetrics(Type.ELEMENTS_ACTION, start, Outcome.ERROR);
       if (featureManager.unexpectedErrorResponse() != null) {
         messageClient._sendMessage(event.getStreamId(),
             new SymphonyMessage(featureManager.unexpectedErrorResponse()));
@@ -106,6 +118,12 @@ public abstract class ElementsHandler implements
     return this.getClass().getCanonicalName();
   }
 
+  private void recordMetrics(Type type, long start, Outcome outcome) {
+    if (handlerMetrics != null) {
+      handlerMetrics.record(type, this, start, outcome);
+    }
+  }
+
   protected String getBotName() {
     return usersClient.getBotDisplayName();
   }
@@ -38,6 +38,7 @@ public class ElementsBeanFactoryProcessor extends BaseBeanFactoryPostProcessor {
           .addPropertyReference("messageClient", "messageClientImpl")
           .addPropertyReference("featureManager", "featureManager")
           .addPropertyReference("usersClient", "usersClientImpl")
+          .addPropertyReference("handlerMetrics", "handlerMetrics")
           .addPropertyReference("eventDispatcher", "eventDispatcherImpl")
           .getBeanDefinition();
 
@@ -0,0 +1,89 @@
+package com.symphony.bdk.bot.sdk.event;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.symphony.bdk.bot.sdk.commons.LongHashSet;
+import com.symphony.bdk.bot.sdk.event.config.DedupProps;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Detects datafeed events received more than once (e.g. after a datafeed
+ * reconnection) by remembering the IDs of the events received during a given
+ * time window.
+ * <p>
+ * IDs are stored as 64-bit fingerprints in two generations of
+ * {@link LongHashSet}. The current generation becomes the previous one when the
+ * window elapses or when it is full, so an ID is remembered for one to two
+ * windows and memory stays bounded whatever the datafeed throughput.
+ */
+@Component
+public class DuplicateEventFilter {
+
+  private static final String METRIC_NAME = "symphony_bot_duplicate_events";
+  private static final String METRIC_DESCRIPTION = "Datafeed events dropped as duplicates";
+
+  private static final HashFunction FINGERPRINT = Hashing.murmur3_128();
+
+  private final boolean enabled;
+  private final long window;
+  private final int maxEntries;
+  private final Counter duplicates;
+
+  private LongHashSet current = new LongHashSet();
+  private LongHashSet previous = new LongHashSet();
+  private long rotatedAt = System.currentTimeMillis();
+
+  public DuplicateEventFilter(DedupProps dedupProps, MeterRegistry meterRegistry) {
+    this.enabled = dedupProps.isEnabled();
+    this.window = dedupProps.getWindow();
+    this.maxEntries = dedupProps.getMaxEntries();
+    this.duplicates = Counter.builder(METRIC_NAME)
+        .description(METRIC_DESCRIPTION)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Records an event ID, telling whether it was already received.
+   *
+   * @param eventId the event ID
+   * @return true if the ID was already received during the dedup window
+   */
+  public boolean isDuplicate(String eventId) {
+    if (!enabled || eventId == null) {
+      return false;
+    }
+
+    long fingerprint = FINGERPRINT.hashString(eventId, StandardCharsets.UTF_8).asLong();
+    boolean duplicate;
+    synchronized (this) {
+      rotateIfNeeded();
+      duplicate = previous.contains(fingerprint) || !current.add(fingerprint);
+    }
+
+    if (duplicate) {
+      duplicates.increment();
+    }
+    return duplicate;
+  }
+
+  private void rotateIfNeeded() {
+    long now = System.currentTimeMillis();
+    if (now - rotatedAt >= window || current.size() >= maxEntries) {
+      LongHashSet recycled = previous;
+      previous = current;
+      if (now - rotatedAt >= 2 * window) {
+        // nothing was received during the last window
+        previous.clear();
+      }
+      recycled.clear();
+      current = recycled;
+      rotatedAt = now;
+    }
+  }
+
+}
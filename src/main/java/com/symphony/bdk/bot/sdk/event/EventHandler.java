@@ -6,6 +6,9 @@ import org.springframework.core.ResolvableType;
 
 import com.symphony.bdk.bot.sdk.event.model.BaseEvent;
 import com.symphony.bdk.bot.sdk.feature.FeatureManager;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Outcome;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Type;
 import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
 
@@ -28,6 +31,8 @@ public abstract class EventHandler<E extends BaseEvent> implements BaseEventHand
 
   private FeatureManager featureManager;
 
+  private HandlerMetrics handlerMetrics;
+
   private void register() {
     init();
     ResolvableType type = ResolvableType.forRawClass(this.getClass());
@@ -49,17 +54,27 @@ public abstract class EventHandler<E extends BaseEvent> implements BaseEventHand
   public void onEvent(E event) {
     LOGGER.debug("Received event for stream: {}", event.getStreamId());
 
+    final long start = System.nanoTime();
     final SymphonyMessage eventResponse = new SymphonyMessage();
     try {
       handle(event, eventResponse);
 
-      if (eventResponse.hasContent()
-          && featureManager.isCommandFeedbackEnabled()) {
+      boolean respond = eventResponse.hasContent()
+          && featureManager.isCommandFeedbackEnabled();
+      if (respond) {
         messageClient._sendMessage(event.getStreamId(), eventResponse);
       }
+      recordMetrics(start, respond ? Outcome.OK : Outcome.NO_RESPONSE);
 
     } catch (Exception e) {
       LOGGER.error("Error processing event {}", e);
+      recordMetrics(start, Outcome.ERROR);
+    }
+  }
+
+  private void recordMetrics(long start, Outcome outcome) {
+    if (handlerMetrics != null) {
+      handlerMetrics.record(Type.EVENT, this, start, outcome);
     }
   }
 
@@ -46,10 +46,13 @@ public class EventListener implements IMListener, RoomListener, ElementsListener
 
   private InternalEventListener internalEventListener;
 
-  public EventListener(
-      DatafeedClient datafeedClient, InternalEventListenerImpl internalEventListener) {
+  private DuplicateEventFilter duplicateEventFilter;
+
+  public EventListener(DatafeedClient datafeedClient,
+      InternalEventListenerImpl internalEventListener, DuplicateEventFilter duplicateEventFilter) {
     this.datafeedClient = datafeedClient;
     this.internalEventListener = internalEventListener;
+    this.duplicateEventFilter = duplicateEventFilter;
 
     this.datafeedClient.registerIMListener(this);
     this.datafeedClient.registerRoomListener(this);
@@ -59,20 +62,28 @@ public class EventListener implements IMListener, RoomListener, ElementsListener
   @Override
   public void onRoomMessage(InboundMessage message) {
     LOGGER.debug("onRoomMessage");
+    if (duplicateEventFilter.isDuplicate(message.getMessageId())) {
+      LOGGER.info("Dropping duplicate room message {}", message.getMessageId());
+      return;
+    }
     try {
       internalEventListener.onRoomMessage(new MessageEvent(message));
     } catch (Exception e) {
-      LOGGER.warn("Received invalid room message");
+      LOGGER.warn("Could not handle room message", e);
     }
   }
 
   @Override
   public void onIMMessage(InboundMessage message) {
     LOGGER.debug("onIMMessage");
+    if (duplicateEventFilter.isDuplicate(message.getMessageId())) {
+      LOGGER.info("Dropping duplicate IM message {}", message.getMessageId());
+      return;
+    }
     try {
       internalEventListener.onIMMessage(new MessageEvent(message));
     } catch (Exception e) {
-      LOGGER.warn("Received invalid IM message");
+      LOGGER.warn("Could not handle IM message", e);
     }
   }
 
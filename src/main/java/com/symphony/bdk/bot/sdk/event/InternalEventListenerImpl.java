@@ -16,6 +16,7 @@ import com.symphony.bdk.bot.sdk.event.model.RoomUpdatedEvent;
 import com.symphony.bdk.bot.sdk.event.model.SymphonyElementsEvent;
 import com.symphony.bdk.bot.sdk.event.model.UserJoinedRoomEvent;
 import com.symphony.bdk.bot.sdk.event.model.UserLeftRoomEvent;
+import com.symphony.bdk.bot.sdk.symphony.RoomStateListener;
 
 @Service
 public class InternalEventListenerImpl implements InternalEventListener {
@@ -25,9 +26,13 @@ public class InternalEventListenerImpl implements InternalEventListener {
 
   private EventDispatcher eventDispatcher;
 
-  public InternalEventListenerImpl(CommandFilter commandFilter, EventDispatcher eventDispatcher) {
+  private RoomStateListener roomStateListener;
+
+  public InternalEventListenerImpl(CommandFilter commandFilter, EventDispatcher eventDispatcher,
+      RoomStateListener roomStateListener) {
     this.commandFilter = commandFilter;
     this.eventDispatcher = eventDispatcher;
+    this.roomStateListener = roomStateListener;
   }
 
   /**
@@ -63,6 +68,7 @@ public class InternalEventListenerImpl implements InternalEventListener {
   @Override
   public void onRoomReactivated(RoomReactivatedEvent event) {
     LOGGER.debug("Room {} has been reactivated", event.getStreamId());
+    roomStateListener.onRoomReactivated(event);
     eventDispatcher.push(event.getClass().getCanonicalName(), event);
   }
 
@@ -72,6 +78,7 @@ public class InternalEventListenerImpl implements InternalEventListener {
   @Override
   public void onRoomDeactivated(RoomDeactivatedEvent event) {
     LOGGER.debug("Room {} has been deactivated", event.getStreamId());
+    roomStateListener.onRoomDeactivated(event);
     eventDispatcher.push(event.getClass().getCanonicalName(), event);
   }
 
@@ -81,6 +88,7 @@ public class InternalEventListenerImpl implements InternalEventListener {
   @Override
   public void onRoomUpdated(RoomUpdatedEvent event) {
     LOGGER.debug("Room {} has been updated", event.getStreamId());
+    roomStateListener.onRoomUpdated(event);
     eventDispatcher.push(event.getClass().getCanonicalName(), event);
   }
 
@@ -100,6 +108,7 @@ public class InternalEventListenerImpl implements InternalEventListener {
   public void onRoomMemberDemotedFromOwner(RoomMemberDemotedFromOwnerEvent event) {
     LOGGER.debug("Room member {} has been demoted from owner in room {}",
         event.getUserId(), event.getStreamId());
+    roomStateListener.onRoomMemberDemotedFromOwner(event);
     eventDispatcher.push(event.getClass().getCanonicalName(), event);
   }
 
@@ -110,6 +119,7 @@ public class InternalEventListenerImpl implements InternalEventListener {
   public void onRoomMemberPromotedToOwner(RoomMemberPromotedToOwnerEvent event) {
     LOGGER.debug("Room member {} has been promoted to owner in room {}",
         event.getUserId(), event.getStreamId());
+    roomStateListener.onRoomMemberPromotedToOwner(event);
     eventDispatcher.push(event.getClass().getCanonicalName(), event);
   }
 
@@ -119,6 +129,7 @@ public class InternalEventListenerImpl implements InternalEventListener {
   @Override
   public void onUserJoinedRoom(UserJoinedRoomEvent event) {
     LOGGER.debug("User {} joined room {}", event.getUserId(), event.getStreamId());
+    roomStateListener.onUserJoinedRoom(event);
     eventDispatcher.push(event.getClass().getCanonicalName(), event);
   }
 
@@ -128,6 +139,7 @@ public class InternalEventListenerImpl implements InternalEventListener {
   @Override
   public void onUserLeftRoom(UserLeftRoomEvent event) {
     LOGGER.debug("User {} left room {}", event.getUserId(), event.getStreamId());
+    roomStateListener.onUserLeftRoom(event);
     eventDispatcher.push(event.getClass().getCanonicalName(), event);
   }
 
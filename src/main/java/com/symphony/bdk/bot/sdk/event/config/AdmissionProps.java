@@ -0,0 +1,27 @@
+package com.symphony.bdk.bot.sdk.event.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.symphony.bdk.bot.sdk.commons.AdmissionPolicy;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "concurrency.bot.admission")
+public class AdmissionProps {
+
+  private AdmissionPolicy policy = AdmissionPolicy.REJECT;
+
+  private Integer capacity;
+
+  private Integer eventCapacity;
+
+  private String busyMessage;
+
+  private long busyReplyInterval = 60000;
+
+}
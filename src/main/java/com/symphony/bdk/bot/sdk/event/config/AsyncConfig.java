@@ -1,14 +1,28 @@
 package com.symphony.bdk.bot.sdk.event.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.symphony.bdk.bot.sdk.commons.AdmissionController;
+import com.symphony.bdk.bot.sdk.commons.AdmissionController.Priority;
+import com.symphony.bdk.bot.sdk.commons.AdmissionPolicy;
 import com.symphony.bdk.bot.sdk.commons.MDCTaskDecorator;
+import com.symphony.bdk.bot.sdk.commons.PoolMode;
+import com.symphony.bdk.bot.sdk.commons.StreamOrderedExecutor;
+import com.symphony.bdk.bot.sdk.commons.VirtualThreadExecutor;
+import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Defines thread pool configuration to run event and command handlers
@@ -21,28 +35,156 @@ import com.symphony.bdk.bot.sdk.commons.MDCTaskDecorator;
 @EnableAsync
 public class AsyncConfig {
   private static final Logger LOGGER = LoggerFactory.getLogger(AsyncConfig.class);
+  private static final String STREAM_ID = "streamId";
 
   private final BotPoolProps poolProps;
 
-  public AsyncConfig(BotPoolProps poolProps) {
+  private final AdmissionProps admissionProps;
+
+  private final MeterRegistry meterRegistry;
+
+  private final MessageClientImpl messageClient;
+
+  private final Cache<String, Boolean> recentBusyReplies;
+
+  public AsyncConfig(BotPoolProps poolProps, AdmissionProps admissionProps,
+      MeterRegistry meterRegistry, MessageClientImpl messageClient) {
     this.poolProps = poolProps;
+    this.admissionProps = admissionProps;
+    this.meterRegistry = meterRegistry;
+    this.messageClient = messageClient;
+    this.recentBusyReplies = CacheBuilder.newBuilder()
+        .expireAfterWrite(admissionProps.getBusyReplyInterval(), TimeUnit.MILLISECONDS)
+        .build();
   }
 
   /**
-   * ThreadPoolExecutor to handle events and commands in asynchronously
+   * Executor to handle events asynchronously. Events are shed first when the
+   * bot is overloaded.
    * @return {@link Executor}
    */
   @Bean(name="botTaskExecutor")
   public Executor botTaskExecutor() {
+    return botAdmissionController().executor(Priority.EVENT);
+  }
+
+  /**
+   * Executor to handle commands asynchronously. Shares the bot thread pool
+   * with {@link #botTaskExecutor()} but with a higher priority.
+   * @return {@link Executor}
+   */
+  @Bean(name="botCommandExecutor")
+  public Executor botCommandExecutor() {
+    return botAdmissionController().executor(Priority.COMMAND);
+  }
+
+  /**
+   * Admission control applied to commands and events before they reach the
+   * bot thread pool
+   * @return {@link AdmissionController}
+   */
+  @Bean
+  public AdmissionController botAdmissionController() {
+    int capacity = admissionProps.getCapacity() != null
+        ? admissionProps.getCapacity() : defaultCapacity();
+    int eventCapacity = admissionProps.getEventCapacity() != null
+        ? admissionProps.getEventCapacity() : capacity * 4 / 5;
+    AdmissionPolicy policy = admissionProps.getPolicy();
+    if (policy == AdmissionPolicy.CALLER_RUNS && poolProps.getMode() == PoolMode.ORDERED) {
+      // a task run by the datafeed thread would overtake the tasks queued in its lane
+      LOGGER.warn("Admission policy caller-runs breaks the stream order in ordered mode, "
+          + "rejecting tasks instead");
+      policy = AdmissionPolicy.REJECT;
+    }
+    LOGGER.info("Initializing bot admission control with policy {}, capacity {} ({} for events)",
+        policy, capacity, eventCapacity);
+    return new AdmissionController(botTaskPool(), policy, capacity, eventCapacity,
+        this::onRejected, meterRegistry);
+  }
+
+  /**
+   * ThreadPoolExecutor to handle events and commands in asynchronously. Its
+   * queue is not bounded since {@link #botAdmissionController()} bounds the
+   * number of tasks submitted to it: tasks dropped by the admission control
+   * stay queued until skipped, so that the newest tasks are not rejected.
+   * <p>
+   * As a pool with an unbounded queue never grows past its core size, up to
+   * max-size threads are started and core-size only tells how many of them
+   * are kept when idle: the threads above it stop after the keep-alive time.
+   * @return {@link Executor}
+   */
+  @Bean(name="botTaskPool")
+  public Executor botTaskPool() {
+    if (poolProps.getMode() == PoolMode.ORDERED) {
+      return orderedExecutor();
+    }
+    if (poolProps.getMode() == PoolMode.VIRTUAL) {
+      if (VirtualThreadExecutor.isSupported()) {
+        return virtualExecutor();
+      }
+      LOGGER.warn("Virtual threads require Java 21, falling back to shared bot thread pool");
+    }
+
     LOGGER.info("Initializing bot thread pool");
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(poolProps.getCoreSize());
+    // threads above the core size are only started when the queue is full,
+    // which an unbounded queue never is: core-size bounds the idle threads
+    executor.setCorePoolSize(poolProps.getMaxSize());
     executor.setMaxPoolSize(poolProps.getMaxSize());
-    executor.setQueueCapacity(poolProps.getQueueCapacity());
+    executor.setAllowCoreThreadTimeOut(poolProps.getCoreSize() < poolProps.getMaxSize());
+    executor.setQueueCapacity(Integer.MAX_VALUE);
     executor.setThreadNamePrefix(poolProps.getThreadNamePrefix());
     executor.setTaskDecorator(new MDCTaskDecorator());
     executor.initialize();
     return executor;
   }
 
+  private int defaultCapacity() {
+    if (poolProps.getMode() == PoolMode.VIRTUAL && poolProps.getMaxConcurrency() != null) {
+      return poolProps.getMaxConcurrency() + poolProps.getQueueCapacity();
+    }
+    return poolProps.getMaxSize() + poolProps.getQueueCapacity();
+  }
+
+  /**
+   * Replies to a rejected command, at most once per stream in the busy reply
+   * interval. The reply is sent by the message thread pool so that the
+   * datafeed thread does not wait for Symphony while the bot is overloaded.
+   */
+  private void onRejected(Priority priority) {
+    String streamId = MDC.get(STREAM_ID);
+    if (priority == Priority.COMMAND && streamId != null
+        && admissionProps.getBusyMessage() != null
+        && recentBusyReplies.asMap().putIfAbsent(streamId, Boolean.TRUE) == null) {
+      messageClient.sendMessageAsync(streamId,
+          new SymphonyMessage(admissionProps.getBusyMessage()))
+          .whenComplete((result, e) -> {
+            if (e != null) {
+              LOGGER.warn("Could not send busy message to stream {}", streamId, e);
+            }
+          });
+    }
+  }
+
+  private Executor orderedExecutor() {
+    int lanes = poolProps.getLanes() != null
+        ? poolProps.getLanes() : Runtime.getRuntime().availableProcessors();
+    LOGGER.info("Initializing bot ordered thread pool with {} lanes", lanes);
+    // bounded by the admission control, see botTaskPool()
+    StreamOrderedExecutor executor = new StreamOrderedExecutor(lanes, Integer.MAX_VALUE,
+        poolProps.getThreadNamePrefix(), new MDCTaskDecorator());
+    executor.registerMetrics(meterRegistry);
+    return executor;
+  }
+
+  private Executor virtualExecutor() {
+    int maxConcurrency = poolProps.getMaxConcurrency() != null
+        ? poolProps.getMaxConcurrency() : poolProps.getMaxSize();
+    LOGGER.info("Initializing bot virtual thread executor with max concurrency {}",
+        maxConcurrency);
+    // bounded by the admission control, see botTaskPool()
+    return new VirtualThreadExecutor(poolProps.getThreadNamePrefix(), maxConcurrency,
+        Integer.MAX_VALUE, new MDCTaskDecorator());
+  }
+
 }
@@ -2,6 +2,9 @@ package com.symphony.bdk.bot.sdk.event.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+
+import com.symphony.bdk.bot.sdk.commons.PoolMode;
+
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -19,4 +22,10 @@ public class BotPoolProps {
 
   private String threadNamePrefix;
 
+  private PoolMode mode = PoolMode.SHARED;
+
+  private Integer lanes;
+
+  private Integer maxConcurrency;
+
 }
@@ -0,0 +1,21 @@
+package com.symphony.bdk.bot.sdk.event.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "datafeed.dedup")
+public class DedupProps {
+
+  private boolean enabled = true;
+
+  private long window = 600000;
+
+  private int maxEntries = 200000;
+
+}
@@ -36,6 +36,7 @@ public class EventBeanFactoryProcessor extends BaseBeanFactoryPostProcessor {
           .addPropertyReference("eventDispatcher", "eventDispatcherImpl")
           .addPropertyReference("messageClient", "messageClientImpl")
           .addPropertyReference("featureManager", "featureManager")
+          .addPropertyReference("handlerMetrics", "handlerMetrics")
           .getBeanDefinition();
 
       beanDefinitionRegistry.registerBeanDefinition(
@@ -1,17 +1,42 @@
 package com.symphony.bdk.bot.sdk.event.model;
 
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.google.common.io.ByteStreams;
+
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import model.FileAttachment;
 
 /**
- * Symphony message attachment file
+ * Symphony message attachment file. The content of large attachments is
+ * spooled to a temporary file instead of being held in memory: use
+ * {@link #openStream()} to read it and {@link #close()} to delete the
+ * temporary file once done.
  */
 @Data
-public class MessageAttachmentFile {
+public class MessageAttachmentFile implements Closeable {
+
+  private static final String DEFAULT_FILE_NAME = "attachment";
+  private static final String SPOOL_PREFIX = "attachment";
 
   private byte[] fileContent;
   private String fileName;
   private Long size;
+  private File file;
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean temporary;
 
   public MessageAttachmentFile(FileAttachment attachment) {
     this.fileContent = attachment.getFileContent();
@@ -19,4 +44,146 @@ public class MessageAttachmentFile {
     this.size = attachment.getSize();
   }
 
+  public MessageAttachmentFile(String fileName, byte[] fileContent) {
+    this.fileContent = fileContent;
+    this.fileName = fileName;
+    this.size = (long) fileContent.length;
+  }
+
+  /**
+   * Creates an attachment whose content is read from a file, e.g. to upload
+   * a file without loading it in memory.
+   *
+   * @param fileName the attachment name
+   * @param file the attachment content, named after the attachment
+   */
+  public MessageAttachmentFile(String fileName, File file) {
+    this.fileName = fileName;
+    this.file = file;
+    this.size = file.length();
+  }
+
+  /**
+   * Creates an attachment from content already in memory, spooled to a
+   * temporary file if larger than the given threshold.
+   *
+   * @param fileName the attachment name
+   * @param content the attachment content
+   * @param spoolThreshold size (in bytes) above which the content is spooled
+   * @param spoolDirectory where temporary files are created, null for the
+   *        default temporary directory
+   * @return the attachment
+   * @throws IOException on error writing the temporary file
+   */
+  public static MessageAttachmentFile of(String fileName, byte[] content, long spoolThreshold,
+      Path spoolDirectory) throws IOException {
+    if (content.length <= spoolThreshold) {
+      return new MessageAttachmentFile(fileName, content);
+    }
+    return spool(fileName, content, null, spoolDirectory);
+  }
+
+  /**
+   * Creates an attachment from a stream, spooled to a temporary file if
+   * larger than the given threshold. Only up to the threshold is read in
+   * memory.
+   *
+   * @param fileName the attachment name
+   * @param content the attachment content, not closed
+   * @param spoolThreshold size (in bytes) above which the content is spooled
+   * @param spoolDirectory where temporary files are created, null for the
+   *        default temporary directory
+   * @return the attachment
+   * @throws IOException on error reading the stream or writing the temporary
+   *         file
+   */
+  public static MessageAttachmentFile of(String fileName, InputStream content,
+      long spoolThreshold, Path spoolDirectory) throws IOException {
+    int limit = (int) Math.min(spoolThreshold + 1, Integer.MAX_VALUE - 8);
+    byte[] head = ByteStreams.toByteArray(ByteStreams.limit(content, limit));
+    if (head.length <= spoolThreshold) {
+      return new MessageAttachmentFile(fileName, head);
+    }
+    return spool(fileName, head, content, spoolDirectory);
+  }
+
+  private static MessageAttachmentFile spool(String fileName, byte[] head, InputStream rest,
+      Path spoolDirectory) throws IOException {
+    // the file is named after the attachment, as it is uploaded under its file name
+    Path directory = spoolDirectory != null
+        ? Files.createTempDirectory(spoolDirectory, SPOOL_PREFIX)
+        : Files.createTempDirectory(SPOOL_PREFIX);
+    Path spooled = directory.resolve(safeFileName(fileName));
+    try (OutputStream out = Files.newOutputStream(spooled)) {
+      out.write(head);
+      if (rest != null) {
+        ByteStreams.copy(rest, out);
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(spooled);
+      Files.deleteIfExists(directory);
+      throw e;
+    }
+
+    MessageAttachmentFile attachment = new MessageAttachmentFile(fileName, spooled.toFile());
+    attachment.temporary = true;
+    return attachment;
+  }
+
+  private static String safeFileName(String fileName) {
+    Path name = fileName != null ? Paths.get(fileName).getFileName() : null;
+    return name != null ? name.toString() : DEFAULT_FILE_NAME;
+  }
+
+  /**
+   * @return whether the content is held in a file rather than in memory
+   */
+  public boolean isSpooled() {
+    return file != null;
+  }
+
+  /**
+   * Opens a stream on the attachment content, without loading it in memory
+   * when spooled to a file.
+   *
+   * @return the content stream, to be closed by the caller
+   * @throws IOException on error opening the file
+   */
+  public InputStream openStream() throws IOException {
+    if (file != null) {
+      return Files.newInputStream(file.toPath());
+    }
+    return new ByteArrayInputStream(fileContent != null ? fileContent : new byte[0]);
+  }
+
+  /**
+   * Returns the attachment content, read from its file when spooled. Prefer
+   * {@link #openStream()} for large attachments.
+   *
+   * @return the content
+   */
+  public byte[] getFileContent() {
+    if (file != null) {
+      try {
+        return Files.readAllBytes(file.toPath());
+      } catch (IOException e) {
+        throw new IllegalStateException("Could not read attachment file " + file, e);
+      }
+    }
+    return fileContent;
+  }
+
+  /**
+   * Deletes the temporary file the content was spooled to, if any. Files
+   * given by the caller are left untouched.
+   */
+  @Override
+  public void close() throws IOException {
+    if (temporary) {
+      Files.deleteIfExists(file.toPath());
+      Files.deleteIfExists(file.getParentFile().toPath());
+      temporary = false;
+    }
+  }
+
 }
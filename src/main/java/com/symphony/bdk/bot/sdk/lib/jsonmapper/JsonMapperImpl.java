@@ -1,16 +1,22 @@
 package com.symphony.bdk.bot.sdk.lib.jsonmapper;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.CharArrayWriter;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Jackson-based implementation of the {@link JsonMapper}
+ * Jackson-based implementation of the {@link JsonMapper}. Object writers are
+ * cached per entity class and enricher data is generated in a single pass.
  *
  * @author Marcus Secato
  *
@@ -19,8 +25,15 @@ public class JsonMapperImpl implements JsonMapper {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JsonMapperImpl.class);
 
+  private static final int MAX_RETAINED_PAYLOAD_SIZE = 64 * 1024;
+
+  private static final ThreadLocal<PayloadWriter> PAYLOAD_WRITERS =
+      ThreadLocal.withInitial(PayloadWriter::new);
+
   private ObjectMapper objectMapper;
 
+  private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
   public JsonMapperImpl(ObjectMapper objectMapper) {
     this.objectMapper = objectMapper;
   }
@@ -31,7 +44,7 @@ public class JsonMapperImpl implements JsonMapper {
   @Override
   public String toJsonString(Object entity) {
     try {
-      return objectMapper.writeValueAsString(entity);
+      return writerFor(entity).writeValueAsString(entity);
     } catch (JsonProcessingException jpe) {
       LOGGER.error("Error serializing to JSON\n{}", jpe);
       throw new JsonMapperException();
@@ -44,14 +57,29 @@ public class JsonMapperImpl implements JsonMapper {
   @Override
   public String toEnricherString(String entityName, Object entity,
       String version) {
-    ObjectNode parent = objectMapper.createObjectNode();
-    ObjectNode description = new ObjectMapper().createObjectNode();
-    description.put("type", entityName);
-    description.put("version", version);
-    description.put("payload", toJsonString(entity));
-    parent.set(entityName, description);
-
-    return parent.toString();
+    // the payload is sent as a JSON string, for extension applications to parse
+    PayloadWriter payload = PAYLOAD_WRITERS.get();
+    StringWriter enricher = new StringWriter();
+    try {
+      writerFor(entity).writeValue(payload, entity);
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(enricher)) {
+        generator.writeStartObject();
+        generator.writeObjectFieldStart(entityName);
+        generator.writeStringField("type", entityName);
+        generator.writeStringField("version", version);
+        generator.writeFieldName("payload");
+        generator.writeString(payload.chars(), 0, payload.size());
+        generator.writeEndObject();
+        generator.writeEndObject();
+      }
+    } catch (IOException ioe) {
+      LOGGER.error("Error serializing enricher data to JSON\n{}", ioe);
+      throw new JsonMapperException();
+    } finally {
+      payload.release();
+    }
+
+    return enricher.toString();
   }
 
   /**
@@ -73,4 +101,30 @@ public class JsonMapperImpl implements JsonMapper {
       throw new JsonMapperException();
     }
   }
+
+  private ObjectWriter writerFor(Object entity) {
+    if (entity == null) {
+      return objectMapper.writer();
+    }
+    return writers.computeIfAbsent(entity.getClass(), objectMapper::writerFor);
+  }
+
+  /**
+   * Per-thread buffer the enricher payload is serialized into, read without
+   * copying it into an intermediate string
+   */
+  private static class PayloadWriter extends CharArrayWriter {
+
+    char[] chars() {
+      return buf;
+    }
+
+    void release() {
+      if (buf.length > MAX_RETAINED_PAYLOAD_SIZE) {
+        PAYLOAD_WRITERS.remove();
+      } else {
+        reset();
+      }
+    }
+  }
 }
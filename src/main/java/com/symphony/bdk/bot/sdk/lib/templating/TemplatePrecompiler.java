@@ -0,0 +1,241 @@
+package com.symphony.bdk.bot.sdk.lib.templating;
+
+import com.github.jknack.handlebars.io.TemplateLoader;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles all the template files found in the template directory at startup,
+ * so that the first message using a template does not pay its compile cost.
+ * <p>
+ * Templates are compiled in parallel, in the background once the application
+ * is ready, so that {@link #isReady()} tells whether the warmup is over. A
+ * malformed template stops the application.
+ */
+public class TemplatePrecompiler implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TemplatePrecompiler.class);
+
+  private final boolean enabled;
+
+  private final int parallelism;
+
+  private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+  private volatile TemplateServiceImpl templateService;
+
+  private volatile TemplateLoader loader;
+
+  private volatile boolean done;
+
+  private volatile Exception failure;
+
+  private volatile int templateCount;
+
+  private volatile long duration;
+
+  /**
+   * @param enabled whether templates are compiled at startup
+   * @param parallelism number of templates compiled at the same time
+   */
+  public TemplatePrecompiler(boolean enabled, int parallelism) {
+    this.enabled = enabled;
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  /**
+   * Sets the template service whose template files are compiled once the
+   * application is ready.
+   *
+   * @param templateService the template service caching the compiled templates
+   * @param loader the loader used by the template engine
+   */
+  public void register(TemplateServiceImpl templateService, TemplateLoader loader) {
+    this.templateService = templateService;
+    this.loader = loader;
+  }
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    warmUp().whenComplete((result, error) -> {
+      if (error != null) {
+        LOGGER.error("Stopping the application, template files could not be compiled", error);
+        SpringApplication.exit(event.getApplicationContext());
+      }
+    });
+  }
+
+  /**
+   * Compiles the template files of the registered template service on a
+   * background thread. Nothing is compiled if no template service is
+   * registered.
+   *
+   * @return a future completed once the templates are compiled, or failed if
+   *         a template cannot be compiled
+   */
+  public CompletableFuture<Void> warmUp() {
+    TemplateServiceImpl service = templateService;
+    if (!enabled || service == null) {
+      done = true;
+      return CompletableFuture.completedFuture(null);
+    }
+
+    ExecutorService executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("template-warmup").setDaemon(true).build());
+    CompletableFuture<Void> warmup = new CompletableFuture<>();
+    executor.execute(() -> {
+      try {
+        precompile(service, loader);
+        warmup.complete(null);
+      } catch (RuntimeException e) {
+        failure = e;
+        warmup.completeExceptionally(e);
+      }
+    });
+    // the warmup still runs, no other task is accepted
+    executor.shutdown();
+    return warmup;
+  }
+
+  /**
+   * Compiles all the template files found by the given loader and caches them
+   * in the template service.
+   *
+   * @param templateService the template service caching the compiled templates
+   * @param loader the loader used by the template engine
+   * @throws IllegalStateException if a template cannot be compiled
+   */
+  public void precompile(TemplateServiceImpl templateService, TemplateLoader loader) {
+    if (!enabled || done) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    Set<String> templateFiles = findTemplateFiles(loader);
+    LOGGER.info("Compiling {} template files", templateFiles.size());
+
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder().setNameFormat("template-precompile-%d").setDaemon(true).build());
+    ExecutorCompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+    try {
+      for (String templateFile : templateFiles) {
+        completionService.submit(() -> compile(templateService, templateFile));
+      }
+      for (int i = 0; i < templateFiles.size(); i++) {
+        waitFor(completionService.take());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while compiling template files", e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    templateCount = templateFiles.size();
+    duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    done = true;
+    LOGGER.info("Compiled {} template files in {} ms", templateCount, duration);
+  }
+
+  /**
+   * @return whether the templates are compiled, or precompilation is disabled
+   */
+  public boolean isReady() {
+    return !enabled || done;
+  }
+
+  /**
+   * @return the error compiling the template files, null if none
+   */
+  public Exception getFailure() {
+    return failure;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return number of template files compiled at startup
+   */
+  public int getTemplateCount() {
+    return templateCount;
+  }
+
+  /**
+   * @return time (in milliseconds) spent compiling the template files
+   */
+  public long getDuration() {
+    return duration;
+  }
+
+  private String compile(TemplateServiceImpl templateService, String templateFile)
+      throws IOException {
+    long start = System.nanoTime();
+    templateService.precompile(templateFile);
+    LOGGER.info("Compiled template file {} in {} ms", templateFile,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return templateFile;
+  }
+
+  private void waitFor(Future<String> future) throws InterruptedException {
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to compile template file", e.getCause());
+    }
+  }
+
+  private Set<String> findTemplateFiles(TemplateLoader loader) {
+    String directory = trimSlashes(loader.getPrefix());
+    String suffix = loader.getSuffix();
+    Set<String> templateFiles = new TreeSet<>();
+    try {
+      for (Resource root : resolver.getResources(
+          ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + directory + "/")) {
+        String rootUrl = root.getURL().toString();
+        if (!rootUrl.endsWith("/")) {
+          rootUrl += "/";
+        }
+        for (Resource resource : resolver.getResources(rootUrl + "**/*" + suffix)) {
+          String url = resource.getURL().toString();
+          templateFiles.add(url.substring(rootUrl.length(), url.length() - suffix.length()));
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to list template files in " + directory, e);
+    }
+    return templateFiles;
+  }
+
+  private static String trimSlashes(String path) {
+    List<String> segments = new ArrayList<>();
+    for (String segment : path.split("/")) {
+      if (!segment.isEmpty()) {
+        segments.add(segment);
+      }
+    }
+    return String.join("/", segments);
+  }
+
+}
@@ -1,5 +1,8 @@
 package com.symphony.bdk.bot.sdk.lib.templating;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Interface which abstracts the underlying templating engine
  *
@@ -26,4 +29,36 @@ public interface TemplateService {
    */
   String processTemplateString(String templateString, Object data);
 
+  /**
+   * Process a template file, writing the content to the given writer instead
+   * of building a string, so that the caller can reuse its buffer
+   *
+   * @param templateFile
+   * @param data
+   * @param writer
+   */
+  default void processTemplateFile(String templateFile, Object data, Writer writer) {
+    try {
+      writer.write(processTemplateFile(templateFile, data));
+    } catch (IOException e) {
+      throw new TemplateProcessingException();
+    }
+  }
+
+  /**
+   * Process a template string, writing the content to the given writer
+   * instead of building a string, so that the caller can reuse its buffer
+   *
+   * @param templateString
+   * @param data
+   * @param writer
+   */
+  default void processTemplateString(String templateString, Object data, Writer writer) {
+    try {
+      writer.write(processTemplateString(templateString, data));
+    } catch (IOException e) {
+      throw new TemplateProcessingException();
+    }
+  }
+
 }
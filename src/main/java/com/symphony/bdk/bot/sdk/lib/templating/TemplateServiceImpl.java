@@ -2,13 +2,26 @@ package com.symphony.bdk.bot.sdk.lib.templating;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 /**
- * Handlebars-based implementation of the {@link TemplateService}
+ * Handlebars-based implementation of the {@link TemplateService}. Compiled
+ * templates are kept in a bounded cache, keyed by file path for template files
+ * and by content hash for template strings.
  *
  * @author Marcus Secato
  */
@@ -16,10 +29,59 @@ public class TemplateServiceImpl implements TemplateService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TemplateServiceImpl.class);
 
+  private static final long DEFAULT_CACHE_SIZE = 500;
+  private static final String CACHE_METRIC_NAME = "symphony_bot_template_cache";
+  private static final String CACHE_METRIC_DESCRIPTION = "Lookups of compiled templates";
+  private static final String EVICTIONS_METRIC_NAME = "symphony_bot_template_cache_evictions";
+  private static final String EVICTIONS_METRIC_DESCRIPTION =
+      "Compiled templates evicted from the cache";
+  private static final String TAG_RESULT = "result";
+
   private Handlebars handlebars;
 
+  private final Cache<Object, CompiledTemplate> templates;
+
+  private final boolean reload;
+
   public TemplateServiceImpl(Handlebars handlebars) {
+    this(handlebars, DEFAULT_CACHE_SIZE, false);
+  }
+
+  /**
+   * @param handlebars the template engine
+   * @param cacheSize maximum number of compiled templates kept, 0 to disable
+   *        the cache
+   * @param reload whether template files are compiled again when modified
+   */
+  public TemplateServiceImpl(Handlebars handlebars, long cacheSize, boolean reload) {
     this.handlebars = handlebars;
+    this.reload = reload;
+    this.templates = cacheSize > 0
+        ? CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build()
+        : null;
+  }
+
+  /**
+   * Registers the hits, misses and evictions of the compiled template cache.
+   *
+   * @param registry the meter registry
+   */
+  public void registerMetrics(MeterRegistry registry) {
+    if (templates == null) {
+      return;
+    }
+    FunctionCounter.builder(CACHE_METRIC_NAME, templates, cache -> cache.stats().hitCount())
+        .description(CACHE_METRIC_DESCRIPTION)
+        .tag(TAG_RESULT, "hit")
+        .register(registry);
+    FunctionCounter.builder(CACHE_METRIC_NAME, templates, cache -> cache.stats().missCount())
+        .description(CACHE_METRIC_DESCRIPTION)
+        .tag(TAG_RESULT, "miss")
+        .register(registry);
+    FunctionCounter.builder(EVICTIONS_METRIC_NAME, templates,
+        cache -> cache.stats().evictionCount())
+        .description(EVICTIONS_METRIC_DESCRIPTION)
+        .register(registry);
   }
 
   /**
@@ -29,7 +91,7 @@ public class TemplateServiceImpl implements TemplateService {
   public String processTemplateFile(String templateFile, Object data) {
     Template template = null;
     try {
-      template = handlebars.compile(templateFile);
+      template = compiledTemplateFile(templateFile);
     } catch (IOException e) {
       LOGGER.error("Failed to compile template file: {}\n{}", templateFile, e);
     }
@@ -43,7 +105,7 @@ public class TemplateServiceImpl implements TemplateService {
   public String processTemplateString(String templateString, Object data) {
     Template template = null;
     try {
-      template = handlebars.compileInline(templateString);
+      template = compiledTemplateString(templateString);
     } catch (IOException e) {
       LOGGER.error("Failed to compile template string: {}\n{}", templateString, e);
     }
@@ -51,6 +113,88 @@ public class TemplateServiceImpl implements TemplateService {
 
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void processTemplateFile(String templateFile, Object data, Writer writer) {
+    Template template = null;
+    try {
+      template = compiledTemplateFile(templateFile);
+    } catch (IOException e) {
+      LOGGER.error("Failed to compile template file: {}\n{}", templateFile, e);
+    }
+    applyDataToTemplate(template, data, writer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void processTemplateString(String templateString, Object data, Writer writer) {
+    Template template = null;
+    try {
+      template = compiledTemplateString(templateString);
+    } catch (IOException e) {
+      LOGGER.error("Failed to compile template string: {}\n{}", templateString, e);
+    }
+    applyDataToTemplate(template, data, writer);
+  }
+
+  /**
+   * Compiles a template file and caches it, so that it is ready for its first
+   * use.
+   *
+   * @param templateFile the template file
+   * @throws IOException if the template file cannot be read
+   * @throws com.github.jknack.handlebars.HandlebarsException if the template
+   *         is malformed
+   */
+  public void precompile(String templateFile) throws IOException {
+    compiledTemplateFile(templateFile);
+  }
+
+  private Template compiledTemplateFile(String templateFile) throws IOException {
+    if (templates == null) {
+      return handlebars.compile(templateFile);
+    }
+
+    long lastModified = reload ? lastModified(templateFile) : 0;
+    CompiledTemplate compiled = cached(templateFile,
+        () -> new CompiledTemplate(handlebars.compile(templateFile), lastModified));
+    if (compiled.lastModified != lastModified) {
+      LOGGER.info("Template file {} modified, compiling it again", templateFile);
+      compiled = new CompiledTemplate(handlebars.compile(templateFile), lastModified);
+      templates.put(templateFile, compiled);
+    }
+    return compiled.template;
+  }
+
+  private Template compiledTemplateString(String templateString) throws IOException {
+    if (templates == null) {
+      return handlebars.compileInline(templateString);
+    }
+
+    HashCode key = Hashing.murmur3_128().hashString(templateString, StandardCharsets.UTF_8);
+    return cached(key,
+        () -> new CompiledTemplate(handlebars.compileInline(templateString), 0)).template;
+  }
+
+  private CompiledTemplate cached(Object key, Callable<CompiledTemplate> compiler)
+      throws IOException {
+    try {
+      return templates.get(key, compiler);
+    } catch (ExecutionException e) {
+      throw (IOException) e.getCause();
+    } catch (UncheckedExecutionException e) {
+      throw (RuntimeException) e.getCause();
+    }
+  }
+
+  private long lastModified(String templateFile) throws IOException {
+    return handlebars.getLoader().sourceAt(templateFile).lastModified();
+  }
+
   private String applyDataToTemplate(Template template, Object data) {
     try {
       return template.apply(data);
@@ -60,4 +204,26 @@ public class TemplateServiceImpl implements TemplateService {
     }
   }
 
+  private void applyDataToTemplate(Template template, Object data, Writer writer) {
+    try {
+      template.apply(data, writer);
+    } catch (IOException e) {
+      LOGGER.error("Failed to process template: {}", template, e);
+      throw new TemplateProcessingException();
+    }
+  }
+
+  /**
+   * Compiled template and the last modification time of its file, if known
+   */
+  private static class CompiledTemplate {
+    private final Template template;
+    private final long lastModified;
+
+    CompiledTemplate(Template template, long lastModified) {
+      this.template = template;
+      this.lastModified = lastModified;
+    }
+  }
+
 }
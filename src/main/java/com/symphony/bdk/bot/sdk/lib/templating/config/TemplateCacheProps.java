@@ -0,0 +1,21 @@
+package com.symphony.bdk.bot.sdk.lib.templating.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "templating.cache")
+public class TemplateCacheProps {
+
+  private boolean enabled = true;
+
+  private long maxSize = 500;
+
+  private boolean reload;
+
+}
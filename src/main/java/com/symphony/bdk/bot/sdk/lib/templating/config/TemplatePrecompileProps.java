@@ -0,0 +1,19 @@
+package com.symphony.bdk.bot.sdk.lib.templating.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "templating.precompile")
+public class TemplatePrecompileProps {
+
+  private boolean enabled;
+
+  private int parallelism = 4;
+
+}
@@ -2,9 +2,11 @@ package com.symphony.bdk.bot.sdk.lib.templating.config;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.helper.ConditionalHelpers;
+import com.symphony.bdk.bot.sdk.lib.templating.TemplatePrecompiler;
 import com.symphony.bdk.bot.sdk.lib.templating.TemplateService;
 import com.symphony.bdk.bot.sdk.lib.templating.TemplateServiceImpl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -14,7 +16,8 @@ import services.HandlebarsTemplateLoader;
 
 /**
  * Creates and configures an instance of the Handlebars-based implementation of the {@link
- * TemplateService} if no other implementation is provided.
+ * TemplateService} if no other implementation is provided. Template files can be compiled at
+ * startup, see {@link TemplatePrecompiler}.
  *
  * @author Marcus Secato
  */
@@ -23,13 +26,37 @@ public class TemplateServiceConfig {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TemplateServiceConfig.class);
 
+  private final TemplateCacheProps cacheProps;
+
+  private final TemplatePrecompileProps precompileProps;
+
+  private final MeterRegistry meterRegistry;
+
+  public TemplateServiceConfig(TemplateCacheProps cacheProps,
+      TemplatePrecompileProps precompileProps, MeterRegistry meterRegistry) {
+    this.cacheProps = cacheProps;
+    this.precompileProps = precompileProps;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Bean
+  public TemplatePrecompiler templatePrecompiler() {
+    return new TemplatePrecompiler(precompileProps.isEnabled(), precompileProps.getParallelism());
+  }
+
   @Bean(name = "templateServiceImpl")
   @ConditionalOnMissingBean
   public TemplateService getHandlebarsService() {
     LOGGER.info("Initializing Template Engine");
     Handlebars handlebars = new HandlebarsTemplateLoader().getHandlebars();
     handlebars.registerHelpers(ConditionalHelpers.class);
-    return new TemplateServiceImpl(handlebars);
+    TemplateServiceImpl templateService = new TemplateServiceImpl(handlebars,
+        cacheProps.isEnabled() ? cacheProps.getMaxSize() : 0, cacheProps.isReload());
+    if (meterRegistry != null) {
+      templateService.registerMetrics(meterRegistry);
+    }
+    templatePrecompiler().register(templateService, handlebars.getLoader());
+    return templateService;
   }
 
 }
@@ -0,0 +1,155 @@
+package com.symphony.bdk.bot.sdk.monitoring;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records how long command, event and elements handlers take to handle a
+ * command or event, tagged by handler class and outcome, and the hits and
+ * misses of cached command responses, to be exposed by prometheus endpoint.
+ * Meters are registered on their first use and kept per handler class.
+ */
+@Component
+public class HandlerMetrics {
+
+  private static final String METRIC_NAME = "symphony_bot_handler";
+  private static final String METRIC_DESCRIPTION = "Time spent by bot handlers";
+  private static final String TAG_TYPE = "type";
+  private static final String TAG_HANDLER = "handler";
+  private static final String TAG_OUTCOME = "outcome";
+  private static final String CACHE_METRIC_NAME = "symphony_bot_response_cache";
+  private static final String CACHE_METRIC_DESCRIPTION = "Lookups of cached command responses";
+  private static final String TAG_RESULT = "result";
+
+  /**
+   * Type of the handled input
+   */
+  public enum Type {
+    COMMAND("command"),
+    EVENT("event"),
+    ELEMENTS_COMMAND("elements-command"),
+    ELEMENTS_ACTION("elements-action");
+
+    private final String tag;
+
+    Type(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  /**
+   * How the handling ended
+   */
+  public enum Outcome {
+    /** A response was sent */
+    OK("ok"),
+    /** An error was raised */
+    ERROR("error"),
+    /** Nothing was sent back */
+    NO_RESPONSE("no-response");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private static final int TYPE_COUNT = Type.values().length;
+  private static final int OUTCOME_COUNT = Outcome.values().length;
+
+  private final MeterRegistry registry;
+  private final ConcurrentMap<Class<?>, HandlerMeters> handlerMeters = new ConcurrentHashMap<>();
+
+  public HandlerMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Records the time spent by a handler
+   *
+   * @param type type of the handled input
+   * @param handler the handler
+   * @param startNanos value of {@link System#nanoTime()} when the handling started
+   * @param outcome how the handling ended
+   */
+  public void record(Type type, Object handler, long startNanos, Outcome outcome) {
+    meters(handler).timer(type, outcome)
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Counts a lookup of a cached command response
+   *
+   * @param handler the command handler
+   * @param hit whether a cached response was found
+   */
+  public void recordCacheAccess(Object handler, boolean hit) {
+    meters(handler).cacheCounter(hit).increment();
+  }
+
+  private HandlerMeters meters(Object handler) {
+    HandlerMeters meters = handlerMeters.get(handler.getClass());
+    if (meters == null) {
+      meters = handlerMeters.computeIfAbsent(handler.getClass(), HandlerMeters::new);
+    }
+    return meters;
+  }
+
+  /**
+   * Meters of a handler class. A meter registered twice by racing threads is
+   * the same instance, as the registry returns the already registered one.
+   */
+  private class HandlerMeters {
+    private final String handlerName;
+    private final AtomicReferenceArray<Timer> timers =
+        new AtomicReferenceArray<>(TYPE_COUNT * OUTCOME_COUNT);
+    private volatile Counter cacheHits;
+    private volatile Counter cacheMisses;
+
+    HandlerMeters(Class<?> handlerClass) {
+      this.handlerName = handlerClass.getName();
+    }
+
+    Timer timer(Type type, Outcome outcome) {
+      int index = type.ordinal() * OUTCOME_COUNT + outcome.ordinal();
+      Timer timer = timers.get(index);
+      if (timer == null) {
+        timer = Timer.builder(METRIC_NAME)
+            .description(METRIC_DESCRIPTION)
+            .tag(TAG_TYPE, type.tag)
+            .tag(TAG_HANDLER, handlerName)
+            .tag(TAG_OUTCOME, outcome.tag)
+            .publishPercentileHistogram()
+            .register(registry);
+        timers.set(index, timer);
+      }
+      return timer;
+    }
+
+    Counter cacheCounter(boolean hit) {
+      Counter counter = hit ? cacheHits : cacheMisses;
+      if (counter == null) {
+        counter = Counter.builder(CACHE_METRIC_NAME)
+            .description(CACHE_METRIC_DESCRIPTION)
+            .tag(TAG_HANDLER, handlerName)
+            .tag(TAG_RESULT, hit ? "hit" : "miss")
+            .register(registry);
+        if (hit) {
+          cacheHits = counter;
+        } else {
+          cacheMisses = counter;
+        }
+      }
+      return counter;
+    }
+  }
+
+}
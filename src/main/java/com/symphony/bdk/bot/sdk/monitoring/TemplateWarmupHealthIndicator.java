@@ -0,0 +1,37 @@
+package com.symphony.bdk.bot.sdk.monitoring;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import com.symphony.bdk.bot.sdk.lib.templating.TemplatePrecompiler;
+
+/**
+ * Reports the bot as not ready until the template files compiled at startup
+ * are all compiled, and as down if one of them could not be compiled.
+ */
+public class TemplateWarmupHealthIndicator implements HealthIndicator {
+
+  private final TemplatePrecompiler templatePrecompiler;
+
+  public TemplateWarmupHealthIndicator(TemplatePrecompiler templatePrecompiler) {
+    this.templatePrecompiler = templatePrecompiler;
+  }
+
+  @Override
+  public Health health() {
+    if (!templatePrecompiler.isEnabled()) {
+      return Health.up().withDetail("enabled", false).build();
+    }
+
+    if (templatePrecompiler.getFailure() != null) {
+      return Health.down(templatePrecompiler.getFailure()).build();
+    }
+
+    Health.Builder healthBuilder = templatePrecompiler.isReady() ? Health.up() : Health.down();
+    return healthBuilder
+        .withDetail("templates", templatePrecompiler.getTemplateCount())
+        .withDetail("duration", templatePrecompiler.getDuration())
+        .build();
+  }
+
+}
@@ -48,7 +48,7 @@ public class SsePublisherRouterImpl implements SsePublisherRouter {
    * {@inheritDoc}
    */
   @Override
-  @Async("sseTaskExecutor")
+  @Async("sseAsyncExecutor")
   public void bind(SseSubscriber subscriber, List<SsePublisher<?>> publishers) {
     LOGGER.debug("Binding subscriber to corresponding publishers");
     subscriber.bindPublishers(publishers);
@@ -5,12 +5,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import com.symphony.bdk.bot.sdk.commons.MDCTaskDecorator;
+import com.symphony.bdk.bot.sdk.commons.PoolMode;
+import com.symphony.bdk.bot.sdk.commons.VirtualThreadExecutor;
 
 /**
  * Defines thread pool configuration to stream server-sent events
@@ -35,11 +38,29 @@ public class SseConfig {
     return new WebMvcConfigurer() {
       @Override
       public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
-        configurer.setTaskExecutor(sseTaskExecutor());
+        configurer.setTaskExecutor(sseAsyncExecutor());
       }
     };
   }
 
+  /**
+   * Executor running the SSE subscribers: virtual threads in virtual mode,
+   * when supported, {@link #sseTaskExecutor()} otherwise.
+   * @return {@link Executor}
+   */
+  @Bean(name="sseAsyncExecutor")
+  public AsyncTaskExecutor sseAsyncExecutor() {
+    if (poolProps.getMode() == PoolMode.VIRTUAL) {
+      if (VirtualThreadExecutor.isSupported()) {
+        return virtualExecutor();
+      }
+      LOGGER.warn("Virtual threads require Java 21, falling back to SSE thread pool");
+    } else if (poolProps.getMode() == PoolMode.ORDERED) {
+      LOGGER.warn("Ordered mode only applies to the bot thread pool, using SSE thread pool");
+    }
+    return sseTaskExecutor();
+  }
+
   /**
    * ThreadPoolExecutor used in SSE
    * @return {@link Executor}
@@ -57,4 +78,13 @@ public class SseConfig {
     return executor;
   }
 
+  private AsyncTaskExecutor virtualExecutor() {
+    int maxConcurrency = poolProps.getMaxConcurrency() != null
+        ? poolProps.getMaxConcurrency() : poolProps.getMaxSize();
+    LOGGER.info("Initializing SSE virtual thread executor with max concurrency {}",
+        maxConcurrency);
+    return new VirtualThreadExecutor(poolProps.getThreadNamePrefix(), maxConcurrency,
+        poolProps.getQueueCapacity(), new MDCTaskDecorator());
+  }
+
 }
@@ -2,6 +2,9 @@ package com.symphony.bdk.bot.sdk.sse.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+
+import com.symphony.bdk.bot.sdk.commons.PoolMode;
+
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -19,4 +22,8 @@ public class SsePoolProps {
 
   private String threadNamePrefix;
 
+  private PoolMode mode = PoolMode.SHARED;
+
+  private Integer maxConcurrency;
+
 }
@@ -1,6 +1,7 @@
 package com.symphony.bdk.bot.sdk.symphony;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.symphony.bdk.bot.sdk.event.model.MessageAttachmentFile;
 import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
@@ -49,7 +50,69 @@ public interface MessageClient {
       List<MessageAttachmentFile> attachments) throws SymphonyClientException;
 
   /**
-   * Download specific attachments from a message from a stream to memory
+   * Sends message to the specified stream applying template processing when applicable,
+   * without waiting for Symphony to receive it. The template is processed by the calling
+   * thread while the message is sent by the message thread pool. Messages sent
+   * asynchronously to the same stream are sent in order. The default implementation sends
+   * the message synchronously.
+   *
+   * @param streamId
+   * @param message
+   * @return a future completed when the message is sent or completed exceptionally with
+   *         {@link SymphonyClientException} on error connecting to Symphony
+   */
+  default CompletableFuture<Void> sendMessageAsync(String streamId, SymphonyMessage message) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      sendMessage(streamId, message);
+      future.complete(null);
+    } catch (SymphonyClientException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Sends message to a Symphony stream without waiting for Symphony to receive it
+   *
+   * @param streamId
+   * @param message
+   * @param jsonData
+   * @return a future completed when the message is sent or completed exceptionally with
+   *         {@link SymphonyClientException} on error connecting to Symphony
+   */
+  default CompletableFuture<Void> sendMessageAsync(String streamId, String message,
+      String jsonData) {
+    return sendMessageAsync(streamId, message, jsonData, null);
+  }
+
+  /**
+   * Sends message with attachments to a Symphony stream without waiting for Symphony to
+   * receive it. The default implementation sends the message synchronously.
+   *
+   * @param streamId
+   * @param message
+   * @param jsonData
+   * @param attachments
+   * @return a future completed when the message is sent or completed exceptionally with
+   *         {@link SymphonyClientException} on error connecting to Symphony
+   */
+  default CompletableFuture<Void> sendMessageAsync(String streamId, String message,
+      String jsonData, List<MessageAttachmentFile> attachments) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      sendMessage(streamId, message, jsonData, attachments);
+      future.complete(null);
+    } catch (SymphonyClientException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Download specific attachments from a message from a stream, in parallel. Large
+   * attachments are spooled to temporary files, see
+   * {@link MessageAttachmentFile#close()} to delete them once done.
    *
    * @param messageEvent
    * @return the attachments
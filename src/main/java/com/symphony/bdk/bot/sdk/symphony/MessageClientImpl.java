@@ -1,42 +1,83 @@
 package com.symphony.bdk.bot.sdk.symphony;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.symphony.bdk.bot.sdk.commons.MDCTaskDecorator;
+import com.symphony.bdk.bot.sdk.commons.StreamOrderedExecutor;
 import com.symphony.bdk.bot.sdk.event.model.MessageAttachment;
 import com.symphony.bdk.bot.sdk.event.model.MessageAttachmentFile;
 import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
 import com.symphony.bdk.bot.sdk.lib.jsonmapper.JsonMapper;
 import com.symphony.bdk.bot.sdk.lib.templating.TemplateService;
+import com.symphony.bdk.bot.sdk.symphony.OutboundGovernor.Family;
+import com.symphony.bdk.bot.sdk.symphony.config.MessageAttachmentProps;
+import com.symphony.bdk.bot.sdk.symphony.config.MessageCoalescingProps;
+import com.symphony.bdk.bot.sdk.symphony.config.MessagePoolProps;
 import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
 
 import clients.SymBotClient;
-import model.Attachment;
 import model.ContentAttachment;
-import model.ImageInfo;
-import model.InboundMessage;
 import model.OutboundMessage;
-import model.Stream;
 
 @Service
 public class MessageClientImpl implements MessageClient {
   private static final Logger LOGGER = LoggerFactory.getLogger(MessageClientImpl.class);
-  private static final String ENTITY_TAG = "<div class='entity' data-entity-id='%s'>%s</div>";
+  private static final String ENTITY_TAG_START = "<div class='entity' data-entity-id='";
+  private static final String ENTITY_TAG_CONTENT = "'>";
+  private static final String ENTITY_TAG_END = "</div>";
 
   private final SymBotClient symBotClient;
   private final TemplateService templateService;
   private final JsonMapper jsonMapper;
+  private final OutboundGovernor governor;
+  private final MessageCoalescer coalescer;
+  private final StreamOrderedExecutor messageExecutor;
+  private final boolean asyncResponses;
+  private final ExecutorService attachmentExecutor;
+  private final long spoolThreshold;
+  private final Path spoolDirectory;
 
   public MessageClientImpl(SymBotClient symBotClient, TemplateService templateService,
-      JsonMapper jsonMapper) {
+      JsonMapper jsonMapper, OutboundGovernor governor, MessageCoalescingProps coalescingProps,
+      MessagePoolProps poolProps, MessageAttachmentProps attachmentProps) {
     this.symBotClient = symBotClient;
     this.templateService = templateService;
     this.jsonMapper = jsonMapper;
+    this.governor = governor;
+    this.messageExecutor = new StreamOrderedExecutor(poolProps.getLanes(),
+        poolProps.getQueueCapacity() / poolProps.getLanes(),
+        poolProps.getThreadNamePrefix(), new MDCTaskDecorator());
+    this.asyncResponses = poolProps.isAsyncResponses();
+    if (coalescingProps.isEnabled()) {
+      LOGGER.info("Coalescing messages sent to the same stream within {} ms",
+          coalescingProps.getWindow());
+      this.coalescer = new MessageCoalescer(this::sendNow, messageExecutor,
+          coalescingProps.getWindow(), coalescingProps.getMaxLength());
+    } else {
+      this.coalescer = null;
+    }
+    this.attachmentExecutor = Executors.newFixedThreadPool(
+        Math.max(1, attachmentProps.getDownloadConcurrency()),
+        new ThreadFactoryBuilder().setNameFormat("attachment-download-%d").setDaemon(true).build());
+    this.spoolThreshold = attachmentProps.getSpoolThreshold();
+    this.spoolDirectory = attachmentProps.getSpoolDirectory() != null
+        ? Paths.get(attachmentProps.getSpoolDirectory()) : null;
   }
 
   /**
@@ -45,14 +86,7 @@ public class MessageClientImpl implements MessageClient {
   @Override
   public void sendMessage(String streamId, SymphonyMessage message)
       throws SymphonyClientException {
-    String symMessage = getSymphonyMessage(message);
-    String symJsonData = null;
-    if (message.isEnrichedMessage()) {
-      symMessage = entitify(message.getEntityName(), symMessage);
-      symJsonData = getEnricherData(message);
-    }
-
-    sendMessage(streamId, symMessage, symJsonData, message.getAttachments());
+    send(streamId, toOutboundMessage(message));
   }
 
   /**
@@ -70,18 +104,169 @@ public class MessageClientImpl implements MessageClient {
   @Override
   public void sendMessage(String streamId, String message, String jsonData,
       List<MessageAttachmentFile> attachments) throws SymphonyClientException {
-    LOGGER.debug("Sending message to stream: {}", streamId);
+    send(streamId, toOutboundMessage(message, jsonData, attachments));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CompletableFuture<Void> sendMessageAsync(String streamId, SymphonyMessage message) {
+    final OutboundMessage outMessage;
+    try {
+      outMessage = toOutboundMessage(message);
+    } catch (RuntimeException e) {
+      return failed(e);
+    }
+    return sendAsync(streamId, outMessage, isCoalescible(message));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CompletableFuture<Void> sendMessageAsync(String streamId, String message,
+      String jsonData) {
+    return sendMessageAsync(streamId, message, jsonData, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CompletableFuture<Void> sendMessageAsync(String streamId, String message,
+      String jsonData, List<MessageAttachmentFile> attachments) {
+    final OutboundMessage outMessage;
+    try {
+      outMessage = toOutboundMessage(message, jsonData, attachments);
+    } catch (RuntimeException e) {
+      return failed(e);
+    }
+    return sendAsync(streamId, outMessage, jsonData == null && isEmpty(attachments));
+  }
+
+  /**
+   * Sends an already rendered message to Symphony on the calling thread, so
+   * that a message sent to many streams is only rendered once.
+   * Internal use only.
+   *
+   * @param streamId
+   * @param message the message rendered by {@link #toOutboundMessage(SymphonyMessage)}
+   * @throws SymphonyClientException on communication error
+   */
+  public void sendMessage(String streamId, OutboundMessage message)
+      throws SymphonyClientException {
+    send(streamId, message);
+  }
+
+  /**
+   * Renders the message template and enricher data, if any, into the message
+   * to be sent to Symphony, so that it can be sent several times.
+   * Internal use only.
+   *
+   * @param message the message
+   * @return the rendered message
+   */
+  public OutboundMessage toOutboundMessage(SymphonyMessage message) {
+    String symJsonData = null;
+    if (message.isEnrichedMessage()) {
+      symJsonData = getEnricherData(message);
+    }
+
+    return toOutboundMessage(getSymphonyMessage(message), symJsonData, message.getAttachments());
+  }
+
+  private OutboundMessage toOutboundMessage(String message, String jsonData,
+      List<MessageAttachmentFile> attachments) {
     List<ContentAttachment> contentAttachments = null;
+    List<File> fileAttachments = null;
     if (attachments != null && !attachments.isEmpty()) {
-      contentAttachments =
-          attachments.stream().map(this::toContentAttachment).collect(Collectors.toList());
+      contentAttachments = new ArrayList<>();
+      fileAttachments = new ArrayList<>();
+      for (MessageAttachmentFile attachment : attachments) {
+        if (attachment.isSpooled()) {
+          // uploaded straight from the file
+          fileAttachments.add(attachment.getFile());
+        } else {
+          contentAttachments.add(toContentAttachment(attachment));
+        }
+      }
+    }
+
+    OutboundMessage outMessage = new OutboundMessage(message != null ? message : "", jsonData,
+        contentAttachments == null || contentAttachments.isEmpty() ? null : contentAttachments);
+    if (fileAttachments != null && !fileAttachments.isEmpty()) {
+      outMessage.setAttachment(fileAttachments.toArray(new File[0]));
+    }
+    return outMessage;
+  }
+
+  /**
+   * Sends the message right away or, when coalescing is enabled and the
+   * message is a plain one, buffers it to be merged with the next messages
+   * sent to the same stream. Other messages are sent after the buffered ones.
+   * The synchronous API does not coalesce messages, so that it raises the
+   * errors sending them.
+   *
+   * @return a future completed once the message is sent
+   */
+  private CompletableFuture<Void> send(String streamId, OutboundMessage outMessage,
+      boolean coalescible) {
+    if (coalescer != null && coalescible) {
+      return coalescer.add(streamId, outMessage.getMessage());
+    }
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      send(streamId, outMessage);
+      future.complete(null);
+    } catch (SymphonyClientException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private CompletableFuture<Void> sendAsync(String streamId, OutboundMessage outMessage,
+      boolean coalescible) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      messageExecutor.execute(streamId, () ->
+          send(streamId, outMessage, coalescible).whenComplete((done, e) -> {
+            if (e != null) {
+              future.completeExceptionally(e);
+            } else {
+              future.complete(null);
+            }
+          }));
+    } catch (TaskRejectedException e) {
+      future.completeExceptionally(e);
     }
+    return future;
+  }
 
-    OutboundMessage outMessage = new OutboundMessage(
-        message != null ? message : "", jsonData, contentAttachments);
+  private static CompletableFuture<Void> failed(Throwable e) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    future.completeExceptionally(e);
+    return future;
+  }
+
+  /**
+   * Sends the message right away, after the messages buffered for coalescing
+   * to the same stream.
+   */
+  private void send(String streamId, OutboundMessage outMessage)
+      throws SymphonyClientException {
+    if (coalescer != null) {
+      coalescer.flush(streamId);
+    }
+    sendNow(streamId, outMessage);
+  }
 
+  private void sendNow(String streamId, OutboundMessage outMessage)
+      throws SymphonyClientException {
+    LOGGER.debug("Sending message to stream: {}", streamId);
     try {
-      symBotClient.getMessagesClient().sendMessage(streamId, outMessage);
+      governor.call(Family.MESSAGES,
+          () -> symBotClient.getMessagesClient().sendMessage(streamId, outMessage));
     } catch (Exception e) {
       LOGGER.error("Error sending message to stream: {}", streamId);
       throw new SymphonyClientException(e);
@@ -94,54 +279,134 @@ public class MessageClientImpl implements MessageClient {
   @Override
   public List<MessageAttachmentFile> downloadMessageAttachments(MessageEvent messageEvent)
       throws SymphonyClientException {
-    try {
-      InboundMessage message = new InboundMessage();
-      message.setMessageId(messageEvent.getMessageId());
-      Stream stream = new Stream();
-      stream.setStreamId(messageEvent.getStreamId());
-      message.setStream(stream);
-      List<Attachment> attachments = new ArrayList();
-      for (MessageAttachment messageAttachment : messageEvent.getAttachments()) {
-        Attachment attachment = new Attachment();
-        attachment.setSize(messageAttachment.getSize());
-        attachment.setName(messageAttachment.getName());
-        if (messageAttachment.getImage() != null) {
-          ImageInfo imageInfo = new ImageInfo();
-          imageInfo.setId(messageAttachment.getImage().getId());
-          imageInfo.setDimension(messageAttachment.getImage().getDimension());
-          attachment.setImage(imageInfo);
+    List<MessageAttachment> attachments = messageEvent.getAttachments();
+    if (attachments.size() == 1) {
+      try {
+        List<MessageAttachmentFile> files = new ArrayList<>(1);
+        files.add(downloadAttachment(messageEvent, attachments.get(0)));
+        return files;
+      } catch (Exception e) {
+        throw attachmentError(messageEvent, e);
+      }
+    }
+
+    List<CompletableFuture<MessageAttachmentFile>> downloads = new ArrayList<>(attachments.size());
+    for (MessageAttachment attachment : attachments) {
+      downloads.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return downloadAttachment(messageEvent, attachment);
+        } catch (Exception e) {
+          throw new CompletionException(e);
         }
-        attachment.setId(messageAttachment.getId());
-        attachments.add(attachment);
+      }, attachmentExecutor));
+    }
+
+    List<MessageAttachmentFile> files = new ArrayList<>(downloads.size());
+    Exception error = null;
+    for (CompletableFuture<MessageAttachmentFile> download : downloads) {
+      try {
+        files.add(download.join());
+      } catch (CompletionException e) {
+        error = error != null ? error : (Exception) e.getCause();
       }
-      message.setAttachments(attachments);
-      return symBotClient.getMessagesClient()
-          .getMessageAttachments(message)
-          .stream()
-          .map(MessageAttachmentFile::new)
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      LOGGER.error("Error getting message attachments: {} {}", messageEvent.getMessageId(),
-          messageEvent.getStreamId());
-      throw new SymphonyClientException(e);
+    }
+    if (error != null) {
+      files.forEach(MessageClientImpl::closeQuietly);
+      throw attachmentError(messageEvent, error);
+    }
+    return files;
+  }
+
+  /**
+   * Downloads an attachment and spools it to a temporary file when larger than
+   * the spool threshold, so that only the attachments being downloaded are held
+   * in memory.
+   */
+  private MessageAttachmentFile downloadAttachment(MessageEvent messageEvent,
+      MessageAttachment attachment) throws Exception {
+    byte[] content = governor.call(Family.MESSAGES,
+        () -> symBotClient.getMessagesClient().getAttachment(messageEvent.getStreamId(),
+            attachment.getId(), messageEvent.getMessageId()));
+    return MessageAttachmentFile.of(attachment.getName(), content, spoolThreshold,
+        spoolDirectory);
+  }
+
+  private SymphonyClientException attachmentError(MessageEvent messageEvent, Exception e) {
+    LOGGER.error("Error getting message attachments: {} {}", messageEvent.getMessageId(),
+        messageEvent.getStreamId());
+    return new SymphonyClientException(e);
+  }
+
+  private static void closeQuietly(MessageAttachmentFile file) {
+    try {
+      file.close();
+    } catch (IOException e) {
+      LOGGER.warn("Could not delete attachment file: {}", file.getFile(), e);
     }
   }
 
   /**
-   * Sends message to Symphony swallowing any communication error.
+   * Sends message to Symphony swallowing any communication error. When async
+   * responses are enabled, the message is sent by the message thread pool
+   * without waiting for Symphony to receive it.
    * Internal use only.
    *
    * @param streamId
    * @param message
    */
   public void _sendMessage(String streamId, SymphonyMessage message) {
-    try {
-      sendMessage(streamId, message);
-    } catch (SymphonyClientException sce) {
-      LOGGER.error("Could not send message to Symphony", sce);
+    if (asyncResponses) {
+      logError(sendAsync(streamId, toOutboundMessage(message), isCoalescible(message)));
+      return;
+    }
+    logError(send(streamId, toOutboundMessage(message), isCoalescible(message)));
+  }
+
+  /**
+   * Sends an already rendered message to Symphony swallowing any
+   * communication error.
+   * Internal use only.
+   *
+   * @param streamId
+   * @param message
+   */
+  public void _sendMessage(String streamId, OutboundMessage message) {
+    if (asyncResponses) {
+      logError(sendAsync(streamId, message, false));
+      return;
+    }
+    logError(send(streamId, message, false));
+  }
+
+  /**
+   * Sends the messages still queued in the message thread pool or buffered
+   * for coalescing.
+   */
+  @PreDestroy
+  public void shutdown() {
+    attachmentExecutor.shutdownNow();
+    messageExecutor.shutdown();
+    if (coalescer != null) {
+      coalescer.shutdown();
     }
   }
 
+  private static void logError(CompletableFuture<Void> future) {
+    future.whenComplete((result, e) -> {
+      if (e != null) {
+        LOGGER.error("Could not send message to Symphony", e);
+      }
+    });
+  }
+
+  private static boolean isCoalescible(SymphonyMessage message) {
+    return !message.isEnrichedMessage() && isEmpty(message.getAttachments());
+  }
+
+  private static boolean isEmpty(List<MessageAttachmentFile> attachments) {
+    return attachments == null || attachments.isEmpty();
+  }
+
   private ContentAttachment toContentAttachment(MessageAttachmentFile messageAttachmentFile) {
     ContentAttachment contentAttachment = new ContentAttachment();
     contentAttachment.setData(messageAttachmentFile.getFileContent());
@@ -149,13 +414,32 @@ public class MessageClientImpl implements MessageClient {
     return contentAttachment;
   }
 
+  /**
+   * Renders the message template, if any, and wraps it in the entity tag for
+   * enriched messages, in a single pass over a reused buffer.
+   */
   private String getSymphonyMessage(SymphonyMessage message) {
-    String symMessage = message.getMessage();
-    if (message.hasTemplate()) {
-      symMessage = processTemplateMessage(message);
+    if (!message.hasTemplate() && !message.isEnrichedMessage()) {
+      return message.getMessage();
     }
 
-    return symMessage;
+    RenderBuffer buffer = RenderBuffer.acquire();
+    try {
+      if (message.isEnrichedMessage()) {
+        buffer.append(ENTITY_TAG_START).append(message.getEntityName()).append(ENTITY_TAG_CONTENT);
+      }
+      if (message.hasTemplate()) {
+        processTemplateMessage(message, buffer);
+      } else {
+        buffer.append(message.getMessage());
+      }
+      if (message.isEnrichedMessage()) {
+        buffer.append(ENTITY_TAG_END);
+      }
+      return buffer.content();
+    } finally {
+      buffer.release();
+    }
   }
 
   private String getEnricherData(SymphonyMessage message) {
@@ -163,21 +447,14 @@ public class MessageClientImpl implements MessageClient {
         message.getEntity(), message.getVersion());
   }
 
-  private String processTemplateMessage(SymphonyMessage message) {
-    String renderedString = null;
+  private void processTemplateMessage(SymphonyMessage message, RenderBuffer buffer) {
     if (message.usesTemplateFile()) {
-      renderedString = templateService.processTemplateFile(
-          message.getTemplateFile(), message.getTemplateData());
+      templateService.processTemplateFile(
+          message.getTemplateFile(), message.getTemplateData(), buffer.writer());
     } else {
-      renderedString = templateService.processTemplateString(
-          message.getTemplateString(), message.getTemplateData());
+      templateService.processTemplateString(
+          message.getTemplateString(), message.getTemplateData(), buffer.writer());
     }
-
-    return renderedString;
-  }
-
-  private String entitify(String entityName, String content) {
-    return String.format(ENTITY_TAG, entityName, content);
   }
 
 }
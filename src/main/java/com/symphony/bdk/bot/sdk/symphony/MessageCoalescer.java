@@ -0,0 +1,261 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.symphony.bdk.bot.sdk.commons.StreamOrderedExecutor;
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+
+import model.OutboundMessage;
+
+/**
+ * Buffers plain messages sent to the same stream during a small window and
+ * merges them into a single MessageML payload, saving API calls when several
+ * messages are sent in quick succession. A payload never exceeds a maximum
+ * length: messages that would not fit start a new payload.
+ * <p>
+ * A background thread only times the windows: buffered messages are sent by
+ * the lane of their stream in the message thread pool. Messages are sent
+ * outside the buffer lock, so that buffering a message never waits for
+ * Symphony. Each buffered message gets a future completed once its payload is
+ * sent, or failed to be sent.
+ */
+class MessageCoalescer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MessageCoalescer.class);
+
+  private static final String MESSAGEML_START = "<messageML>";
+  private static final String MESSAGEML_END = "</messageML>";
+  private static final String SEPARATOR = "<br/>";
+
+  /**
+   * Sends a message to a stream
+   */
+  interface Sender {
+    void send(String streamId, OutboundMessage message) throws SymphonyClientException;
+  }
+
+  private final Sender sender;
+  private final StreamOrderedExecutor executor;
+  private final long window;
+  private final int maxBodyLength;
+  private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * @param sender sends the merged messages
+   * @param executor the message thread pool, sends the buffered messages once
+   *        the window elapsed
+   * @param window how long (in milliseconds) messages are buffered
+   * @param maxLength maximum length of a merged message
+   */
+  MessageCoalescer(Sender sender, StreamOrderedExecutor executor, long window, int maxLength) {
+    this.sender = sender;
+    this.executor = executor;
+    this.window = window;
+    this.maxBodyLength = maxLength - MESSAGEML_START.length() - MESSAGEML_END.length();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("message-coalescer")
+        .setDaemon(true)
+        .build());
+  }
+
+  /**
+   * Buffers a plain message, without data nor attachments.
+   *
+   * @param streamId the stream
+   * @param message the message
+   * @return a future completed once the message is sent
+   */
+  CompletableFuture<Void> add(String streamId, String message) {
+    String body = body(message);
+    if (scheduler.isShutdown() || body.length() > maxBodyLength) {
+      flush(streamId);
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      complete(future, send(streamId, message));
+      return future;
+    }
+
+    while (true) {
+      Batch batch = batches.computeIfAbsent(streamId, Batch::new);
+      synchronized (batch) {
+        if (batch.closed) {
+          // flushed and removed in the meantime
+          continue;
+        }
+        if (batch.bodies.isEmpty()
+            || batch.length + SEPARATOR.length() + body.length() <= maxBodyLength) {
+          if (batch.bodies.isEmpty()) {
+            scheduler.schedule(() -> flushLater(batch), window, TimeUnit.MILLISECONDS);
+          }
+          return batch.add(message, body);
+        }
+      }
+      // does not fit, sends the buffered messages first
+      sendBuffered(batch, false);
+    }
+  }
+
+  /**
+   * Sends the messages buffered for a stream, if any, so that a message sent
+   * without coalescing is not delivered before them.
+   *
+   * @param streamId the stream
+   */
+  void flush(String streamId) {
+    Batch batch = batches.get(streamId);
+    if (batch != null) {
+      sendBuffered(batch, true);
+    }
+  }
+
+  /**
+   * Sends all the buffered messages and stops the background thread.
+   */
+  void shutdown() {
+    scheduler.shutdownNow();
+    for (Batch batch : batches.values()) {
+      sendBuffered(batch, true);
+    }
+  }
+
+  private void flushLater(Batch batch) {
+    try {
+      executor.execute(batch.streamId, () -> sendBuffered(batch, true));
+    } catch (TaskRejectedException e) {
+      LOGGER.warn("Message thread pool is full, retrying to send messages to stream: {}",
+          batch.streamId);
+      if (!scheduler.isShutdown()) {
+        scheduler.schedule(() -> flushLater(batch), window, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Sends the messages buffered in a batch, outside of its buffer lock. The
+   * send lock keeps the payloads of a stream in order, the batch stays in
+   * place until sent so that the next payloads wait for it.
+   *
+   * @param close whether the batch is then removed, unless messages were
+   *        buffered in the meantime, new messages then start a new batch
+   */
+  private void sendBuffered(Batch batch, boolean close) {
+    synchronized (batch.sendLock) {
+      String message;
+      List<CompletableFuture<Void>> futures;
+      synchronized (batch) {
+        if (batch.closed) {
+          return;
+        }
+        if (batch.bodies.isEmpty()) {
+          if (close) {
+            close(batch);
+          }
+          return;
+        }
+        if (batch.bodies.size() == 1) {
+          message = batch.firstMessage;
+        } else {
+          LOGGER.debug("Coalescing {} messages to stream: {}", batch.bodies.size(),
+              batch.streamId);
+          message = MESSAGEML_START + String.join(SEPARATOR, batch.bodies) + MESSAGEML_END;
+        }
+        futures = new ArrayList<>(batch.futures);
+        batch.clear();
+      }
+
+      Exception error = send(batch.streamId, message);
+      futures.forEach(future -> complete(future, error));
+      if (close) {
+        synchronized (batch) {
+          // messages buffered while sending are sent once their window elapses
+          if (batch.bodies.isEmpty()) {
+            close(batch);
+          }
+        }
+      }
+    }
+  }
+
+  // guarded by the batch
+  private void close(Batch batch) {
+    batch.closed = true;
+    batches.remove(batch.streamId, batch);
+  }
+
+  /**
+   * @return the error sending the message, null if sent
+   */
+  private Exception send(String streamId, String message) {
+    try {
+      sender.send(streamId, new OutboundMessage(message));
+      return null;
+    } catch (SymphonyClientException | RuntimeException e) {
+      return e;
+    }
+  }
+
+  private static void complete(CompletableFuture<Void> future, Exception error) {
+    if (error != null) {
+      future.completeExceptionally(error);
+    } else {
+      future.complete(null);
+    }
+  }
+
+  private static String body(String message) {
+    String trimmed = message.trim();
+    if (trimmed.startsWith(MESSAGEML_START) && trimmed.endsWith(MESSAGEML_END)) {
+      return trimmed.substring(MESSAGEML_START.length(),
+          trimmed.length() - MESSAGEML_END.length());
+    }
+    return message;
+  }
+
+  /**
+   * Messages buffered for a stream, guarded by itself
+   */
+  private static class Batch {
+    private final String streamId;
+    private final Object sendLock = new Object();
+    private final List<String> bodies = new ArrayList<>();
+    private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    private String firstMessage;
+    private int length;
+    private boolean closed;
+
+    Batch(String streamId) {
+      this.streamId = streamId;
+    }
+
+    CompletableFuture<Void> add(String message, String body) {
+      if (bodies.isEmpty()) {
+        firstMessage = message;
+      } else {
+        length += SEPARATOR.length();
+      }
+      bodies.add(body);
+      length += body.length();
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      futures.add(future);
+      return future;
+    }
+
+    void clear() {
+      bodies.clear();
+      futures.clear();
+      firstMessage = null;
+      length = 0;
+    }
+  }
+
+}
@@ -0,0 +1,257 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.NoContentException;
+import javax.ws.rs.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.symphony.bdk.bot.sdk.symphony.config.OutboundProps;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import exceptions.SymClientException;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Central gate for the calls made to Symphony. Calls are grouped by endpoint
+ * family, each one with an optional token bucket limiting its calls per
+ * second.
+ * <p>
+ * When Symphony answers with HTTP 429, the whole family is paused for the time
+ * given by the Retry-After header (or a default delay) and the call is retried
+ * after that time plus a random jitter, up to a maximum number of retries.
+ * Calls made to the family in the meantime wait for the pause to end. Calls
+ * are counted by family and outcome, and the time spent waiting is recorded.
+ * <p>
+ * Rate limit rejections are recognized either from the 429 response carried
+ * by the JAX-RS client exception, or from the error reported by the Symphony
+ * client. A thread interrupted while waiting stops retrying and keeps its
+ * interrupt status.
+ */
+@Component
+public class OutboundGovernor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(OutboundGovernor.class);
+
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final String RETRY_AFTER = "Retry-After";
+  // the reason phrase, or the status code following "status" or "HTTP", so that
+  // other numbers such as ids containing 429 are not taken for a rate limit
+  private static final Pattern TOO_MANY_REQUESTS_MESSAGE = Pattern.compile(
+      "\\btoo many requests\\b|\\b(?:status(?: code)?|http)\\s*[:=]?\\s*429\\b",
+      Pattern.CASE_INSENSITIVE);
+  private static final String CALLS_METRIC_NAME = "symphony_bot_outbound_calls";
+  private static final String CALLS_METRIC_DESCRIPTION = "Calls made to Symphony";
+  private static final String WAIT_METRIC_NAME = "symphony_bot_outbound_wait";
+  private static final String WAIT_METRIC_DESCRIPTION =
+      "Time calls to Symphony waited for the rate limit";
+  private static final String TAG_FAMILY = "family";
+  private static final String TAG_OUTCOME = "outcome";
+
+  /**
+   * Endpoint families sharing a rate limit
+   */
+  public enum Family {
+    MESSAGES,
+    STREAMS,
+    USERS
+  }
+
+  private enum Outcome {
+    OK,
+    ERROR,
+    RATE_LIMITED
+  }
+
+  /**
+   * Call to Symphony returning a value
+   */
+  public interface Call<T> {
+    T call() throws Exception;
+  }
+
+  /**
+   * Call to Symphony returning no value
+   */
+  public interface VoidCall {
+    void run() throws Exception;
+  }
+
+  private final int maxRetries;
+  private final long defaultRetryAfter;
+  private final long maxJitter;
+  private final Map<Family, FamilyState> families = new EnumMap<>(Family.class);
+
+  public OutboundGovernor(OutboundProps props, MeterRegistry registry) {
+    this.maxRetries = props.getMaxRetries();
+    this.defaultRetryAfter = props.getDefaultRetryAfter();
+    this.maxJitter = props.getMaxJitter();
+    families.put(Family.MESSAGES, new FamilyState(Family.MESSAGES, props.getMessagesRate(),
+        registry));
+    families.put(Family.STREAMS, new FamilyState(Family.STREAMS, props.getStreamsRate(),
+        registry));
+    families.put(Family.USERS, new FamilyState(Family.USERS, props.getUsersRate(), registry));
+  }
+
+  /**
+   * Makes a call to Symphony, waiting for the rate limit of its family and
+   * retrying it when Symphony rejects it for exceeding its rate limit.
+   *
+   * @param family the endpoint family
+   * @param call the call
+   * @return the call result
+   * @throws Exception the exception raised by the last attempt, or
+   *         {@link InterruptedException} if interrupted while waiting
+   */
+  public <T> T call(Family family, Call<T> call) throws Exception {
+    FamilyState state = families.get(family);
+    for (int attempt = 0; ; attempt++) {
+      state.await();
+      try {
+        T result = call.call();
+        state.count(Outcome.OK);
+        return result;
+      } catch (NoContentException nce) {
+        // empty results are reported by exception
+        state.count(Outcome.OK);
+        throw nce;
+      } catch (Exception e) {
+        Long retryAfter = retryAfter(e);
+        if (retryAfter == null) {
+          state.count(Outcome.ERROR);
+          throw e;
+        }
+        state.count(Outcome.RATE_LIMITED);
+        state.pause(retryAfter);
+        if (attempt >= maxRetries) {
+          throw e;
+        }
+        LOGGER.warn("Symphony {} rate limit exceeded, retrying in {} ms",
+            family.name().toLowerCase(), retryAfter);
+      }
+    }
+  }
+
+  /**
+   * Same as {@link #call(Family, Call)} for calls returning no value.
+   *
+   * @param family the endpoint family
+   * @param call the call
+   * @throws Exception the exception raised by the last attempt
+   */
+  public void run(Family family, VoidCall call) throws Exception {
+    call(family, () -> {
+      call.run();
+      return null;
+    });
+  }
+
+  /**
+   * @return the time (in milliseconds) to wait before retrying if the error
+   *         is a rate limit rejection, null otherwise
+   */
+  private Long retryAfter(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof WebApplicationException) {
+        Response response = ((WebApplicationException) cause).getResponse();
+        if (response != null && response.getStatus() == TOO_MANY_REQUESTS) {
+          Long retryAfter = parseRetryAfter(response.getHeaderString(RETRY_AFTER));
+          return retryAfter != null ? retryAfter : defaultRetryAfter;
+        }
+      } else if (cause instanceof SymClientException && isTooManyRequests(cause.getMessage())) {
+        // the Symphony client only reports the error message, not the response
+        return defaultRetryAfter;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isTooManyRequests(String message) {
+    if (message == null) {
+      return false;
+    }
+    return TOO_MANY_REQUESTS_MESSAGE.matcher(message).find();
+  }
+
+  private static Long parseRetryAfter(String retryAfter) {
+    if (retryAfter == null) {
+      return null;
+    }
+    try {
+      return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+    } catch (NumberFormatException e) {
+      // not a number of seconds, might be an HTTP date
+    }
+    try {
+      ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(),
+          DateTimeFormatter.RFC_1123_DATE_TIME);
+      return Math.max(0, Duration.between(ZonedDateTime.now(), date).toMillis());
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Rate limit and pause of an endpoint family
+   */
+  private class FamilyState {
+    private final RateLimiter rateLimiter;
+    private final Map<Outcome, Counter> counters = new EnumMap<>(Outcome.class);
+    private final Timer waitTimer;
+    private volatile long pausedUntil;
+
+    FamilyState(Family family, Double rate, MeterRegistry registry) {
+      this.rateLimiter = rate != null ? RateLimiter.create(rate) : null;
+      for (Outcome outcome : Outcome.values()) {
+        counters.put(outcome, Counter.builder(CALLS_METRIC_NAME)
+            .description(CALLS_METRIC_DESCRIPTION)
+            .tag(TAG_FAMILY, family.name().toLowerCase())
+            .tag(TAG_OUTCOME, outcome.name().toLowerCase().replace('_', '-'))
+            .register(registry));
+      }
+      this.waitTimer = Timer.builder(WAIT_METRIC_NAME)
+          .description(WAIT_METRIC_DESCRIPTION)
+          .tag(TAG_FAMILY, family.name().toLowerCase())
+          .register(registry);
+    }
+
+    void await() throws InterruptedException {
+      long start = System.nanoTime();
+      long pause = pausedUntil - System.currentTimeMillis();
+      if (pause > 0) {
+        try {
+          // spreads the retries of the waiting calls
+          Thread.sleep(pause + ThreadLocalRandom.current().nextLong(maxJitter + 1));
+        } catch (InterruptedException e) {
+          // callers wrap the exception, the pool running them still sees the interrupt
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+      if (rateLimiter != null) {
+        rateLimiter.acquire();
+      }
+      waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    synchronized void pause(long millis) {
+      pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + millis);
+    }
+
+    void count(Outcome outcome) {
+      counters.get(outcome).increment();
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.io.Writer;
+
+/**
+ * Per-thread buffer messages are rendered into, so that rendering a message
+ * only allocates the final string instead of the intermediate template output
+ * and its entity wrapping.
+ * <p>
+ * A buffer grown beyond a maximum capacity by a very large message is
+ * released after use instead of being kept for the thread lifetime.
+ */
+class RenderBuffer {
+  private static final int INITIAL_CAPACITY = 4 * 1024;
+  private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+  private static final ThreadLocal<RenderBuffer> BUFFERS =
+      ThreadLocal.withInitial(RenderBuffer::new);
+
+  private final StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+  private final Writer writer = new BuilderWriter(builder);
+  private boolean inUse;
+
+  /**
+   * @return an empty buffer for the current thread, to be released after use
+   */
+  static RenderBuffer acquire() {
+    RenderBuffer buffer = BUFFERS.get();
+    if (buffer.inUse) {
+      // rendering a message while rendering another one, do not share
+      buffer = new RenderBuffer();
+    }
+    buffer.inUse = true;
+    return buffer;
+  }
+
+  RenderBuffer append(String content) {
+    builder.append(content);
+    return this;
+  }
+
+  /**
+   * @return a writer appending to the buffer
+   */
+  Writer writer() {
+    return writer;
+  }
+
+  /**
+   * @return the rendered message
+   */
+  String content() {
+    return builder.toString();
+  }
+
+  /**
+   * Empties the buffer for the next message, must be called once the message
+   * is rendered, even on error.
+   */
+  void release() {
+    if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+      if (BUFFERS.get() == this) {
+        BUFFERS.remove();
+      }
+    } else {
+      builder.setLength(0);
+    }
+    inUse = false;
+  }
+
+  /**
+   * Unsynchronized writer on a {@link StringBuilder}
+   */
+  private static class BuilderWriter extends Writer {
+    private final StringBuilder builder;
+
+    BuilderWriter(StringBuilder builder) {
+      this.builder = builder;
+    }
+
+    @Override
+    public void write(int c) {
+      builder.append((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      builder.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str) {
+      builder.append(str);
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+      builder.append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) {
+      builder.append(csq);
+      return this;
+    }
+
+    @Override
+    public Writer append(CharSequence csq, int start, int end) {
+      builder.append(csq, start, end);
+      return this;
+    }
+
+    @Override
+    public Writer append(char c) {
+      builder.append(c);
+      return this;
+    }
+
+    @Override
+    public void flush() {
+      // nothing to flush
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+  }
+
+}
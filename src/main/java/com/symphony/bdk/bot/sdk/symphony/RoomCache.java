@@ -0,0 +1,344 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.symphony.bdk.bot.sdk.event.model.RoomDetails;
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoom;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoomMember;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyStream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded cache of the rooms and streams looked up by {@link StreamsClientImpl}.
+ * Entries are kept current from the room datafeed events, the time to live
+ * only guards against missed events. Callers get copies of the cached
+ * entries, which they are free to modify.
+ */
+class RoomCache {
+  private static final String METRIC_NAME = "symphony_bot_room_cache";
+  private static final String METRIC_DESCRIPTION = "Lookups of cached rooms and streams";
+  private static final String EVICTIONS_METRIC_NAME = "symphony_bot_room_cache_evictions";
+  private static final String EVICTIONS_METRIC_DESCRIPTION =
+      "Rooms and streams evicted from the cache";
+  private static final String SIZE_METRIC_NAME = "symphony_bot_room_cache_size";
+  private static final String SIZE_METRIC_DESCRIPTION = "Number of cached rooms and streams";
+  private static final String TAG_RESULT = "result";
+  private static final String TAG_TYPE = "type";
+  private static final String ROOM = "room";
+  private static final String STREAM = "stream";
+
+  /**
+   * Looks up a room or a stream in Symphony
+   */
+  interface Loader<V> {
+    V load() throws SymphonyClientException;
+  }
+
+  private final Cache<String, SymphonyRoom> rooms;
+  private final Cache<String, SymphonyStream> streams;
+  // bumped on every change so that lookups racing with a change are not cached
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * @param maxSize maximum number of rooms cached, and of streams
+   * @param ttl how long (in milliseconds) a room or a stream is cached
+   */
+  RoomCache(long maxSize, long ttl) {
+    this.rooms = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+    this.streams = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Registers the hits, misses, evictions and size of the cache.
+   *
+   * @param registry the meter registry
+   */
+  void registerMetrics(MeterRegistry registry) {
+    registerMetrics(registry, ROOM, rooms);
+    registerMetrics(registry, STREAM, streams);
+  }
+
+  private static void registerMetrics(MeterRegistry registry, String type, Cache<?, ?> cache) {
+    FunctionCounter.builder(METRIC_NAME, cache, c -> c.stats().hitCount())
+        .description(METRIC_DESCRIPTION)
+        .tags(TAG_TYPE, type, TAG_RESULT, "hit")
+        .register(registry);
+    FunctionCounter.builder(METRIC_NAME, cache, c -> c.stats().missCount())
+        .description(METRIC_DESCRIPTION)
+        .tags(TAG_TYPE, type, TAG_RESULT, "miss")
+        .register(registry);
+    FunctionCounter.builder(EVICTIONS_METRIC_NAME, cache, c -> c.stats().evictionCount())
+        .description(EVICTIONS_METRIC_DESCRIPTION)
+        .tag(TAG_TYPE, type)
+        .register(registry);
+    Gauge.builder(SIZE_METRIC_NAME, cache, Cache::size)
+        .description(SIZE_METRIC_DESCRIPTION)
+        .tag(TAG_TYPE, type)
+        .register(registry);
+  }
+
+  /**
+   * Returns a copy of the cached room or loads it.
+   *
+   * @param streamId the room stream id
+   * @param loader looks up the room when not cached
+   * @return the room
+   * @throws SymphonyClientException on error looking up the room
+   */
+  SymphonyRoom getRoom(String streamId, Loader<SymphonyRoom> loader)
+      throws SymphonyClientException {
+    return copy(get(rooms, streamId, loader));
+  }
+
+  /**
+   * Returns a copy of the cached stream or loads it.
+   *
+   * @param streamId the stream id
+   * @param loader looks up the stream when not cached
+   * @return the stream
+   * @throws SymphonyClientException on error looking up the stream
+   */
+  SymphonyStream getStream(String streamId, Loader<SymphonyStream> loader)
+      throws SymphonyClientException {
+    return copy(get(streams, streamId, loader));
+  }
+
+  private <V> V get(Cache<String, V> cache, String streamId, Loader<V> loader)
+      throws SymphonyClientException {
+    if (streamId == null) {
+      return loader.load();
+    }
+
+    String key = key(streamId);
+    V value = cache.getIfPresent(key);
+    if (value != null) {
+      return value;
+    }
+    long loadVersion = version.get();
+    value = loader.load();
+    if (value != null) {
+      synchronized (this) {
+        if (version.get() == loadVersion) {
+          cache.put(key, value);
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Caches a room returned by Symphony, e.g. after an update.
+   *
+   * @param streamId the room stream id
+   * @param room the room
+   */
+  void putRoom(String streamId, SymphonyRoom room) {
+    if (streamId == null) {
+      return;
+    }
+    String key = key(streamId);
+    synchronized (this) {
+      version.incrementAndGet();
+      rooms.put(key, copy(room));
+      // the stream holds the room name
+      streams.invalidate(key);
+    }
+  }
+
+  /**
+   * Applies updated room properties to the cached room and stream, if any.
+   * Properties missing from the update are left unchanged.
+   *
+   * @param streamId the room stream id
+   * @param details the new room properties
+   */
+  void update(String streamId, RoomDetails details) {
+    if (details == null) {
+      invalidate(streamId);
+      return;
+    }
+    update(streamId, room -> {
+      SymphonyRoom updated = copy(room);
+      updated.setName(orElse(details.getName(), room.getName()));
+      updated.setDescription(orElse(details.getDescription(), room.getDescription()));
+      updated.setMembersCanInvite(
+          orElse(details.getMembersCanInvite(), room.getMembersCanInvite()));
+      updated.setDiscoverable(orElse(details.getDiscoverable(), room.getDiscoverable()));
+      updated.setPublicRoom(orElse(details.getIsPublic(), room.getPublicRoom()));
+      updated.setReadOnly(orElse(details.getReadOnly(), room.getReadOnly()));
+      updated.setCopyProtected(orElse(details.getCopyProtected(), room.getCopyProtected()));
+      updated.setCrossPod(orElse(details.getCrossPod(), room.getCrossPod()));
+      updated.setViewHistory(orElse(details.getCanViewHistory(), room.getViewHistory()));
+      if (details.getKeywords() != null) {
+        updated.setKeywords(new HashMap<>(details.getKeywords()));
+      }
+      return updated;
+    }, stream -> {
+      SymphonyStream updated = copy(stream);
+      updated.setRoomName(orElse(details.getName(), stream.getRoomName()));
+      return updated;
+    });
+  }
+
+  /**
+   * Marks the cached room and stream, if any, as active or not.
+   *
+   * @param streamId the room stream id
+   * @param active whether the room is active
+   */
+  void setActive(String streamId, boolean active) {
+    update(streamId, room -> {
+      SymphonyRoom updated = copy(room);
+      updated.setActive(active);
+      return updated;
+    }, stream -> {
+      SymphonyStream updated = copy(stream);
+      updated.setActive(active);
+      return updated;
+    });
+  }
+
+  /**
+   * Removes a room and its stream from the cache.
+   *
+   * @param streamId the room stream id
+   */
+  void invalidate(String streamId) {
+    if (streamId == null) {
+      return;
+    }
+    String key = key(streamId);
+    synchronized (this) {
+      version.incrementAndGet();
+      rooms.invalidate(key);
+      streams.invalidate(key);
+    }
+  }
+
+  private void update(String streamId, UnaryOperator<SymphonyRoom> roomUpdate,
+      UnaryOperator<SymphonyStream> streamUpdate) {
+    if (streamId == null) {
+      return;
+    }
+    String key = key(streamId);
+    synchronized (this) {
+      version.incrementAndGet();
+      SymphonyRoom room = rooms.getIfPresent(key);
+      if (room != null) {
+        rooms.put(key, roomUpdate.apply(room));
+      }
+      SymphonyStream stream = streams.getIfPresent(key);
+      if (stream != null) {
+        streams.put(key, streamUpdate.apply(stream));
+      }
+    }
+  }
+
+  /**
+   * Stream ids come either base64 or URL safe base64 encoded, e.g. in
+   * datafeed events: both map to the same key.
+   */
+  static String key(String streamId) {
+    int end = streamId.length();
+    while (end > 0 && streamId.charAt(end - 1) == '=') {
+      end--;
+    }
+    return streamId.substring(0, end).replace('+', '-').replace('/', '_');
+  }
+
+  private static <T> T orElse(T value, T current) {
+    return value != null ? value : current;
+  }
+
+  /**
+   * Copies a room, so that callers do not share a mutable instance
+   *
+   * @param room the room
+   * @return the copy, null if the room is null
+   */
+  static SymphonyRoom copy(SymphonyRoom room) {
+    if (room == null) {
+      return null;
+    }
+    return SymphonyRoom.builder()
+        .name(room.getName())
+        .description(room.getDescription())
+        .membersCanInvite(room.getMembersCanInvite())
+        .discoverable(room.getDiscoverable())
+        .publicRoom(room.getPublicRoom())
+        .readOnly(room.getReadOnly())
+        .copyProtected(room.getCopyProtected())
+        .crossPod(room.getCrossPod())
+        .viewHistory(room.getViewHistory())
+        .multiLateralRoom(room.getMultiLateralRoom())
+        .keywords(room.getKeywords() != null ? new HashMap<>(room.getKeywords()) : null)
+        .id(room.getId())
+        .creationDate(room.getCreationDate())
+        .createdByUserId(room.getCreatedByUserId())
+        .active(room.isActive())
+        .build();
+  }
+
+  /**
+   * Copies a stream, so that callers do not share a mutable instance
+   *
+   * @param stream the stream
+   * @return the copy, null if the stream is null
+   */
+  static SymphonyStream copy(SymphonyStream stream) {
+    if (stream == null) {
+      return null;
+    }
+    return SymphonyStream.builder()
+        .streamId(stream.getStreamId())
+        .crossPod(stream.getCrossPod())
+        .origin(stream.getOrigin())
+        .active(stream.getActive())
+        .lastMessageDate(stream.getLastMessageDate())
+        .streamType(stream.getStreamType())
+        .members(stream.getMembers() != null ? new ArrayList<>(stream.getMembers()) : null)
+        .roomName(stream.getRoomName())
+        .build();
+  }
+
+  /**
+   * Copies the streams of a list
+   *
+   * @param streams the streams
+   * @return a new list of copies
+   */
+  static List<SymphonyStream> copyStreams(List<SymphonyStream> streams) {
+    return streams.stream().map(RoomCache::copy).collect(Collectors.toList());
+  }
+
+  /**
+   * Copies the room members of a list
+   *
+   * @param members the room members
+   * @return a new list of copies
+   */
+  static List<SymphonyRoomMember> copyMembers(List<SymphonyRoomMember> members) {
+    return members.stream().map(SymphonyRoomMember::new).collect(Collectors.toList());
+  }
+
+}
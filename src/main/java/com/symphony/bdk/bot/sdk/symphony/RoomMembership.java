@@ -0,0 +1,248 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.symphony.bdk.bot.sdk.commons.LongHashSet;
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoomMember;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Index of the members and owners of the rooms checked by
+ * {@link StreamsClientImpl}. The members of a room are fetched once, on its
+ * first check, then kept current from the room membership datafeed events, so
+ * that checks are answered in constant time without calling Symphony. The time
+ * to live only guards against missed events.
+ * <p>
+ * Events received while the members of a room are fetched are replayed once
+ * fetched.
+ */
+class RoomMembership {
+  private static final String SIZE_METRIC_NAME = "symphony_bot_room_membership_size";
+  private static final String SIZE_METRIC_DESCRIPTION = "Number of rooms with indexed members";
+
+  /**
+   * Fetches the members of a room
+   */
+  interface Loader {
+    List<SymphonyRoomMember> load() throws SymphonyClientException;
+  }
+
+  private final Cache<String, Members> rooms;
+
+  /**
+   * @param maxRooms maximum number of rooms indexed
+   * @param ttl how long (in milliseconds) the members of a room are indexed
+   */
+  RoomMembership(long maxRooms, long ttl) {
+    this.rooms = CacheBuilder.newBuilder()
+        .maximumSize(maxRooms)
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * Registers the number of indexed rooms.
+   *
+   * @param registry the meter registry
+   */
+  void registerMetrics(MeterRegistry registry) {
+    Gauge.builder(SIZE_METRIC_NAME, rooms, Cache::size)
+        .description(SIZE_METRIC_DESCRIPTION)
+        .register(registry);
+  }
+
+  /**
+   * @param streamId the room stream id
+   * @param userId the user id
+   * @param loader fetches the room members when not indexed
+   * @return true if the user is a member of the room
+   * @throws SymphonyClientException on error fetching the room members
+   */
+  boolean isMember(String streamId, long userId, Loader loader)
+      throws SymphonyClientException {
+    Members members = get(streamId, loader);
+    synchronized (members) {
+      return members.members.contains(userId);
+    }
+  }
+
+  /**
+   * @param streamId the room stream id
+   * @param userId the user id
+   * @param loader fetches the room members when not indexed
+   * @return true if the user is an owner of the room
+   * @throws SymphonyClientException on error fetching the room members
+   */
+  boolean isOwner(String streamId, long userId, Loader loader)
+      throws SymphonyClientException {
+    Members members = get(streamId, loader);
+    synchronized (members) {
+      return members.owners.contains(userId);
+    }
+  }
+
+  /**
+   * Records a user joining a room, if indexed.
+   *
+   * @param streamId the room stream id
+   * @param userId the user id
+   */
+  void join(String streamId, Long userId) {
+    apply(streamId, userId, Change.JOIN);
+  }
+
+  /**
+   * Records a user leaving a room, if indexed.
+   *
+   * @param streamId the room stream id
+   * @param userId the user id
+   */
+  void leave(String streamId, Long userId) {
+    apply(streamId, userId, Change.LEAVE);
+  }
+
+  /**
+   * Records a room member promoted to owner, if indexed.
+   *
+   * @param streamId the room stream id
+   * @param userId the user id
+   */
+  void promote(String streamId, Long userId) {
+    apply(streamId, userId, Change.PROMOTE);
+  }
+
+  /**
+   * Records a room owner demoted to member, if indexed.
+   *
+   * @param streamId the room stream id
+   * @param userId the user id
+   */
+  void demote(String streamId, Long userId) {
+    apply(streamId, userId, Change.DEMOTE);
+  }
+
+  private Members get(String streamId, Loader loader) throws SymphonyClientException {
+    String key = RoomCache.key(streamId);
+    Members members;
+    try {
+      members = rooms.get(key, Members::new);
+    } catch (ExecutionException e) {
+      // never thrown, creating an entry does not fail
+      throw new IllegalStateException(e);
+    }
+    synchronized (members) {
+      if (members.loaded) {
+        return members;
+      }
+    }
+
+    List<SymphonyRoomMember> loaded;
+    try {
+      loaded = loader.load();
+    } catch (SymphonyClientException | RuntimeException e) {
+      rooms.asMap().remove(key, members);
+      throw e;
+    }
+    synchronized (members) {
+      if (!members.loaded) {
+        members.load(loaded);
+      }
+    }
+    return members;
+  }
+
+  private void apply(String streamId, Long userId, Change change) {
+    if (streamId == null || userId == null) {
+      return;
+    }
+    Members members = rooms.getIfPresent(RoomCache.key(streamId));
+    if (members != null) {
+      synchronized (members) {
+        members.apply(userId, change);
+      }
+    }
+  }
+
+  /**
+   * Membership change of a user
+   */
+  private enum Change {
+    JOIN, LEAVE, PROMOTE, DEMOTE
+  }
+
+  /**
+   * Change received while loading the members of a room
+   */
+  private static class PendingChange {
+    private final long userId;
+    private final Change change;
+
+    PendingChange(long userId, Change change) {
+      this.userId = userId;
+      this.change = change;
+    }
+  }
+
+  /**
+   * Members of a room, guarded by itself
+   */
+  private static class Members {
+    private LongHashSet members = new LongHashSet();
+    private LongHashSet owners = new LongHashSet();
+    private boolean loaded;
+    // changes received while loading
+    private List<PendingChange> pending = new ArrayList<>();
+
+    void load(List<SymphonyRoomMember> roomMembers) {
+      members = new LongHashSet(roomMembers.size());
+      owners = new LongHashSet();
+      for (SymphonyRoomMember member : roomMembers) {
+        if (member.getUserId() != null) {
+          members.add(member.getUserId());
+          if (Boolean.TRUE.equals(member.getOwner())) {
+            owners.add(member.getUserId());
+          }
+        }
+      }
+      loaded = true;
+      for (PendingChange pendingChange : pending) {
+        apply(pendingChange.userId, pendingChange.change);
+      }
+      pending = null;
+    }
+
+    void apply(long userId, Change change) {
+      if (!loaded) {
+        pending.add(new PendingChange(userId, change));
+        return;
+      }
+      switch (change) {
+        case JOIN:
+          members.add(userId);
+          break;
+        case LEAVE:
+          members.remove(userId);
+          owners.remove(userId);
+          break;
+        case PROMOTE:
+          members.add(userId);
+          owners.add(userId);
+          break;
+        case DEMOTE:
+          owners.remove(userId);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+}
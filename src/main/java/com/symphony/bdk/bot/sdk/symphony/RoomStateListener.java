@@ -0,0 +1,67 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import com.symphony.bdk.bot.sdk.event.model.RoomDeactivatedEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomMemberDemotedFromOwnerEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomMemberPromotedToOwnerEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomReactivatedEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomUpdatedEvent;
+import com.symphony.bdk.bot.sdk.event.model.UserJoinedRoomEvent;
+import com.symphony.bdk.bot.sdk.event.model.UserLeftRoomEvent;
+
+/**
+ * Keeps the room details held by a client, e.g. cached rooms and indexed room
+ * members, current from the room datafeed events.
+ * Internal use only.
+ */
+public interface RoomStateListener {
+
+  /**
+   * Applies the new room properties to the cached room, if any.
+   *
+   * @param event the room updated event
+   */
+  void onRoomUpdated(RoomUpdatedEvent event);
+
+  /**
+   * Marks the cached room, if any, as inactive.
+   *
+   * @param event the room deactivated event
+   */
+  void onRoomDeactivated(RoomDeactivatedEvent event);
+
+  /**
+   * Marks the cached room, if any, as active.
+   *
+   * @param event the room reactivated event
+   */
+  void onRoomReactivated(RoomReactivatedEvent event);
+
+  /**
+   * Adds the user to the indexed room members, if any.
+   *
+   * @param event the user joined room event
+   */
+  void onUserJoinedRoom(UserJoinedRoomEvent event);
+
+  /**
+   * Removes the user from the indexed room members, if any.
+   *
+   * @param event the user left room event
+   */
+  void onUserLeftRoom(UserLeftRoomEvent event);
+
+  /**
+   * Adds the user to the indexed room owners, if any.
+   *
+   * @param event the room member promoted to owner event
+   */
+  void onRoomMemberPromotedToOwner(RoomMemberPromotedToOwnerEvent event);
+
+  /**
+   * Removes the user from the indexed room owners, if any.
+   *
+   * @param event the room member demoted from owner event
+   */
+  void onRoomMemberDemotedFromOwner(RoomMemberDemotedFromOwnerEvent event);
+
+}
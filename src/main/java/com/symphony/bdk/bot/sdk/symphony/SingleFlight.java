@@ -0,0 +1,121 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+
+/**
+ * Coalesces concurrent identical lookups: while a call for a key is in
+ * flight, callers asking for the same key wait for it and share its result
+ * or its exception instead of making their own call to Symphony. Mutable
+ * results are copied for each caller, see
+ * {@link #execute(Object, Call, UnaryOperator)}.
+ */
+class SingleFlight {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlight.class);
+
+  /**
+   * A lookup in Symphony
+   */
+  interface Call<V> {
+    V call() throws SymphonyClientException;
+  }
+
+  private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Builds the key of a lookup
+   *
+   * @param method the looked up method
+   * @param args its arguments
+   * @return the key
+   */
+  static Object key(String method, Object... args) {
+    List<Object> key = new ArrayList<>(args.length + 1);
+    key.add(method);
+    key.addAll(Arrays.asList(args));
+    return key;
+  }
+
+  /**
+   * Runs the call, unless a call for the same key is in flight, in which
+   * case its outcome is returned.
+   *
+   * @param key the lookup key, see {@link #key(String, Object...)}
+   * @param call the lookup
+   * @return the result of the call
+   * @throws SymphonyClientException raised by the call
+   */
+  @SuppressWarnings("unchecked")
+  <V> V execute(Object key, Call<V> call) throws SymphonyClientException {
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> current = inFlight.putIfAbsent(key, flight);
+    if (current != null) {
+      LOGGER.debug("Waiting for in-flight call {}", key);
+      return (V) await(current);
+    }
+
+    try {
+      V result = call.call();
+      flight.complete(result);
+      return result;
+    } catch (Throwable t) {
+      flight.completeExceptionally(t);
+      throw t;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /**
+   * Runs the call, unless a call for the same key is in flight, and returns
+   * each caller its own copy of the result, so that callers do not share a
+   * mutable instance.
+   *
+   * @param key the lookup key, see {@link #key(String, Object...)}
+   * @param call the lookup
+   * @param copy copies the result
+   * @return a copy of the result of the call
+   * @throws SymphonyClientException raised by the call
+   */
+  <V> V execute(Object key, Call<V> call, UnaryOperator<V> copy)
+      throws SymphonyClientException {
+    return copy.apply(execute(key, call));
+  }
+
+  /**
+   * Waits for the outcome of a call completed by another thread.
+   *
+   * @param flight the call outcome
+   * @return the result of the call
+   * @throws SymphonyClientException raised by the call
+   */
+  static <V> V await(CompletableFuture<V> flight) throws SymphonyClientException {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SymphonyClientException) {
+        throw (SymphonyClientException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+}
@@ -1,6 +1,7 @@
 package com.symphony.bdk.bot.sdk.symphony;
 
 import java.util.List;
+import java.util.Objects;
 
 import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
 import com.symphony.bdk.bot.sdk.symphony.model.StreamType;
@@ -105,6 +106,33 @@ public interface StreamsClient {
   List<SymphonyRoomMember> getRoomMembers(String streamId)
       throws SymphonyClientException;
 
+  /**
+   * Checks whether a user is a member of a room
+   *
+   * @param streamId
+   * @param userId
+   * @return true if the user is a member of the room
+   * @throws SymphonyClientException on error connecting to Symphony
+   */
+  default boolean isMember(String streamId, Long userId) throws SymphonyClientException {
+    return getRoomMembers(streamId).stream()
+        .anyMatch(member -> Objects.equals(member.getUserId(), userId));
+  }
+
+  /**
+   * Checks whether a user is an owner of a room
+   *
+   * @param streamId
+   * @param userId
+   * @return true if the user is an owner of the room
+   * @throws SymphonyClientException on error connecting to Symphony
+   */
+  default boolean isOwner(String streamId, Long userId) throws SymphonyClientException {
+    return getRoomMembers(streamId).stream()
+        .anyMatch(member -> Objects.equals(member.getUserId(), userId)
+            && Boolean.TRUE.equals(member.getOwner()));
+  }
+
   /**
    * Activates a room
    *
@@ -7,6 +7,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.symphony.bdk.bot.sdk.event.model.RoomDeactivatedEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomMemberDemotedFromOwnerEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomMemberPromotedToOwnerEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomReactivatedEvent;
+import com.symphony.bdk.bot.sdk.event.model.RoomUpdatedEvent;
+import com.symphony.bdk.bot.sdk.event.model.UserJoinedRoomEvent;
+import com.symphony.bdk.bot.sdk.event.model.UserLeftRoomEvent;
+import com.symphony.bdk.bot.sdk.symphony.OutboundGovernor.Family;
+import com.symphony.bdk.bot.sdk.symphony.config.RoomCacheProps;
+import com.symphony.bdk.bot.sdk.symphony.config.RoomMembershipProps;
 import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
 import com.symphony.bdk.bot.sdk.symphony.model.StreamType;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoom;
@@ -16,18 +26,47 @@ import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoomSearchResult;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyStream;
 
 import clients.SymBotClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import model.Keyword;
 import model.Room;
 import model.RoomSearchQuery;
 
+/**
+ * Manages Symphony streams. Rooms and streams looked up by id are cached and
+ * kept current from the room datafeed events, see {@link RoomCacheProps}, as
+ * are the room members checked with {@link #isMember(String, Long)} and
+ * {@link #isOwner(String, Long)}, see {@link RoomMembershipProps}. Concurrent
+ * identical lookups share a single call to Symphony, see {@link SingleFlight},
+ * and every caller gets its own copy of the result.
+ */
 @Service
-public class StreamsClientImpl implements StreamsClient {
+public class StreamsClientImpl implements StreamsClient, RoomStateListener {
   private static final Logger LOGGER = LoggerFactory.getLogger(StreamsClientImpl.class);
 
   private clients.symphony.api.StreamsClient streamsClient;
+  private OutboundGovernor governor;
+  private final SingleFlight singleFlight = new SingleFlight();
+  private RoomCache roomCache;
+  private RoomMembership roomMembership;
 
-  public StreamsClientImpl(SymBotClient symBotClient) {
+  public StreamsClientImpl(SymBotClient symBotClient, OutboundGovernor governor,
+      RoomCacheProps roomCacheProps, RoomMembershipProps roomMembershipProps,
+      MeterRegistry meterRegistry) {
     this.streamsClient = symBotClient.getStreamsClient();
+    this.governor = governor;
+    if (roomCacheProps.isEnabled()) {
+      this.roomCache = new RoomCache(roomCacheProps.getMaxSize(), roomCacheProps.getTtl());
+      if (meterRegistry != null) {
+        roomCache.registerMetrics(meterRegistry);
+      }
+    }
+    if (roomMembershipProps.isEnabled()) {
+      this.roomMembership = new RoomMembership(roomMembershipProps.getMaxRooms(),
+          roomMembershipProps.getTtl());
+      if (meterRegistry != null) {
+        roomMembership.registerMetrics(meterRegistry);
+      }
+    }
   }
 
   /**
@@ -35,12 +74,14 @@ public class StreamsClientImpl implements StreamsClient {
    */
   @Override
   public String getUserIMStreamId(Long userId) throws SymphonyClientException {
-    try {
-      return streamsClient.getUserIMStreamId(userId);
-    } catch (Exception e) {
-      LOGGER.error("Error on getUserIMStreamId");
-      throw new SymphonyClientException(e);
-    }
+    return singleFlight.execute(SingleFlight.key("getUserIMStreamId", userId), () -> {
+      try {
+        return governor.call(Family.STREAMS, () -> streamsClient.getUserIMStreamId(userId));
+      } catch (Exception e) {
+        LOGGER.error("Error on getUserIMStreamId");
+        throw new SymphonyClientException(e);
+      }
+    });
   }
 
   /**
@@ -49,12 +90,14 @@ public class StreamsClientImpl implements StreamsClient {
   @Override
   public String getUserListIM(List<Long> userIds)
       throws SymphonyClientException {
-    try {
-      return streamsClient.getUserListIM(userIds);
-    } catch (Exception e) {
-      LOGGER.error("Error on getUserListIM");
-      throw new SymphonyClientException(e);
-    }
+    return singleFlight.execute(SingleFlight.key("getUserListIM", userIds), () -> {
+      try {
+        return governor.call(Family.STREAMS, () -> streamsClient.getUserListIM(userIds));
+      } catch (Exception e) {
+        LOGGER.error("Error on getUserListIM");
+        throw new SymphonyClientException(e);
+      }
+    });
   }
 
   /**
@@ -64,8 +107,9 @@ public class StreamsClientImpl implements StreamsClient {
   public SymphonyRoom createRoom(SymphonyRoom symphonyRoom)
       throws SymphonyClientException {
     try {
-      return new SymphonyRoom(streamsClient.createRoom(
-          toRoom(symphonyRoom)));
+      Room room = toRoom(symphonyRoom);
+      return new SymphonyRoom(
+          governor.call(Family.STREAMS, () -> streamsClient.createRoom(room)));
     } catch (Exception e) {
       LOGGER.error("Error on createRoom");
       throw new SymphonyClientException(e);
@@ -79,7 +123,10 @@ public class StreamsClientImpl implements StreamsClient {
   public void addMemberToRoom(String streamId, Long userId)
       throws SymphonyClientException {
     try {
-      streamsClient.addMemberToRoom(streamId, userId);
+      governor.run(Family.STREAMS, () -> streamsClient.addMemberToRoom(streamId, userId));
+      if (roomMembership != null) {
+        roomMembership.join(streamId, userId);
+      }
     } catch (Exception e) {
       LOGGER.error("Error on addMemberToRoom");
       throw new SymphonyClientException(e);
@@ -93,7 +140,11 @@ public class StreamsClientImpl implements StreamsClient {
   public void removeMemberFromRoom(String streamId, Long userId)
       throws SymphonyClientException {
     try {
-      streamsClient.removeMemberFromRoom(streamId, userId);
+      governor.run(Family.STREAMS,
+          () -> streamsClient.removeMemberFromRoom(streamId, userId));
+      if (roomMembership != null) {
+        roomMembership.leave(streamId, userId);
+      }
     } catch (Exception e) {
       LOGGER.error("Error on removeMemberFromRoom");
       throw new SymphonyClientException(e);
@@ -106,12 +157,23 @@ public class StreamsClientImpl implements StreamsClient {
   @Override
   public SymphonyRoom getRoomInfo(String streamId)
       throws SymphonyClientException {
-    try {
-      return new SymphonyRoom(streamsClient.getRoomInfo(streamId));
-    } catch (Exception e) {
-      LOGGER.error("Error on getRoomInfo");
-      throw new SymphonyClientException(e);
+    if (roomCache == null) {
+      return fetchRoomInfo(streamId);
     }
+    return roomCache.getRoom(streamId, () -> fetchRoomInfo(streamId));
+  }
+
+  private SymphonyRoom fetchRoomInfo(String streamId) throws SymphonyClientException {
+    Object key = SingleFlight.key("getRoomInfo", streamId);
+    return singleFlight.execute(key, () -> {
+      try {
+        return new SymphonyRoom(
+            governor.call(Family.STREAMS, () -> streamsClient.getRoomInfo(streamId)));
+      } catch (Exception e) {
+        LOGGER.error("Error on getRoomInfo");
+        throw new SymphonyClientException(e);
+      }
+    }, RoomCache::copy);
   }
 
   /**
@@ -121,8 +183,13 @@ public class StreamsClientImpl implements StreamsClient {
   public SymphonyRoom updateRoom(String streamId, SymphonyRoom symphonyRoom)
       throws SymphonyClientException {
     try {
-      return new SymphonyRoom(
-        streamsClient.updateRoom(streamId, toRoom(symphonyRoom)));
+      Room room = toRoom(symphonyRoom);
+      SymphonyRoom updated = new SymphonyRoom(
+        governor.call(Family.STREAMS, () -> streamsClient.updateRoom(streamId, room)));
+      if (roomCache != null) {
+        roomCache.putRoom(streamId, updated);
+      }
+      return updated;
     } catch (Exception e) {
       LOGGER.error("Error on updateRoom");
       throw new SymphonyClientException(e);
@@ -135,12 +202,23 @@ public class StreamsClientImpl implements StreamsClient {
   @Override
   public SymphonyStream getStreamInfo(String streamId)
       throws SymphonyClientException {
-    try {
-      return new SymphonyStream(streamsClient.getStreamInfo(streamId));
-    } catch (Exception e) {
-      LOGGER.error("Error on getStreamInfo");
-      throw new SymphonyClientException(e);
+    if (roomCache == null) {
+      return fetchStreamInfo(streamId);
     }
+    return roomCache.getStream(streamId, () -> fetchStreamInfo(streamId));
+  }
+
+  private SymphonyStream fetchStreamInfo(String streamId) throws SymphonyClientException {
+    Object key = SingleFlight.key("getStreamInfo", streamId);
+    return singleFlight.execute(key, () -> {
+      try {
+        return new SymphonyStream(
+            governor.call(Family.STREAMS, () -> streamsClient.getStreamInfo(streamId)));
+      } catch (Exception e) {
+        LOGGER.error("Error on getStreamInfo");
+        throw new SymphonyClientException(e);
+      }
+    }, RoomCache::copy);
   }
 
   /**
@@ -149,16 +227,40 @@ public class StreamsClientImpl implements StreamsClient {
   @Override
   public List<SymphonyRoomMember> getRoomMembers(String streamId)
       throws SymphonyClientException {
-    try {
-      return streamsClient
-          .getRoomMembers(streamId)
-          .stream()
-          .map(SymphonyRoomMember::new)
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      LOGGER.error("Error on getRoomMembers");
-      throw new SymphonyClientException(e);
+    Object key = SingleFlight.key("getRoomMembers", streamId);
+    return singleFlight.execute(key, () -> {
+      try {
+        return governor.call(Family.STREAMS, () -> streamsClient.getRoomMembers(streamId))
+            .stream()
+            .map(SymphonyRoomMember::new)
+            .collect(Collectors.toList());
+      } catch (Exception e) {
+        LOGGER.error("Error on getRoomMembers");
+        throw new SymphonyClientException(e);
+      }
+    }, RoomCache::copyMembers);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isMember(String streamId, Long userId) throws SymphonyClientException {
+    if (roomMembership == null || streamId == null || userId == null) {
+      return StreamsClient.super.isMember(streamId, userId);
     }
+    return roomMembership.isMember(streamId, userId, () -> getRoomMembers(streamId));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isOwner(String streamId, Long userId) throws SymphonyClientException {
+    if (roomMembership == null || streamId == null || userId == null) {
+      return StreamsClient.super.isOwner(streamId, userId);
+    }
+    return roomMembership.isOwner(streamId, userId, () -> getRoomMembers(streamId));
   }
 
   /**
@@ -167,7 +269,10 @@ public class StreamsClientImpl implements StreamsClient {
   @Override
   public void activateRoom(String streamId) throws SymphonyClientException {
     try {
-      streamsClient.activateRoom(streamId);
+      governor.run(Family.STREAMS, () -> streamsClient.activateRoom(streamId));
+      if (roomCache != null) {
+        roomCache.setActive(streamId, true);
+      }
     } catch (Exception e) {
       LOGGER.error("Error on activateRoom");
       throw new SymphonyClientException(e);
@@ -180,7 +285,10 @@ public class StreamsClientImpl implements StreamsClient {
   @Override
   public void deactivateRoom(String streamId) throws SymphonyClientException {
     try {
-      streamsClient.deactivateRoom(streamId);
+      governor.run(Family.STREAMS, () -> streamsClient.deactivateRoom(streamId));
+      if (roomCache != null) {
+        roomCache.setActive(streamId, false);
+      }
     } catch (Exception e) {
       LOGGER.error("Error on deactivateRoom");
       throw new SymphonyClientException(e);
@@ -194,7 +302,11 @@ public class StreamsClientImpl implements StreamsClient {
   public void promoteUserToOwner(String streamId, Long userId)
       throws SymphonyClientException {
     try {
-      streamsClient.promoteUserToOwner(streamId, userId);
+      governor.run(Family.STREAMS,
+          () -> streamsClient.promoteUserToOwner(streamId, userId));
+      if (roomMembership != null) {
+        roomMembership.promote(streamId, userId);
+      }
     } catch (Exception e) {
       LOGGER.error("Error on promoteUserToOwner");
       throw new SymphonyClientException(e);
@@ -208,7 +320,11 @@ public class StreamsClientImpl implements StreamsClient {
   public void demoteUserFromOwner(String streamId, Long userId)
       throws SymphonyClientException {
     try {
-      streamsClient.demoteUserFromOwner(streamId, userId);
+      governor.run(Family.STREAMS,
+          () -> streamsClient.demoteUserFromOwner(streamId, userId));
+      if (roomMembership != null) {
+        roomMembership.demote(streamId, userId);
+      }
     } catch (Exception e) {
       LOGGER.error("Error on demoteUserFromOwner");
       throw new SymphonyClientException(e);
@@ -222,9 +338,9 @@ public class StreamsClientImpl implements StreamsClient {
   public SymphonyRoomSearchResult searchRooms(SymphonyRoomSearchQuery symphonySearchQuery)
       throws SymphonyClientException {
     try {
-      return new SymphonyRoomSearchResult(streamsClient
-          .searchRooms(toRoomSearchQuery(symphonySearchQuery), symphonySearchQuery.getSkip(),
-              symphonySearchQuery.getLimit()));
+      RoomSearchQuery query = toRoomSearchQuery(symphonySearchQuery);
+      return new SymphonyRoomSearchResult(governor.call(Family.STREAMS, () -> streamsClient
+          .searchRooms(query, symphonySearchQuery.getSkip(), symphonySearchQuery.getLimit())));
     } catch (NoContentException nce) {
       return new SymphonyRoomSearchResult();
     } catch (Exception e) {
@@ -239,32 +355,108 @@ public class StreamsClientImpl implements StreamsClient {
   @Override
   public List<SymphonyStream> getUserStreams(List<StreamType> streamTypes,
       boolean includeInactiveStreams) throws SymphonyClientException {
-    try {
-      List<String> streamTypeNames = streamTypes != null ? streamTypes
-          .stream()
-          .map(StreamType::toString)
-          .collect(Collectors.toList()) : null;
-      return streamsClient.getUserStreams(streamTypeNames, includeInactiveStreams)
-          .stream()
-          .map(SymphonyStream::new)
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      LOGGER.error("Error on getUserStreams");
-      throw new SymphonyClientException(e);
+    Object key = SingleFlight.key("getUserStreams", streamTypes, includeInactiveStreams);
+    return singleFlight.execute(key, () -> {
+      try {
+        List<String> streamTypeNames = streamTypes != null ? streamTypes
+            .stream()
+            .map(StreamType::toString)
+            .collect(Collectors.toList()) : null;
+        return governor.call(Family.STREAMS,
+            () -> streamsClient.getUserStreams(streamTypeNames, includeInactiveStreams))
+            .stream()
+            .map(SymphonyStream::new)
+            .collect(Collectors.toList());
+      } catch (Exception e) {
+        LOGGER.error("Error on getUserStreams");
+        throw new SymphonyClientException(e);
+      }
+    }, RoomCache::copyStreams);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SymphonyStream getUserWallStream() throws SymphonyClientException {
+    return singleFlight.execute(SingleFlight.key("getUserWallStream"), () -> {
+      try {
+        return new SymphonyStream(
+            governor.call(Family.STREAMS, () -> streamsClient.getUserWallStream()));
+      } catch (Exception e) {
+        LOGGER.error("Error on getUserWallStream");
+        throw new SymphonyClientException(e);
+      }
+    }, RoomCache::copy);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onRoomUpdated(RoomUpdatedEvent event) {
+    if (roomCache != null) {
+      roomCache.update(event.getStreamId(), event.getRoom());
     }
+  }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onRoomDeactivated(RoomDeactivatedEvent event) {
+    if (roomCache != null) {
+      roomCache.setActive(event.getStreamId(), false);
+    }
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public SymphonyStream getUserWallStream() throws SymphonyClientException {
-    try {
-      return new SymphonyStream(streamsClient.getUserWallStream());
-    } catch (Exception e) {
-      LOGGER.error("Error on getUserWallStream");
-      throw new SymphonyClientException(e);
+  public void onRoomReactivated(RoomReactivatedEvent event) {
+    if (roomCache != null) {
+      roomCache.setActive(event.getStreamId(), true);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onUserJoinedRoom(UserJoinedRoomEvent event) {
+    if (roomMembership != null) {
+      roomMembership.join(event.getStreamId(), event.getUserId());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onUserLeftRoom(UserLeftRoomEvent event) {
+    if (roomMembership != null) {
+      roomMembership.leave(event.getStreamId(), event.getUserId());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onRoomMemberPromotedToOwner(RoomMemberPromotedToOwnerEvent event) {
+    if (roomMembership != null) {
+      roomMembership.promote(event.getStreamId(), event.getUserId());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onRoomMemberDemotedFromOwner(RoomMemberDemotedFromOwnerEvent event) {
+    if (roomMembership != null) {
+      roomMembership.demote(event.getStreamId(), event.getUserId());
     }
   }
 
@@ -0,0 +1,124 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyUser;
+
+/**
+ * Collects the users looked up by id within a small window and fetches them
+ * with a single list lookup, so that handlers resolving users one by one in a
+ * loop do not make one call per user.
+ * <p>
+ * The first caller of a batch waits for the window to elapse, or for the
+ * batch to be full, then fetches the batch on behalf of all its callers. No
+ * background thread is involved.
+ */
+class UserBatcher {
+  private static final Logger LOGGER = LoggerFactory.getLogger(UserBatcher.class);
+
+  /**
+   * Looks up several users in Symphony
+   */
+  interface Loader {
+    List<SymphonyUser> load(List<Long> userIds, Boolean local) throws SymphonyClientException;
+  }
+
+  private final Loader loader;
+  private final long maxWait;
+  private final int maxSize;
+  // pending batch per local flag, guarded by itself
+  private final Map<Boolean, Batch> batches = new HashMap<>();
+
+  /**
+   * @param loader fetches a batch of users
+   * @param maxWait how long (in milliseconds) lookups are collected
+   * @param maxSize maximum number of users fetched at once
+   */
+  UserBatcher(Loader loader, long maxWait, int maxSize) {
+    this.loader = loader;
+    this.maxWait = maxWait;
+    this.maxSize = Math.max(1, maxSize);
+  }
+
+  /**
+   * Looks up a user as part of the pending batch.
+   *
+   * @param userId the user id
+   * @param local whether the lookup is restricted to the local pod
+   * @return the user, null if not found
+   * @throws SymphonyClientException on error fetching the batch
+   */
+  SymphonyUser get(Long userId, Boolean local) throws SymphonyClientException {
+    Batch batch;
+    boolean leader;
+    CompletableFuture<SymphonyUser> user;
+    synchronized (batches) {
+      batch = batches.get(local);
+      leader = batch == null;
+      if (leader) {
+        batch = new Batch(local);
+        batches.put(local, batch);
+      }
+      user = batch.users.computeIfAbsent(userId, id -> new CompletableFuture<>());
+      if (batch.users.size() >= maxSize) {
+        batches.remove(local);
+        batch.full.countDown();
+      }
+    }
+
+    if (leader) {
+      awaitFull(batch);
+      synchronized (batches) {
+        batches.remove(local, batch);
+      }
+      load(batch);
+    }
+    return SingleFlight.await(user);
+  }
+
+  private void awaitFull(Batch batch) {
+    try {
+      batch.full.await(maxWait, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void load(Batch batch) {
+    List<Long> userIds = new ArrayList<>(batch.users.keySet());
+    LOGGER.debug("Fetching {} users in a single lookup", userIds.size());
+    try {
+      Map<Long, SymphonyUser> found = new HashMap<>();
+      for (SymphonyUser user : loader.load(userIds, batch.local)) {
+        found.putIfAbsent(user.getUserId(), user);
+      }
+      batch.users.forEach((userId, user) -> user.complete(found.get(userId)));
+    } catch (Throwable t) {
+      batch.users.values().forEach(user -> user.completeExceptionally(t));
+    }
+  }
+
+  /**
+   * Users looked up during a window
+   */
+  private static class Batch {
+    private final Boolean local;
+    private final Map<Long, CompletableFuture<SymphonyUser>> users = new LinkedHashMap<>();
+    private final CountDownLatch full = new CountDownLatch(1);
+
+    Batch(Boolean local) {
+      this.local = local;
+    }
+  }
+
+}
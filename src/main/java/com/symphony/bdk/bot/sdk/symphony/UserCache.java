@@ -0,0 +1,243 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyUser;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded cache of the users looked up by {@link UsersClientImpl}. Users not
+ * found are cached too, for a shorter time, so that lookups of unknown users
+ * do not reach Symphony every time. List lookups are served from the cached
+ * entries and only the missing users are fetched. Callers get copies of the
+ * cached entries, which they are free to modify.
+ */
+class UserCache {
+  private static final String METRIC_NAME = "symphony_bot_user_cache";
+  private static final String METRIC_DESCRIPTION = "Lookups of cached users";
+  private static final String EVICTIONS_METRIC_NAME = "symphony_bot_user_cache_evictions";
+  private static final String EVICTIONS_METRIC_DESCRIPTION = "Users evicted from the cache";
+  private static final String SIZE_METRIC_NAME = "symphony_bot_user_cache_size";
+  private static final String SIZE_METRIC_DESCRIPTION = "Number of cached users";
+  private static final String TAG_RESULT = "result";
+  private static final String TAG_TYPE = "type";
+  private static final String NOT_FOUND = "not-found";
+
+  /**
+   * Looks up a user in Symphony
+   */
+  interface Loader {
+    SymphonyUser load() throws SymphonyClientException;
+  }
+
+  /**
+   * Looks up several users in Symphony
+   */
+  interface ListLoader<K> {
+    List<SymphonyUser> load(List<K> values) throws SymphonyClientException;
+  }
+
+  private final Cache<Object, SymphonyUser> users;
+  private final Cache<Object, Boolean> notFound;
+
+  /**
+   * @param maxSize maximum number of users cached, and of users not found
+   * @param ttl how long (in milliseconds) a user is cached
+   * @param notFoundTtl how long (in milliseconds) a user not found is cached
+   */
+  UserCache(long maxSize, long ttl, long notFoundTtl) {
+    this.users = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+    this.notFound = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(notFoundTtl, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Builds the cache key of a lookup
+   *
+   * @param type what the user is looked up by (e.g. id, email)
+   * @param value the looked up value
+   * @param local whether the lookup is restricted to the local pod
+   * @return the key, null if the value is null
+   */
+  static Object key(String type, Object value, Boolean local) {
+    return value != null ? new Key(type, value, local) : null;
+  }
+
+  /**
+   * Registers the hits, misses, evictions and size of the cache.
+   *
+   * @param registry the meter registry
+   */
+  void registerMetrics(MeterRegistry registry) {
+    FunctionCounter.builder(METRIC_NAME, users, cache -> cache.stats().hitCount())
+        .description(METRIC_DESCRIPTION)
+        .tag(TAG_RESULT, "hit")
+        .register(registry);
+    FunctionCounter.builder(METRIC_NAME, notFound, cache -> cache.stats().hitCount())
+        .description(METRIC_DESCRIPTION)
+        .tag(TAG_RESULT, NOT_FOUND)
+        .register(registry);
+    // every user cache miss is looked up in the not found cache
+    FunctionCounter.builder(METRIC_NAME, notFound, cache -> cache.stats().missCount())
+        .description(METRIC_DESCRIPTION)
+        .tag(TAG_RESULT, "miss")
+        .register(registry);
+    FunctionCounter.builder(EVICTIONS_METRIC_NAME, this,
+        cache -> cache.users.stats().evictionCount() + cache.notFound.stats().evictionCount())
+        .description(EVICTIONS_METRIC_DESCRIPTION)
+        .register(registry);
+    Gauge.builder(SIZE_METRIC_NAME, users, Cache::size)
+        .description(SIZE_METRIC_DESCRIPTION)
+        .tag(TAG_TYPE, "found")
+        .register(registry);
+    Gauge.builder(SIZE_METRIC_NAME, notFound, Cache::size)
+        .description(SIZE_METRIC_DESCRIPTION)
+        .tag(TAG_TYPE, NOT_FOUND)
+        .register(registry);
+  }
+
+  /**
+   * Copies a user, so that callers do not share a mutable instance
+   *
+   * @param user the user
+   * @return the copy, null if the user is null
+   */
+  static SymphonyUser copy(SymphonyUser user) {
+    return user != null ? new SymphonyUser(user) : null;
+  }
+
+  /**
+   * Returns a copy of the cached user or loads it.
+   *
+   * @param key the lookup key, see {@link #key(String, Object, Boolean)}
+   * @param loader looks up the user when not cached
+   * @return the user, null if not found
+   * @throws SymphonyClientException on error looking up the user
+   */
+  SymphonyUser get(Object key, Loader loader) throws SymphonyClientException {
+    if (key == null) {
+      return loader.load();
+    }
+
+    SymphonyUser user = users.getIfPresent(key);
+    if (user != null || notFound.getIfPresent(key) != null) {
+      return copy(user);
+    }
+    user = loader.load();
+    put(key, user);
+    return copy(user);
+  }
+
+  /**
+   * Returns copies of the cached users and loads the missing ones at once.
+   *
+   * @param values the looked up values
+   * @param keyOf the lookup key of a value
+   * @param keyOfUser the lookup key of a loaded user
+   * @param loader looks up the users not cached
+   * @return the users found, in the order of the values
+   * @throws SymphonyClientException on error looking up the users
+   */
+  <K> List<SymphonyUser> getAll(List<K> values, Function<K, Object> keyOf,
+      Function<SymphonyUser, Object> keyOfUser, ListLoader<K> loader)
+      throws SymphonyClientException {
+    Map<Object, SymphonyUser> found = new LinkedHashMap<>();
+    List<K> misses = new ArrayList<>();
+    for (K value : values) {
+      Object key = keyOf.apply(value);
+      if (key == null || found.containsKey(key)) {
+        continue;
+      }
+      SymphonyUser user = users.getIfPresent(key);
+      if (user != null) {
+        found.put(key, user);
+      } else if (notFound.getIfPresent(key) == null) {
+        found.put(key, null);
+        misses.add(value);
+      }
+    }
+
+    if (!misses.isEmpty()) {
+      for (SymphonyUser user : loader.load(misses)) {
+        Object key = keyOfUser.apply(user);
+        if (key != null) {
+          users.put(key, copy(user));
+          found.replace(key, user);
+        }
+      }
+      for (K miss : misses) {
+        Object key = keyOf.apply(miss);
+        if (found.get(key) == null) {
+          notFound.put(key, Boolean.TRUE);
+        }
+      }
+    }
+
+    return found.values().stream()
+        .filter(Objects::nonNull)
+        .map(UserCache::copy)
+        .collect(Collectors.toList());
+  }
+
+  private void put(Object key, SymphonyUser user) {
+    if (user != null) {
+      users.put(key, copy(user));
+    } else {
+      notFound.put(key, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Lookup key
+   */
+  private static final class Key {
+    private final String type;
+    private final Object value;
+    private final Boolean local;
+
+    Key(String type, Object value, Boolean local) {
+      this.type = type;
+      this.value = value;
+      this.local = local;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return type.equals(other.type) && value.equals(other.value)
+          && Objects.equals(local, other.local);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, value, local);
+    }
+  }
+
+}
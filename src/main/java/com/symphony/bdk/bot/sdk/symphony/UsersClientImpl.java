@@ -7,27 +7,63 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.symphony.bdk.bot.sdk.symphony.OutboundGovernor.Family;
+import com.symphony.bdk.bot.sdk.symphony.config.UserBatchProps;
+import com.symphony.bdk.bot.sdk.symphony.config.UserCacheProps;
 import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyUser;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyUserFilter;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyUserSearchResult;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 import javax.ws.rs.core.NoContentException;
 
+/**
+ * Retrieves user-related details from Symphony. Users looked up by id, email
+ * or username are cached, see {@link UserCacheProps}, and concurrent identical
+ * lookups share a single call to Symphony, see {@link SingleFlight}. Lookups
+ * by id can be batched, see {@link UserBatchProps}. Every caller gets its own
+ * copy of the users, as the shared lookups return the same instances.
+ */
 @Service
 public class UsersClientImpl implements UsersClient {
   private static final Logger LOGGER = LoggerFactory.getLogger(UsersClientImpl.class);
+  private static final String ID = "id";
+  private static final String EMAIL = "email";
+  private static final String USERNAME = "username";
 
   private UserInfo botUserInfo;
   private clients.symphony.api.UsersClient usersClient;
+  private OutboundGovernor governor;
+  private UserCache userCache;
+  private UserBatcher userBatcher;
+  private final SingleFlight singleFlight = new SingleFlight();
 
-  public UsersClientImpl(SymBotClient symBotClient) {
+  public UsersClientImpl(SymBotClient symBotClient, OutboundGovernor governor,
+      UserCacheProps userCacheProps, UserBatchProps userBatchProps,
+      MeterRegistry meterRegistry) {
     this.usersClient = symBotClient.getUsersClient();
+    this.governor = governor;
     this.botUserInfo = usersClient.getSessionUser();
+    if (userCacheProps.isEnabled()) {
+      this.userCache = new UserCache(userCacheProps.getMaxSize(), userCacheProps.getTtl(),
+          userCacheProps.getNotFoundTtl());
+      if (meterRegistry != null) {
+        userCache.registerMetrics(meterRegistry);
+      }
+    }
+    if (userBatchProps.isEnabled()) {
+      LOGGER.info("Batching users looked up by id within {} ms",
+          userBatchProps.getMaxWait());
+      this.userBatcher = new UserBatcher(this::fetchUsersFromIdList,
+          userBatchProps.getMaxWait(), userBatchProps.getMaxSize());
+    }
   }
 
   /**
@@ -52,14 +88,27 @@ public class UsersClientImpl implements UsersClient {
   @Override
   public SymphonyUser getUserFromUsername(String username)
       throws SymphonyClientException {
-    try {
-      return new SymphonyUser(usersClient.getUserFromUsername(username));
-    } catch (NoContentException nce) {
-      return null;
-    } catch (Exception e) {
-      LOGGER.error("Error on getUserFromUsername");
-      throw new SymphonyClientException(e);
+    if (userCache == null) {
+      return fetchUserFromUsername(username);
     }
+    return userCache.get(UserCache.key(USERNAME, username, null),
+        () -> fetchUserFromUsername(username));
+  }
+
+  private SymphonyUser fetchUserFromUsername(String username)
+      throws SymphonyClientException {
+    Object key = SingleFlight.key("getUserFromUsername", username);
+    return UserCache.copy(singleFlight.execute(key, () -> {
+      try {
+        return new SymphonyUser(
+            governor.call(Family.USERS, () -> usersClient.getUserFromUsername(username)));
+      } catch (NoContentException nce) {
+        return null;
+      } catch (Exception e) {
+        LOGGER.error("Error on getUserFromUsername");
+        throw new SymphonyClientException(e);
+      }
+    }));
   }
 
   /**
@@ -68,14 +117,26 @@ public class UsersClientImpl implements UsersClient {
   @Override
   public SymphonyUser getUserFromEmail(String email, Boolean local)
       throws SymphonyClientException {
-    try {
-      return new SymphonyUser(usersClient.getUserFromEmail(email, local));
-    } catch (NoContentException nce) {
-      return null;
-    } catch (Exception e) {
-      LOGGER.error("Error on getUserFromEmail");
-      throw new SymphonyClientException(e);
+    if (userCache == null) {
+      return fetchUserFromEmail(email, local);
     }
+    return userCache.get(emailKey(email, local), () -> fetchUserFromEmail(email, local));
+  }
+
+  private SymphonyUser fetchUserFromEmail(String email, Boolean local)
+      throws SymphonyClientException {
+    Object key = SingleFlight.key("getUserFromEmail", email, local);
+    return UserCache.copy(singleFlight.execute(key, () -> {
+      try {
+        return new SymphonyUser(
+            governor.call(Family.USERS, () -> usersClient.getUserFromEmail(email, local)));
+      } catch (NoContentException nce) {
+        return null;
+      } catch (Exception e) {
+        LOGGER.error("Error on getUserFromEmail");
+        throw new SymphonyClientException(e);
+      }
+    }));
   }
 
   /**
@@ -84,14 +145,29 @@ public class UsersClientImpl implements UsersClient {
   @Override
   public SymphonyUser getUserFromId(Long userId, Boolean local)
       throws SymphonyClientException {
-    try {
-      return new SymphonyUser(usersClient.getUserFromId(userId, local));
-    } catch (NoContentException nce) {
-      return null;
-    } catch (Exception e) {
-      LOGGER.error("Error on getUserFromId");
-      throw new SymphonyClientException(e);
+    if (userCache == null) {
+      return fetchUserFromId(userId, local);
     }
+    return userCache.get(UserCache.key(ID, userId, local), () -> fetchUserFromId(userId, local));
+  }
+
+  private SymphonyUser fetchUserFromId(Long userId, Boolean local)
+      throws SymphonyClientException {
+    Object key = SingleFlight.key("getUserFromId", userId, local);
+    return UserCache.copy(singleFlight.execute(key, () -> {
+      if (userBatcher != null && userId != null) {
+        return userBatcher.get(userId, local);
+      }
+      try {
+        return new SymphonyUser(
+            governor.call(Family.USERS, () -> usersClient.getUserFromId(userId, local)));
+      } catch (NoContentException nce) {
+        return null;
+      } catch (Exception e) {
+        LOGGER.error("Error on getUserFromId");
+        throw new SymphonyClientException(e);
+      }
+    }));
   }
 
   /**
@@ -100,18 +176,30 @@ public class UsersClientImpl implements UsersClient {
   @Override
   public List<SymphonyUser> getUsersFromIdList(List<Long> userIds, Boolean local)
       throws SymphonyClientException {
-    try {
-      return usersClient
-          .getUsersFromIdList(userIds, local)
-          .stream()
-          .map(SymphonyUser::new)
-          .collect(Collectors.toList());
-    } catch (NoContentException nce) {
-      return new ArrayList<SymphonyUser>();
-    } catch (Exception e) {
-      LOGGER.error("Error on getUsersFromIdList");
-      throw new SymphonyClientException(e);
+    if (userCache == null) {
+      return fetchUsersFromIdList(userIds, local);
     }
+    return userCache.getAll(userIds, userId -> UserCache.key(ID, userId, local),
+        user -> UserCache.key(ID, user.getUserId(), local),
+        misses -> fetchUsersFromIdList(misses, local));
+  }
+
+  private List<SymphonyUser> fetchUsersFromIdList(List<Long> userIds, Boolean local)
+      throws SymphonyClientException {
+    Object key = SingleFlight.key("getUsersFromIdList", userIds, local);
+    return copies(singleFlight.execute(key, () -> {
+      try {
+        return governor.call(Family.USERS, () -> usersClient.getUsersFromIdList(userIds, local))
+            .stream()
+            .map(SymphonyUser::new)
+            .collect(Collectors.toList());
+      } catch (NoContentException nce) {
+        return new ArrayList<SymphonyUser>();
+      } catch (Exception e) {
+        LOGGER.error("Error on getUsersFromIdList");
+        throw new SymphonyClientException(e);
+      }
+    }));
   }
 
   /**
@@ -120,18 +208,31 @@ public class UsersClientImpl implements UsersClient {
   @Override
   public List<SymphonyUser> getUsersFromEmailList(List<String> emails, Boolean local)
       throws SymphonyClientException {
-    try {
-      return usersClient
-          .getUsersFromEmailList(emails, local)
-          .stream()
-          .map(SymphonyUser::new)
-          .collect(Collectors.toList());
-    } catch (NoContentException nce) {
-      return new ArrayList<SymphonyUser>();
-    } catch (Exception e) {
-      LOGGER.error("Error on getUsersFromEmailList");
-      throw new SymphonyClientException(e);
+    if (userCache == null) {
+      return fetchUsersFromEmailList(emails, local);
     }
+    return userCache.getAll(emails, email -> emailKey(email, local),
+        user -> emailKey(user.getEmailAddress(), local),
+        misses -> fetchUsersFromEmailList(misses, local));
+  }
+
+  private List<SymphonyUser> fetchUsersFromEmailList(List<String> emails, Boolean local)
+      throws SymphonyClientException {
+    Object key = SingleFlight.key("getUsersFromEmailList", emails, local);
+    return copies(singleFlight.execute(key, () -> {
+      try {
+        return governor.call(Family.USERS,
+            () -> usersClient.getUsersFromEmailList(emails, local))
+            .stream()
+            .map(SymphonyUser::new)
+            .collect(Collectors.toList());
+      } catch (NoContentException nce) {
+        return new ArrayList<SymphonyUser>();
+      } catch (Exception e) {
+        LOGGER.error("Error on getUsersFromEmailList");
+        throw new SymphonyClientException(e);
+      }
+    }));
   }
 
   /**
@@ -141,9 +242,10 @@ public class UsersClientImpl implements UsersClient {
   public SymphonyUserSearchResult searchUsers(SymphonyUserFilter userFilter)
       throws SymphonyClientException {
     try {
-      return new SymphonyUserSearchResult(usersClient
+      UserFilter filter = toUserFilter(userFilter);
+      return new SymphonyUserSearchResult(governor.call(Family.USERS, () -> usersClient
           .searchUsers(userFilter.getQuery(), userFilter.isLocal(), userFilter.getSkip(),
-              userFilter.getLimit(), toUserFilter(userFilter)));
+              userFilter.getLimit(), filter)));
     } catch (NoContentException nce) {
       return new SymphonyUserSearchResult();
     } catch (Exception e) {
@@ -158,13 +260,21 @@ public class UsersClientImpl implements UsersClient {
   @Override
   public SymphonyUser getSessionUser() throws SymphonyClientException {
     try {
-      return new SymphonyUser(usersClient.getSessionUser());
+      return new SymphonyUser(governor.call(Family.USERS, () -> usersClient.getSessionUser()));
     } catch (Exception e) {
       LOGGER.error("Error on getSessionUser");
       throw new SymphonyClientException(e);
     }
   }
 
+  private static List<SymphonyUser> copies(List<SymphonyUser> users) {
+    return users.stream().map(UserCache::copy).collect(Collectors.toList());
+  }
+
+  private static Object emailKey(String email, Boolean local) {
+    return UserCache.key(EMAIL, email != null ? email.toLowerCase(Locale.ROOT) : null, local);
+  }
+
   private UserFilter toUserFilter(SymphonyUserFilter symphonyUserFilter) {
     UserFilter userFilter = new UserFilter();
     userFilter.setCompany(symphonyUserFilter.getCompany());
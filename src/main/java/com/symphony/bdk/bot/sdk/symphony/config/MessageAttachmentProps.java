@@ -0,0 +1,21 @@
+package com.symphony.bdk.bot.sdk.symphony.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "message.attachments")
+public class MessageAttachmentProps {
+
+  private long spoolThreshold = 1024 * 1024;
+
+  private String spoolDirectory;
+
+  private int downloadConcurrency = 4;
+
+}
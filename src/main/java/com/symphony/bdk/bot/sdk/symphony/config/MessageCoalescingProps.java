@@ -0,0 +1,21 @@
+package com.symphony.bdk.bot.sdk.symphony.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "message.coalescing")
+public class MessageCoalescingProps {
+
+  private boolean enabled;
+
+  private long window = 200;
+
+  private int maxLength = 40000;
+
+}
@@ -0,0 +1,23 @@
+package com.symphony.bdk.bot.sdk.symphony.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "concurrency.message.pool")
+public class MessagePoolProps {
+
+  private int lanes = 4;
+
+  private int queueCapacity = 1000;
+
+  private String threadNamePrefix = "message-pool";
+
+  private boolean asyncResponses;
+
+}
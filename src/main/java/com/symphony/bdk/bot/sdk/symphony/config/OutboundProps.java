@@ -0,0 +1,27 @@
+package com.symphony.bdk.bot.sdk.symphony.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "symphony.outbound")
+public class OutboundProps {
+
+  private Double messagesRate;
+
+  private Double streamsRate;
+
+  private Double usersRate;
+
+  private int maxRetries = 3;
+
+  private long defaultRetryAfter = 1000;
+
+  private long maxJitter = 250;
+
+}
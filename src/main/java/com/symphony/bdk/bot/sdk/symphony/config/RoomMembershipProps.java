@@ -0,0 +1,21 @@
+package com.symphony.bdk.bot.sdk.symphony.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "symphony.rooms.membership")
+public class RoomMembershipProps {
+
+  private boolean enabled = true;
+
+  private long maxRooms = 1000;
+
+  private long ttl = 3600000;
+
+}
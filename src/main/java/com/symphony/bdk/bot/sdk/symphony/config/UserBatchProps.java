@@ -0,0 +1,21 @@
+package com.symphony.bdk.bot.sdk.symphony.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "symphony.users.batch")
+public class UserBatchProps {
+
+  private boolean enabled;
+
+  private int maxSize = 100;
+
+  private long maxWait = 5;
+
+}
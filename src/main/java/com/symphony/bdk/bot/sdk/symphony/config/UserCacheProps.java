@@ -0,0 +1,23 @@
+package com.symphony.bdk.bot.sdk.symphony.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Component
+@ConfigurationProperties(prefix = "symphony.users.cache")
+public class UserCacheProps {
+
+  private boolean enabled = true;
+
+  private long maxSize = 10000;
+
+  private long ttl = 600000;
+
+  private long notFoundTtl = 60000;
+
+}
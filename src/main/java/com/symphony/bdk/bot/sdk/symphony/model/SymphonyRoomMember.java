@@ -24,4 +24,10 @@ public class SymphonyRoomMember {
     this.owner = roomMember.getOwner();
     this.joinDate = roomMember.getJoinDate();
   }
+
+  public SymphonyRoomMember(SymphonyRoomMember roomMember) {
+    this.userId = roomMember.getUserId();
+    this.owner = roomMember.getOwner();
+    this.joinDate = roomMember.getJoinDate();
+  }
 }
@@ -52,4 +52,24 @@ public class SymphonyUser {
     this.avatars = userInfo.getAvatars().stream().map(UserAvatar::new).collect(Collectors.toList());
   }
 
+  public SymphonyUser(SymphonyUser user) {
+    this.userId = user.getUserId();
+    this.emailAddress = user.getEmailAddress();
+    this.firstName = user.getFirstName();
+    this.lastName = user.getLastName();
+    this.displayName = user.getDisplayName();
+    this.title = user.getTitle();
+    this.company = user.getCompany();
+    this.username = user.getUsername();
+    this.location = user.getLocation();
+    this.workPhoneNumber = user.getWorkPhoneNumber();
+    this.mobilePhoneNumber = user.getMobilePhoneNumber();
+    this.jobFunction = user.getJobFunction();
+    this.department = user.getDepartment();
+    this.division = user.getDivision();
+    this.avatars = user.getAvatars() != null
+        ? user.getAvatars().stream().map(UserAvatar::new).collect(Collectors.toList())
+        : null;
+  }
+
 }
@@ -23,4 +23,9 @@ public class UserAvatar {
     this.url = avatar.getUrl();
   }
 
+  public UserAvatar(UserAvatar avatar) {
+    this.size = avatar.getSize();
+    this.url = avatar.getUrl();
+  }
+
 }
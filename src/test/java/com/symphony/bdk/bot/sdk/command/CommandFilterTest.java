@@ -1,5 +1,7 @@
 package com.symphony.bdk.bot.sdk.command;
 
+import static com.symphony.bdk.bot.sdk.command.matcher.CommandMatcherBuilder.beginsWith;
+import static com.symphony.bdk.bot.sdk.command.matcher.EscapedCharacter.whiteSpace;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -28,6 +30,9 @@ public class CommandFilterTest {
   @Mock
   private CommandDispatcher commandDispatcher;
 
+  @Mock
+  private CommandRateLimiter commandRateLimiter;
+
   @InjectMocks
   private CommandFilterImpl commandFilter;
 
@@ -67,6 +72,20 @@ public class CommandFilterTest {
     verify(commandDispatcher, times(1)).push(eq("testCommand"), any(BotCommand.class));
   }
 
+  @Test
+  public void filterWithMatcherRateLimitedTest() {
+    MessageEvent messageEvent = mock(MessageEvent.class);
+    when(messageEvent.getMessage()).thenReturn("@BotName /test");
+    when(commandRateLimiter.isLimited(messageEvent)).thenReturn(true);
+
+    commandFilter.addFilter("testCommand", Pattern
+        .compile("^@BotName /test$")
+        .asPredicate());
+    commandFilter.filter(messageEvent);
+
+    verify(commandDispatcher, never()).push(anyString(), any(BotCommand.class));
+  }
+
   @Test
   public void filterDefaultMatcherTest() {
     MessageEvent messageEvent = mock(MessageEvent.class);
@@ -95,4 +114,75 @@ public class CommandFilterTest {
     verify(commandDispatcher, never()).push(eq("defaultCommand"), any(BotCommand.class));
   }
 
+  @Test
+  public void filterWithIndexedMatcherSuccessMatchTest() {
+    MessageEvent messageEvent = mock(MessageEvent.class);
+    when(messageEvent.getMessage()).thenReturn("@BotName /help me");
+
+    commandFilter.addFilter("testCommand", beginsWith("@BotName")
+        .followedBy(whiteSpace())
+        .followedBy("/test")
+        .predicate());
+    commandFilter.addFilter("helpCommand", beginsWith("@BotName")
+        .followedBy(whiteSpace())
+        .followedBy("/help")
+        .predicate());
+    commandFilter.filter(messageEvent);
+
+    verify(commandDispatcher, times(1)).push(eq("helpCommand"), any(BotCommand.class));
+    verify(commandDispatcher, never()).push(eq("testCommand"), any(BotCommand.class));
+  }
+
+  @Test
+  public void filterWithIndexedMatcherNotMatchTest() {
+    MessageEvent messageEvent = mock(MessageEvent.class);
+    when(messageEvent.getMessage()).thenReturn("just chatting");
+
+    commandFilter.addFilter("testCommand", beginsWith("@BotName")
+        .followedBy(whiteSpace())
+        .followedBy("/test")
+        .predicate());
+    commandFilter.filter(messageEvent);
+
+    verify(commandDispatcher, never()).push(anyString(), any(BotCommand.class));
+  }
+
+  @Test
+  public void filterFirstRegisteredMatcherWinsTest() {
+    MessageEvent messageEvent = mock(MessageEvent.class);
+    when(messageEvent.getMessage()).thenReturn("@BotName /test");
+
+    commandFilter.addFilter("opaqueCommand", Pattern
+        .compile("/test$")
+        .asPredicate());
+    commandFilter.addFilter("indexedCommand", beginsWith("@BotName")
+        .followedBy(whiteSpace())
+        .followedBy("/test")
+        .predicate());
+    commandFilter.filter(messageEvent);
+
+    verify(commandDispatcher, times(1)).push(eq("opaqueCommand"), any(BotCommand.class));
+    verify(commandDispatcher, never()).push(eq("indexedCommand"), any(BotCommand.class));
+  }
+
+  @Test
+  public void filterMergesCandidatesInRegistrationOrderTest() {
+    MessageEvent messageEvent = mock(MessageEvent.class);
+    when(messageEvent.getMessage()).thenReturn("@BotName /test");
+
+    commandFilter.addFilter("otherCommand", beginsWith("@BotName")
+        .followedBy(whiteSpace())
+        .followedBy("/other")
+        .predicate());
+    commandFilter.addFilter("longPrefixCommand", beginsWith("@BotName /test").predicate());
+    commandFilter.addFilter("opaqueCommand", Pattern
+        .compile("/test$")
+        .asPredicate());
+    commandFilter.addFilter("shortPrefixCommand", beginsWith("@BotName").predicate());
+    commandFilter.filter(messageEvent);
+
+    verify(commandDispatcher, times(1)).push(eq("longPrefixCommand"), any(BotCommand.class));
+    verify(commandDispatcher, times(1)).push(anyString(), any(BotCommand.class));
+  }
+
 }
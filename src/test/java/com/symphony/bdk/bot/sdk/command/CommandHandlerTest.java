@@ -1,8 +1,12 @@
 package com.symphony.bdk.bot.sdk.command;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -22,13 +26,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.symphony.bdk.bot.sdk.command.CommandDispatcher;
 import com.symphony.bdk.bot.sdk.command.CommandFilter;
 import com.symphony.bdk.bot.sdk.command.CommandHandler;
+import com.symphony.bdk.bot.sdk.command.config.CachedResponse;
 import com.symphony.bdk.bot.sdk.command.model.BotCommand;
 import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
 import com.symphony.bdk.bot.sdk.feature.FeatureManager;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Outcome;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Type;
 import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
 import com.symphony.bdk.bot.sdk.symphony.UsersClient;
 import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
 
+import model.OutboundMessage;
+
 @ExtendWith(MockitoExtension.class)
 public class CommandHandlerTest {
 
@@ -47,9 +57,15 @@ public class CommandHandlerTest {
   @Mock
   private UsersClient usersClient;
 
+  @Mock
+  private HandlerMetrics handlerMetrics;
+
   @InjectMocks
   private TestCommandHandler commandHandler;
 
+  @InjectMocks
+  private CachedTestCommandHandler cachedCommandHandler;
+
 
   static class TestCommandHandler extends CommandHandler {
 
@@ -80,6 +96,10 @@ public class CommandHandlerTest {
     }
   }
 
+  @CachedResponse(scope = CachedResponse.Scope.USER)
+  static class CachedTestCommandHandler extends TestCommandHandler {
+  }
+
   @Test
   public void onCommandTest() {
     CommandHandler spyCommandHandler = spy(commandHandler);
@@ -129,6 +149,35 @@ public class CommandHandlerTest {
         ._sendMessage(any(String.class), any(SymphonyMessage.class));
   }
 
+  @Test
+  public void onCommandFeedbackDisabledRecordsNoResponseTest() {
+    commandHandler.setInternalHandle(
+        (cmd, msg) -> msg.setMessage("some response message"));
+    BotCommand command = mock(BotCommand.class);
+    when(featureManager.isCommandFeedbackEnabled()).thenReturn(false);
+
+    commandHandler.onCommand(command);
+
+    verify(handlerMetrics, times(1)).record(eq(Type.COMMAND), same(commandHandler), anyLong(),
+        eq(Outcome.NO_RESPONSE));
+  }
+
+  @Test
+  public void onCommandSendResponseMessageRecordsOkTest() {
+    commandHandler.setInternalHandle(
+        (cmd, msg) -> msg.setMessage("some response message"));
+    BotCommand command = mock(BotCommand.class);
+    MessageEvent message = mock(MessageEvent.class);
+    when(message.getStreamId()).thenReturn("STREAM_ID_1234");
+    when(command.getMessageEvent()).thenReturn(message);
+    when(featureManager.isCommandFeedbackEnabled()).thenReturn(true);
+
+    commandHandler.onCommand(command);
+
+    verify(handlerMetrics, times(1)).record(eq(Type.COMMAND), same(commandHandler), anyLong(),
+        eq(Outcome.OK));
+  }
+
   @Test
   public void onCommandSendResponseMessageTest() {
     commandHandler.setInternalHandle(
@@ -182,4 +231,52 @@ public class CommandHandlerTest {
         ._sendMessage(any(String.class), any(SymphonyMessage.class));
   }
 
+  @Test
+  public void onCommandCachedResponseTest() {
+    CommandHandler spyCommandHandler = spy(cachedCommandHandler);
+    doAnswer(invocation -> {
+      ((SymphonyMessage) invocation.getArgument(1)).setMessage("some response message");
+      return null;
+    }).when(spyCommandHandler).handle(any(BotCommand.class), any(SymphonyMessage.class));
+    BotCommand command = mockCommand("/test", 1234L);
+    OutboundMessage response = mock(OutboundMessage.class);
+    when(messageClient.toOutboundMessage(any(SymphonyMessage.class))).thenReturn(response);
+    when(featureManager.isCommandFeedbackEnabled()).thenReturn(true);
+
+    spyCommandHandler.onCommand(command);
+    spyCommandHandler.onCommand(command);
+
+    verify(spyCommandHandler, times(1)).handle(
+        any(BotCommand.class), any(SymphonyMessage.class));
+    verify(messageClient, times(2))._sendMessage("STREAM_ID_1234", response);
+  }
+
+  @Test
+  public void onCommandCachedResponseOtherUserTest() {
+    CommandHandler spyCommandHandler = spy(cachedCommandHandler);
+    doAnswer(invocation -> {
+      ((SymphonyMessage) invocation.getArgument(1)).setMessage("some response message");
+      return null;
+    }).when(spyCommandHandler).handle(any(BotCommand.class), any(SymphonyMessage.class));
+    when(messageClient.toOutboundMessage(any(SymphonyMessage.class)))
+        .thenReturn(mock(OutboundMessage.class));
+    when(featureManager.isCommandFeedbackEnabled()).thenReturn(true);
+
+    spyCommandHandler.onCommand(mockCommand("/test", 1234L));
+    spyCommandHandler.onCommand(mockCommand("/test", 5678L));
+
+    verify(spyCommandHandler, times(2)).handle(
+        any(BotCommand.class), any(SymphonyMessage.class));
+  }
+
+  private BotCommand mockCommand(String text, Long userId) {
+    BotCommand command = mock(BotCommand.class);
+    MessageEvent message = mock(MessageEvent.class);
+    when(message.getMessage()).thenReturn(text);
+    when(message.getUserId()).thenReturn(userId);
+    when(message.getStreamId()).thenReturn("STREAM_ID_1234");
+    when(command.getMessageEvent()).thenReturn(message);
+    return command;
+  }
+
 }
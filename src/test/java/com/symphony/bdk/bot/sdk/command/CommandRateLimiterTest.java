@@ -0,0 +1,112 @@
+package com.symphony.bdk.bot.sdk.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.symphony.bdk.bot.sdk.command.config.CommandRateLimitProps;
+import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
+import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandRateLimiterTest {
+
+  @Mock
+  private MessageClientImpl messageClient;
+
+  private CommandRateLimitProps props;
+
+  private MeterRegistry registry;
+
+  @BeforeEach
+  public void setUp() {
+    props = new CommandRateLimitProps();
+    props.setUserLimit(1.0);
+    props.setStreamLimit(1.0);
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  public void userTokenKeptWhenStreamLimitedTest() {
+    CommandRateLimiter rateLimiter = new CommandRateLimiter(props, messageClient, registry);
+
+    assertFalse(rateLimiter.isLimited(command(1L, "STREAM_1")));
+    // limited by the stream, the second user still has a token
+    assertTrue(rateLimiter.isLimited(command(2L, "STREAM_1")));
+    assertFalse(rateLimiter.isLimited(command(2L, "STREAM_2")));
+
+    assertEquals(1, count("stream"));
+    assertEquals(0, count("user"));
+  }
+
+  @Test
+  public void streamTokenKeptWhenUserLimitedTest() {
+    CommandRateLimiter rateLimiter = new CommandRateLimiter(props, messageClient, registry);
+
+    assertFalse(rateLimiter.isLimited(command(1L, "STREAM_1")));
+    // limited by the user, the second stream still has a token
+    assertTrue(rateLimiter.isLimited(command(1L, "STREAM_2")));
+    assertFalse(rateLimiter.isLimited(command(2L, "STREAM_2")));
+
+    assertEquals(1, count("user"));
+    assertEquals(0, count("stream"));
+  }
+
+  @Test
+  public void replyOnceWhenLimitedTest() {
+    props.setReplyMessage("Slow down");
+    CompletableFuture<Void> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IllegalStateException("Could not send message"));
+    when(messageClient.sendMessageAsync(eq("STREAM_1"), any(SymphonyMessage.class)))
+        .thenReturn(failed);
+    CommandRateLimiter rateLimiter = new CommandRateLimiter(props, messageClient, registry);
+
+    assertFalse(rateLimiter.isLimited(command(1L, "STREAM_1")));
+    assertTrue(rateLimiter.isLimited(command(1L, "STREAM_1")));
+    assertTrue(rateLimiter.isLimited(command(1L, "STREAM_1")));
+
+    verify(messageClient, times(1)).sendMessageAsync(eq("STREAM_1"), any(SymphonyMessage.class));
+  }
+
+  @Test
+  public void noReplyWhenNotSetTest() {
+    CommandRateLimiter rateLimiter = new CommandRateLimiter(props, messageClient, registry);
+
+    assertFalse(rateLimiter.isLimited(command(1L, "STREAM_1")));
+    assertTrue(rateLimiter.isLimited(command(1L, "STREAM_1")));
+
+    verify(messageClient, never()).sendMessageAsync(any(), any(SymphonyMessage.class));
+  }
+
+  private double count(String scope) {
+    return registry.get("symphony_bot_rate_limited_commands")
+        .tag("scope", scope)
+        .counter()
+        .count();
+  }
+
+  private static MessageEvent command(Long userId, String streamId) {
+    MessageEvent messageEvent = new MessageEvent();
+    messageEvent.setUserId(userId);
+    messageEvent.setStreamId(streamId);
+    messageEvent.setMessage("/hello");
+    return messageEvent;
+  }
+
+}
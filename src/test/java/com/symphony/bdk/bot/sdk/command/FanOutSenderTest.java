@@ -0,0 +1,196 @@
+package com.symphony.bdk.bot.sdk.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.symphony.bdk.bot.sdk.command.config.FanOutProps;
+import com.symphony.bdk.bot.sdk.command.model.FanOutResult;
+import com.symphony.bdk.bot.sdk.symphony.MessageClientImpl;
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
+
+import model.OutboundMessage;
+
+@ExtendWith(MockitoExtension.class)
+public class FanOutSenderTest {
+
+  @Mock
+  private MessageClientImpl messageClient;
+
+  private FanOutSender fanOutSender;
+
+  @AfterEach
+  public void shutdown() {
+    if (fanOutSender != null) {
+      fanOutSender.shutdown();
+    }
+  }
+
+  @Test
+  public void sendTest() throws Exception {
+    SymphonyMessage message = new SymphonyMessage("some alert");
+    when(messageClient.toOutboundMessage(message)).thenReturn(mock(OutboundMessage.class));
+    doAnswer(invocation -> {
+      if ("STREAM_2".equals(invocation.getArgument(0))) {
+        throw new SymphonyClientException(new RuntimeException());
+      }
+      return null;
+    }).when(messageClient).sendMessage(any(String.class), any(OutboundMessage.class));
+    fanOutSender = new FanOutSender(messageClient, new FanOutProps());
+
+    FanOutResult result = fanOutSender
+        .send(message, Arrays.asList("STREAM_1", "STREAM_2", "STREAM_3"))
+        .get(5, TimeUnit.SECONDS);
+
+    assertEquals(3, result.getStreamResults().size());
+    assertEquals(2, result.getSucceeded().size());
+    assertEquals(1, result.getFailed().size());
+    assertEquals("STREAM_2", result.getFailed().get(0).getStreamId());
+    // rendered once for all the streams
+    verify(messageClient, times(1)).toOutboundMessage(message);
+  }
+
+  @Test
+  public void sendBoundedConcurrencyTest() throws Exception {
+    when(messageClient.toOutboundMessage(any(SymphonyMessage.class)))
+        .thenReturn(mock(OutboundMessage.class));
+    AtomicInteger sending = new AtomicInteger();
+    AtomicInteger maxSending = new AtomicInteger();
+    doAnswer(invocation -> {
+      maxSending.accumulateAndGet(sending.incrementAndGet(), Math::max);
+      Thread.sleep(50);
+      sending.decrementAndGet();
+      return null;
+    }).when(messageClient).sendMessage(any(String.class), any(OutboundMessage.class));
+    FanOutProps fanOutProps = new FanOutProps();
+    fanOutProps.setConcurrency(2);
+    fanOutSender = new FanOutSender(messageClient, fanOutProps);
+
+    FanOutResult result = fanOutSender
+        .send(new SymphonyMessage("some alert"),
+            Arrays.asList("STREAM_1", "STREAM_2", "STREAM_3", "STREAM_4", "STREAM_5"))
+        .get(5, TimeUnit.SECONDS);
+
+    assertEquals(5, result.getSucceeded().size());
+    assertTrue(maxSending.get() <= 2);
+  }
+
+  @Test
+  public void sendDoesNotWaitForSendsTest() throws Exception {
+    when(messageClient.toOutboundMessage(any(SymphonyMessage.class)))
+        .thenReturn(mock(OutboundMessage.class));
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      await(release);
+      return null;
+    }).when(messageClient).sendMessage(any(String.class), any(OutboundMessage.class));
+    FanOutProps fanOutProps = new FanOutProps();
+    fanOutProps.setConcurrency(2);
+    fanOutSender = new FanOutSender(messageClient, fanOutProps);
+
+    CompletableFuture<FanOutResult> result = fanOutSender
+        .send(new SymphonyMessage("some alert"),
+            Arrays.asList("STREAM_1", "STREAM_2", "STREAM_3"));
+
+    assertFalse(result.isDone());
+    verify(messageClient, timeout(5000)).sendMessage(eq("STREAM_2"), any(OutboundMessage.class));
+    verify(messageClient, never()).sendMessage(eq("STREAM_3"), any(OutboundMessage.class));
+    release.countDown();
+    assertEquals(3, result.get(5, TimeUnit.SECONDS).getSucceeded().size());
+  }
+
+  @Test
+  public void sendInOrderToSameStreamTest() throws Exception {
+    OutboundMessage first = mock(OutboundMessage.class);
+    OutboundMessage second = mock(OutboundMessage.class);
+    SymphonyMessage firstMessage = new SymphonyMessage("first alert");
+    SymphonyMessage secondMessage = new SymphonyMessage("second alert");
+    when(messageClient.toOutboundMessage(firstMessage)).thenReturn(first);
+    when(messageClient.toOutboundMessage(secondMessage)).thenReturn(second);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      if (invocation.getArgument(1) == first) {
+        await(release);
+      }
+      return null;
+    }).when(messageClient).sendMessage(any(String.class), any(OutboundMessage.class));
+    fanOutSender = new FanOutSender(messageClient, new FanOutProps());
+
+    CompletableFuture<FanOutResult> firstResult =
+        fanOutSender.send(firstMessage, Collections.singletonList("STREAM_1"));
+    CompletableFuture<FanOutResult> secondResult =
+        fanOutSender.send(secondMessage, Arrays.asList("STREAM_1", "STREAM_2"));
+
+    // the other stream is not held back by the first message
+    verify(messageClient, timeout(5000)).sendMessage("STREAM_2", second);
+    verify(messageClient, never()).sendMessage("STREAM_1", second);
+    release.countDown();
+    assertEquals(1, firstResult.get(5, TimeUnit.SECONDS).getSucceeded().size());
+    assertEquals(2, secondResult.get(5, TimeUnit.SECONDS).getSucceeded().size());
+    InOrder inOrder = inOrder(messageClient);
+    inOrder.verify(messageClient).sendMessage("STREAM_1", first);
+    inOrder.verify(messageClient).sendMessage("STREAM_1", second);
+  }
+
+  @Test
+  public void sendRateLimitedTest() throws Exception {
+    when(messageClient.toOutboundMessage(any(SymphonyMessage.class)))
+        .thenReturn(mock(OutboundMessage.class));
+    FanOutProps fanOutProps = new FanOutProps();
+    fanOutProps.setRate(20.0);
+    fanOutSender = new FanOutSender(messageClient, fanOutProps);
+
+    CompletableFuture<FanOutResult> result = fanOutSender
+        .send(new SymphonyMessage("some alert"),
+            Arrays.asList("STREAM_1", "STREAM_2", "STREAM_3", "STREAM_4"));
+
+    // the remaining messages are sent later by the rate scheduler
+    assertFalse(result.isDone());
+    assertEquals(4, result.get(5, TimeUnit.SECONDS).getSucceeded().size());
+  }
+
+  @Test
+  public void sendRenderingErrorTest() throws Exception {
+    when(messageClient.toOutboundMessage(any(SymphonyMessage.class)))
+        .thenThrow(new RuntimeException("malformed template"));
+    fanOutSender = new FanOutSender(messageClient, new FanOutProps());
+
+    FanOutResult result = fanOutSender
+        .send(new SymphonyMessage("some alert"), Arrays.asList("STREAM_1", "STREAM_2"))
+        .get(5, TimeUnit.SECONDS);
+
+    assertEquals(2, result.getFailed().size());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
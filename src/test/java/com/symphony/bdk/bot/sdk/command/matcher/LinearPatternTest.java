@@ -0,0 +1,183 @@
+package com.symphony.bdk.bot.sdk.command.matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class LinearPatternTest {
+
+  @AfterEach
+  public void resetDefaultEngine() {
+    CommandMatcherBuilder.setDefaultEngine(MatcherEngine.JDK);
+  }
+
+  @Test
+  public void literalParityTest() {
+    assertParity("hello", "hello", "hello world", "say hello", "help", "", "HELLO");
+    assertParity("/help", "/help", "/help me", "please /help", "/hel");
+  }
+
+  @Test
+  public void quantifierParityTest() {
+    assertParity("a+b*c?", "a", "aaabbbc", "bc", "xaby", "");
+    assertParity("x{2}", "x", "xx", "xxx");
+    assertParity("x{2,3}", "x", "xx", "xxxx", "axxxxxb");
+    assertParity("x{2,}y", "xy", "xxy", "xxxxxxy");
+    assertParity("a+?", "aaa", "baaa");
+    assertParity("<.+?>", "<a><b>", "<>", "<abc");
+    assertParity("<.+>", "<a><b>", "<>");
+    assertParity("(ab)*c", "c", "abababc", "abac");
+  }
+
+  @Test
+  public void alternationParityTest() {
+    assertParity("cat|category|dog", "category", "hotdog", "ca", "dogcat");
+    assertParity("/(start|stop|status)", "/start", "/status now", "/st");
+    assertParity("(a|ab)(c|bcd)(d*)", "abcd", "acd", "abcdd");
+  }
+
+  @Test
+  public void numberedCaptureParityTest() {
+    assertParity("(\\w+)@(\\w+)\\.com", "mail bob@example.com now", "bob@example.org");
+    assertParity("(a)?b", "b", "ab", "cb");
+    assertParity("((a)|(b))+", "ab", "ba", "aab");
+    assertParity("/remind (\\d+) (minutes?|hours?) (.*)", "/remind 5 minutes call Bob",
+        "/remind 1 hour", "/remind x hours nope");
+  }
+
+  @Test
+  public void namedCaptureParityTest() {
+    String regex = "/(?<command>\\w+)\\s+(?<arg>\\d+)";
+    Pattern jdk = Pattern.compile(regex);
+    LinearPattern linear = LinearPattern.compile(regex);
+
+    for (String input : new String[] {"/ticket 1234", "hey /close  42 done"}) {
+      Matcher matcher = jdk.matcher(input);
+      assertTrue(matcher.find());
+      LinearMatchResult result = linear.find(input).get();
+      assertEquals(matcher.group("command"), result.group("command"));
+      assertEquals(matcher.group("arg"), result.group("arg"));
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> linear.find("/ticket 1").get().group("missing"));
+  }
+
+  @Test
+  public void anchorParityTest() {
+    assertParity("^/help$", "/help", "/help\n", "/help\r\n", "/help\n\n", "x/help", "/helpx");
+    assertParity("^\\s*/\\w+", "  /cmd", "a /cmd");
+    assertParity("end$", "the end", "the end\n", "endless");
+    assertParity("\\Astart", "start", " start");
+    assertParity("stop\\z", "stop", "stop\n");
+    assertParity("stop\\Z", "stop", "stop\n", "stop\n\n");
+  }
+
+  @Test
+  public void wordBoundaryParityTest() {
+    assertParity("\\bbot\\b", "a bot here", "robot", "bots", "bot", "bot_");
+    assertParity("\\Bot\\B", "bots", "bot", "ot");
+    assertParity("\\b\\d+\\b", "room 42", "r2d2", "42");
+  }
+
+  @Test
+  public void characterClassParityTest() {
+    assertParity("[a-z0-9_-]+", "Hello_World-42", "!!!");
+    assertParity("[^\\s]+", "  token  ", "   ");
+    assertParity("\\d{3}-\\d{4}", "call 555-1234", "55-1234");
+    assertParity("\\W+", "abc!?def", "abc");
+    assertParity("[\\w.]+@[\\w.]+", "mail: a.b@c.d", "@");
+    assertParity("[]a]+", "]a]", "b");
+    assertParity("[a-]+", "a-a", "b");
+    assertParity("a.c", "abc", "a\nc", "a\rc");
+    assertParity("\\s\\S\\h\\v", " x \n", "xx x\n");
+    assertParity("\\x41\\u0042\\t\\0101", "AB\tA", "AB A");
+  }
+
+  @Test
+  public void rejectsBacktrackingConstructsTest() {
+    for (String regex : new String[] {"(a)\\1", "(?<x>a)\\k<x>", "a(?=b)", "a(?!b)",
+        "(?<=a)b", "(?<!a)b", "(?i)abc", "a++", "[a-z&&[^x]]"}) {
+      assertThrows(IllegalArgumentException.class, () -> LinearPattern.compile(regex), regex);
+    }
+  }
+
+  @Test
+  public void predicateFallsBackToJdkEngineTest() {
+    CommandMatcherBuilder.setDefaultEngine(MatcherEngine.LINEAR);
+    CommandMatcherBuilder builder = CommandMatcherBuilder.beginsWith("/echo ")
+        .followedBy(CommandMatcherBuilder.numericReference(
+            CommandMatcherBuilder.group("\\w+").regex() + " ", 1));
+
+    Predicate<String> predicate = builder.predicate();
+
+    assertTrue(predicate.test("/echo hi hi"));
+    assertFalse(predicate.test("/echo hi ho"));
+    assertThrows(IllegalArgumentException.class, () -> builder.predicate(MatcherEngine.LINEAR));
+  }
+
+  @Test
+  public void predicateUsesLinearEngineTest() {
+    CommandMatcherBuilder.setDefaultEngine(MatcherEngine.LINEAR);
+    Predicate<String> predicate = CommandMatcherBuilder.beginsWith("/help").predicate();
+
+    assertTrue(predicate.test("/help me"));
+    assertFalse(predicate.test("help"));
+  }
+
+  @Test
+  public void nestedQuantifiersRunInLinearTimeTest() {
+    String input = String.join("", Collections.nCopies(100000, "a"));
+    LinearPattern pattern = LinearPattern.compile("(a+)+b");
+    LinearPattern alternation = LinearPattern.compile("^(a|aa)*c$");
+
+    // the backtracking engine does not complete on a few dozen characters
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      assertFalse(pattern.matches(input));
+      assertFalse(pattern.find(input).isPresent());
+      assertFalse(alternation.matchEntire(input).isPresent());
+    });
+    assertTrue(pattern.matches(input + "b"));
+  }
+
+  private static void assertParity(String regex, String... inputs) {
+    Pattern jdk = Pattern.compile(regex);
+    LinearPattern linear = LinearPattern.compile(regex);
+    for (String input : inputs) {
+      String message = regex + " on \"" + input + "\"";
+
+      Matcher finder = jdk.matcher(input);
+      boolean found = finder.find();
+      assertEquals(found, linear.matches(input), message);
+      assertMatch(found ? finder : null, linear.find(input), message);
+
+      Matcher entire = jdk.matcher(input);
+      assertMatch(entire.matches() ? entire : null, linear.matchEntire(input), message);
+    }
+  }
+
+  private static void assertMatch(Matcher expected, Optional<LinearMatchResult> actual,
+      String message) {
+    assertEquals(expected != null, actual.isPresent(), message);
+    if (expected == null) {
+      return;
+    }
+    LinearMatchResult result = actual.get();
+    assertEquals(expected.groupCount(), result.groupCount(), message);
+    for (int group = 0; group <= expected.groupCount(); group++) {
+      assertEquals(expected.group(group), result.group(group), message + " group " + group);
+      assertEquals(expected.start(group), result.start(group), message + " start " + group);
+      assertEquals(expected.end(group), result.end(group), message + " end " + group);
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.commons.AdmissionController.Priority;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AdmissionControllerTest {
+
+  private ExecutorService delegate = Executors.newSingleThreadExecutor();
+  private MeterRegistry registry = new SimpleMeterRegistry();
+  private CountDownLatch release = new CountDownLatch(1);
+  private List<String> ran = Collections.synchronizedList(new ArrayList<>());
+  private List<Priority> rejected = Collections.synchronizedList(new ArrayList<>());
+
+  @AfterEach
+  public void shutdown() {
+    release.countDown();
+    delegate.shutdownNow();
+  }
+
+  @Test
+  public void dropOldestRunsNewestTasksTest() throws Exception {
+    AdmissionController controller = controller(AdmissionPolicy.DROP_OLDEST, 3, 3);
+    block(controller);
+
+    for (int i = 0; i < 10; i++) {
+      controller.submit(Priority.COMMAND, record("command " + i));
+    }
+    drain();
+
+    assertEquals(Arrays.asList("command 8", "command 9"), ran);
+    assertEquals(8, count(Priority.COMMAND, "dropped"));
+    assertEquals(0, count(Priority.COMMAND, "rejected"));
+    assertEquals(0, controller.getAdmittedCount());
+  }
+
+  @Test
+  public void dropOldestDropsEventsBeforeCommandsTest() throws Exception {
+    AdmissionController controller = controller(AdmissionPolicy.DROP_OLDEST, 3, 2);
+    block(controller);
+
+    controller.submit(Priority.EVENT, record("event 1"));
+    controller.submit(Priority.EVENT, record("event 2"));
+    controller.submit(Priority.COMMAND, record("command 1"));
+    controller.submit(Priority.COMMAND, record("command 2"));
+    // an event may not replace a command
+    controller.submit(Priority.EVENT, record("event 3"));
+    drain();
+
+    assertEquals(Arrays.asList("command 1", "command 2"), ran);
+    assertEquals(2, count(Priority.EVENT, "dropped"));
+    assertEquals(1, count(Priority.EVENT, "rejected"));
+    assertEquals(Collections.singletonList(Priority.EVENT), rejected);
+  }
+
+  @Test
+  public void rejectNotifiesListenerTest() throws Exception {
+    AdmissionController controller = controller(AdmissionPolicy.REJECT, 2, 2);
+    block(controller);
+
+    controller.submit(Priority.COMMAND, record("command 1"));
+    controller.submit(Priority.COMMAND, record("command 2"));
+    drain();
+
+    assertEquals(Collections.singletonList("command 1"), ran);
+    assertEquals(Collections.singletonList(Priority.COMMAND), rejected);
+    assertEquals(1, count(Priority.COMMAND, "rejected"));
+  }
+
+  @Test
+  public void rejectShedsEventsFirstTest() throws Exception {
+    AdmissionController controller = controller(AdmissionPolicy.REJECT, 3, 1);
+    block(controller);
+
+    controller.submit(Priority.EVENT, record("event 1"));
+    controller.submit(Priority.COMMAND, record("command 1"));
+    drain();
+
+    assertEquals(Collections.singletonList("command 1"), ran);
+    assertEquals(Collections.singletonList(Priority.EVENT), rejected);
+  }
+
+  @Test
+  public void callerRunsRunsOnSubmittingThreadTest() throws Exception {
+    AdmissionController controller = controller(AdmissionPolicy.CALLER_RUNS, 1, 1);
+    block(controller);
+    AtomicReference<Thread> runner = new AtomicReference<>();
+
+    controller.submit(Priority.COMMAND, () -> runner.set(Thread.currentThread()));
+
+    assertSame(Thread.currentThread(), runner.get());
+    assertEquals(1, count(Priority.COMMAND, "caller_runs"));
+    assertTrue(rejected.isEmpty());
+  }
+
+  private AdmissionController controller(AdmissionPolicy policy, int capacity,
+      int eventCapacity) {
+    return new AdmissionController(delegate, policy, capacity, eventCapacity, rejected::add,
+        registry);
+  }
+
+  /**
+   * Occupies the single delegate thread until released
+   */
+  private void block(AdmissionController controller) throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    controller.submit(Priority.COMMAND, () -> {
+      started.countDown();
+      await(release);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+  }
+
+  private void drain() throws InterruptedException {
+    release.countDown();
+    delegate.shutdown();
+    assertTrue(delegate.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  private Runnable record(String name) {
+    return () -> ran.add(name);
+  }
+
+  private double count(Priority priority, String outcome) {
+    return registry.get("symphony_bot_admission_rejections")
+        .tag("priority", priority.name().toLowerCase())
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
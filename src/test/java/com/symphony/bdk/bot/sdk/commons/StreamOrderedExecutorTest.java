@@ -0,0 +1,112 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
+
+public class StreamOrderedExecutorTest {
+
+  private static final int STREAMS = 6;
+  private static final int TASKS_PER_STREAM = 200;
+
+  private StreamOrderedExecutor executor;
+  private CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  public void shutdown() {
+    release.countDown();
+    MDC.clear();
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void executeKeepsOrderWithinStreamTest() throws Exception {
+    executor = new StreamOrderedExecutor(3, Integer.MAX_VALUE, "lane", null);
+    Map<String, List<Integer>> runs = new HashMap<>();
+    for (int stream = 0; stream < STREAMS; stream++) {
+      runs.put("stream" + stream, Collections.synchronizedList(new ArrayList<>()));
+    }
+    CountDownLatch done = new CountDownLatch(STREAMS * TASKS_PER_STREAM);
+
+    // tasks of the different streams are submitted interleaved
+    for (int task = 0; task < TASKS_PER_STREAM; task++) {
+      for (int stream = 0; stream < STREAMS; stream++) {
+        final int sequence = task;
+        final List<Integer> run = runs.get("stream" + stream);
+        executor.execute("stream" + stream, () -> {
+          run.add(sequence);
+          done.countDown();
+        });
+      }
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    for (List<Integer> run : runs.values()) {
+      assertEquals(TASKS_PER_STREAM, run.size());
+      for (int i = 0; i < TASKS_PER_STREAM; i++) {
+        assertEquals(i, run.get(i).intValue());
+      }
+    }
+  }
+
+  @Test
+  public void executeUsesStreamIdFromLogContextTest() throws Exception {
+    executor = new StreamOrderedExecutor(4, Integer.MAX_VALUE, "lane", null);
+    AtomicReference<Thread> explicit = new AtomicReference<>();
+    AtomicReference<Thread> fromContext = new AtomicReference<>();
+    CountDownLatch done = new CountDownLatch(2);
+
+    executor.execute("stream", () -> {
+      explicit.set(Thread.currentThread());
+      done.countDown();
+    });
+    MDC.put("streamId", "stream");
+    executor.execute(() -> {
+      fromContext.set(Thread.currentThread());
+      done.countDown();
+    });
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertSame(explicit.get(), fromContext.get());
+  }
+
+  @Test
+  public void executeRejectsWhenLaneIsFullTest() throws Exception {
+    executor = new StreamOrderedExecutor(1, 1, "lane", null);
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute("stream", () -> {
+      started.countDown();
+      await(release);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    executor.execute("stream", () -> { });
+
+    assertEquals(1, executor.getQueueDepth(0));
+    assertThrows(TaskRejectedException.class, () -> executor.execute("stream", () -> { }));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
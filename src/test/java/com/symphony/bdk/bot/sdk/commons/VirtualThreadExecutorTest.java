@@ -0,0 +1,127 @@
+package com.symphony.bdk.bot.sdk.commons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+public class VirtualThreadExecutorTest {
+
+  private CountDownLatch release = new CountDownLatch(1);
+  private AtomicBoolean failToStart = new AtomicBoolean();
+  // platform threads standing in for virtual threads, which may not be available
+  private ThreadFactory threadFactory = task -> {
+    if (failToStart.get()) {
+      throw new IllegalStateException("cannot start thread");
+    }
+    return new Thread(task);
+  };
+
+  @AfterEach
+  public void shutdown() {
+    release.countDown();
+  }
+
+  @Test
+  public void executeLimitsRunningTasksTest() throws Exception {
+    VirtualThreadExecutor executor = new VirtualThreadExecutor(threadFactory, 2, 1, null);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch done = new CountDownLatch(3);
+    Runnable task = () -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      started.countDown();
+      await(release);
+      running.decrementAndGet();
+      done.countDown();
+    };
+
+    executor.execute(task);
+    executor.execute(task);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    executor.execute(task);
+
+    assertEquals(1, executor.getWaitingCount());
+    assertThrows(TaskRejectedException.class, () -> executor.execute(task));
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(2, maxRunning.get());
+    assertEquals(0, executor.getWaitingCount());
+  }
+
+  @Test
+  public void executeReleasesPermitWhenThreadFailsToStartTest() throws Exception {
+    VirtualThreadExecutor executor = new VirtualThreadExecutor(threadFactory, 1, 0, null);
+    CountDownLatch ran = new CountDownLatch(1);
+
+    failToStart.set(true);
+    assertThrows(IllegalStateException.class, () -> executor.execute(ran::countDown));
+    failToStart.set(false);
+    executor.execute(ran::countDown);
+
+    assertTrue(ran.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void executeReleasesWaitingSlotWhenThreadFailsToStartTest() throws Exception {
+    VirtualThreadExecutor executor = new VirtualThreadExecutor(threadFactory, 1, 1, null);
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(() -> {
+      started.countDown();
+      await(release);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    failToStart.set(true);
+    assertThrows(IllegalStateException.class, () -> executor.execute(() -> { }));
+
+    assertEquals(0, executor.getWaitingCount());
+  }
+
+  @Test
+  public void executeRunsOnVirtualThreadTest() throws Exception {
+    assumeTrue(VirtualThreadExecutor.isSupported());
+    VirtualThreadExecutor executor = new VirtualThreadExecutor("virtual", 1, 0, null);
+    AtomicBoolean virtual = new AtomicBoolean();
+    CountDownLatch ran = new CountDownLatch(1);
+
+    executor.execute(() -> {
+      try {
+        virtual.set((Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+      ran.countDown();
+    });
+
+    assertTrue(ran.await(5, TimeUnit.SECONDS));
+    assertTrue(virtual.get());
+  }
+
+  @Test
+  public void constructorFailsWithoutVirtualThreadsTest() {
+    assumeFalse(VirtualThreadExecutor.isSupported());
+
+    assertThrows(IllegalStateException.class,
+        () -> new VirtualThreadExecutor("virtual", 1, 0, null));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+package com.symphony.bdk.bot.sdk.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.event.config.DedupProps;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DuplicateEventFilterTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  public void firstEventIsNotDuplicateTest() {
+    DuplicateEventFilter filter = new DuplicateEventFilter(new DedupProps(), meterRegistry);
+
+    assertFalse(filter.isDuplicate("msg-1"));
+    assertFalse(filter.isDuplicate("msg-2"));
+  }
+
+  @Test
+  public void repeatedEventIsDuplicateTest() {
+    DuplicateEventFilter filter = new DuplicateEventFilter(new DedupProps(), meterRegistry);
+
+    filter.isDuplicate("msg-1");
+
+    assertTrue(filter.isDuplicate("msg-1"));
+    assertEquals(1.0, meterRegistry.counter("symphony_bot_duplicate_events").count());
+  }
+
+  @Test
+  public void eventRememberedAfterRotationTest() {
+    DedupProps dedupProps = new DedupProps();
+    dedupProps.setMaxEntries(2);
+    DuplicateEventFilter filter = new DuplicateEventFilter(dedupProps, meterRegistry);
+
+    filter.isDuplicate("msg-1");
+    filter.isDuplicate("msg-2");
+    filter.isDuplicate("msg-3");
+
+    assertTrue(filter.isDuplicate("msg-1"));
+  }
+
+  @Test
+  public void eventForgottenAfterTwoRotationsTest() {
+    DedupProps dedupProps = new DedupProps();
+    dedupProps.setMaxEntries(1);
+    DuplicateEventFilter filter = new DuplicateEventFilter(dedupProps, meterRegistry);
+
+    filter.isDuplicate("msg-1");
+    filter.isDuplicate("msg-2");
+    filter.isDuplicate("msg-3");
+
+    assertFalse(filter.isDuplicate("msg-1"));
+  }
+
+  @Test
+  public void disabledFilterTest() {
+    DedupProps dedupProps = new DedupProps();
+    dedupProps.setEnabled(false);
+    DuplicateEventFilter filter = new DuplicateEventFilter(dedupProps, meterRegistry);
+
+    filter.isDuplicate("msg-1");
+
+    assertFalse(filter.isDuplicate("msg-1"));
+  }
+
+}
@@ -49,6 +49,9 @@ public class EventListenerTest {
   @Mock
   private InternalEventListenerImpl internalEventListener;
 
+  @Mock
+  private DuplicateEventFilter duplicateEventFilter;
+
   @InjectMocks
   private EventListener eventListener;
 
@@ -69,6 +72,18 @@ public class EventListenerTest {
     verify(internalEventListener, times(1)).onRoomMessage(any(MessageEvent.class));
   }
 
+  @Test
+  public void onRoomMessageDuplicateTest() {
+    InboundMessage message = mock(InboundMessage.class);
+    when(message.getMessageId()).thenReturn("msg-id");
+    when(duplicateEventFilter.isDuplicate("msg-id")).thenReturn(true);
+
+    eventListener.onRoomMessage(message);
+
+    verify(internalEventListener, never())
+      .onRoomMessage(any(MessageEvent.class));
+  }
+
   @Test
   public void onRoomMessageErrorTest() {
     InboundMessage message = mock(InboundMessage.class);
@@ -25,6 +25,7 @@ import com.symphony.bdk.bot.sdk.event.model.RoomUpdatedEvent;
 import com.symphony.bdk.bot.sdk.event.model.SymphonyElementsEvent;
 import com.symphony.bdk.bot.sdk.event.model.UserJoinedRoomEvent;
 import com.symphony.bdk.bot.sdk.event.model.UserLeftRoomEvent;
+import com.symphony.bdk.bot.sdk.symphony.RoomStateListener;
 
 @ExtendWith(MockitoExtension.class)
 public class InternalEventListenerTest {
@@ -35,6 +36,9 @@ public class InternalEventListenerTest {
   @Mock
   private EventDispatcher eventDispatcher;
 
+  @Mock
+  private RoomStateListener roomStateListener;
+
   @InjectMocks
   private InternalEventListenerImpl internalEventListener;
 
@@ -76,6 +80,7 @@ public class InternalEventListenerTest {
 
     internalEventListener.onRoomReactivated(event);
 
+    verify(roomStateListener, times(1)).onRoomReactivated(event);
     verify(eventDispatcher, times(1))
       .push(event.getClass().getCanonicalName(), event);
   }
@@ -87,6 +92,7 @@ public class InternalEventListenerTest {
 
     internalEventListener.onRoomDeactivated(event);
 
+    verify(roomStateListener, times(1)).onRoomDeactivated(event);
     verify(eventDispatcher, times(1))
       .push(event.getClass().getCanonicalName(), event);
   }
@@ -98,6 +104,7 @@ public class InternalEventListenerTest {
 
     internalEventListener.onRoomUpdated(event);
 
+    verify(roomStateListener, times(1)).onRoomUpdated(event);
     verify(eventDispatcher, times(1))
       .push(event.getClass().getCanonicalName(), event);
   }
@@ -121,6 +128,7 @@ public class InternalEventListenerTest {
 
     internalEventListener.onRoomMemberDemotedFromOwner(event);
 
+    verify(roomStateListener, times(1)).onRoomMemberDemotedFromOwner(event);
     verify(eventDispatcher, times(1))
       .push(event.getClass().getCanonicalName(), event);
   }
@@ -133,6 +141,7 @@ public class InternalEventListenerTest {
 
     internalEventListener.onRoomMemberPromotedToOwner(event);
 
+    verify(roomStateListener, times(1)).onRoomMemberPromotedToOwner(event);
     verify(eventDispatcher, times(1))
       .push(event.getClass().getCanonicalName(), event);
   }
@@ -144,6 +153,7 @@ public class InternalEventListenerTest {
 
     internalEventListener.onUserJoinedRoom(event);
 
+    verify(roomStateListener, times(1)).onUserJoinedRoom(event);
     verify(eventDispatcher, times(1))
       .push(event.getClass().getCanonicalName(), event);
   }
@@ -155,6 +165,7 @@ public class InternalEventListenerTest {
 
     internalEventListener.onUserLeftRoom(event);
 
+    verify(roomStateListener, times(1)).onUserLeftRoom(event);
     verify(eventDispatcher, times(1))
       .push(event.getClass().getCanonicalName(), event);
   }
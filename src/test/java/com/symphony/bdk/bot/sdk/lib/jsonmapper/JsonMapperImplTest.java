@@ -0,0 +1,33 @@
+package com.symphony.bdk.bot.sdk.lib.jsonmapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonMapperImplTest {
+
+  private JsonMapper jsonMapper = new JsonMapperImpl(new ObjectMapper());
+
+  @Test
+  public void shouldGenerateEnricherString() {
+    String enricher = jsonMapper.toEnricherString("entity.name",
+        Collections.singletonMap("name", "\"quoted\" value"), "1.0");
+
+    assertEquals("{\"entity.name\":{\"type\":\"entity.name\",\"version\":\"1.0\","
+        + "\"payload\":\"{\\\"name\\\":\\\"\\\\\\\"quoted\\\\\\\" value\\\"}\"}}", enricher);
+  }
+
+  @Test
+  public void shouldReuseBufferBetweenEnricherStrings() {
+    jsonMapper.toEnricherString("entity.name",
+        Collections.singletonMap("name", "some long value"), "1.0");
+    String enricher = jsonMapper.toEnricherString("entity.name", 42, null);
+
+    assertEquals("{\"entity.name\":{\"type\":\"entity.name\",\"version\":null,"
+        + "\"payload\":\"42\"}}", enricher);
+  }
+
+}
@@ -0,0 +1,165 @@
+package com.symphony.bdk.bot.sdk.lib.templating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class TemplatePrecompilerTest {
+
+  @Mock
+  private ConfigurableApplicationContext applicationContext;
+
+  @Test
+  public void shouldCompileAllTemplateFiles() {
+    Handlebars handlebars = handlebars("/precompile/valid");
+    RecordingTemplateService templateService = new RecordingTemplateService(handlebars, null);
+    TemplatePrecompiler templatePrecompiler = new TemplatePrecompiler(true, 1);
+
+    templatePrecompiler.precompile(templateService, handlebars.getLoader());
+
+    assertEquals(new HashSet<>(Arrays.asList("greeting", "nested/farewell")),
+        templateService.compiled);
+    assertEquals(2, templatePrecompiler.getTemplateCount());
+    assertTrue(templatePrecompiler.isReady());
+  }
+
+  @Test
+  public void shouldCompileTemplateFilesInParallel() {
+    Handlebars handlebars = handlebars("/precompile/valid");
+    // each compile waits for the other one, which only ends if both run at once
+    CountDownLatch bothCompiling = new CountDownLatch(2);
+    RecordingTemplateService templateService =
+        new RecordingTemplateService(handlebars, bothCompiling);
+    TemplatePrecompiler templatePrecompiler = new TemplatePrecompiler(true, 2);
+
+    templatePrecompiler.precompile(templateService, handlebars.getLoader());
+
+    assertEquals(2, templateService.compiled.size());
+    assertFalse(templateService.timedOut);
+  }
+
+  @Test
+  public void shouldFailOnMalformedTemplateFile() {
+    Handlebars handlebars = handlebars("/precompile/malformed");
+    TemplatePrecompiler templatePrecompiler = new TemplatePrecompiler(true, 2);
+
+    assertThrows(IllegalStateException.class, () -> templatePrecompiler.precompile(
+        new TemplateServiceImpl(handlebars), handlebars.getLoader()));
+    assertFalse(templatePrecompiler.isReady());
+  }
+
+  @Test
+  public void shouldBeReadyOnceWarmedUp() throws Exception {
+    Handlebars handlebars = handlebars("/precompile/valid");
+    TemplatePrecompiler templatePrecompiler = new TemplatePrecompiler(true, 2);
+    templatePrecompiler.register(new TemplateServiceImpl(handlebars), handlebars.getLoader());
+
+    assertFalse(templatePrecompiler.isReady());
+    templatePrecompiler.warmUp().get(5, TimeUnit.SECONDS);
+
+    assertTrue(templatePrecompiler.isReady());
+    assertEquals(2, templatePrecompiler.getTemplateCount());
+  }
+
+  @Test
+  public void shouldStopApplicationOnMalformedTemplateFile() throws Exception {
+    Handlebars handlebars = handlebars("/precompile/malformed");
+    TemplatePrecompiler templatePrecompiler = new TemplatePrecompiler(true, 2);
+    templatePrecompiler.register(new TemplateServiceImpl(handlebars), handlebars.getLoader());
+
+    templatePrecompiler.onApplicationEvent(
+        new ApplicationReadyEvent(new SpringApplication(), new String[0], applicationContext));
+
+    verify(applicationContext, timeout(5000)).close();
+    assertFalse(templatePrecompiler.isReady());
+    assertNotNull(templatePrecompiler.getFailure());
+  }
+
+  @Test
+  public void shouldFailWarmupOnMalformedTemplateFile() {
+    Handlebars handlebars = handlebars("/precompile/malformed");
+    TemplatePrecompiler templatePrecompiler = new TemplatePrecompiler(true, 2);
+    templatePrecompiler.register(new TemplateServiceImpl(handlebars), handlebars.getLoader());
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> templatePrecompiler.warmUp().get(5, TimeUnit.SECONDS));
+
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertFalse(templatePrecompiler.isReady());
+  }
+
+  @Test
+  public void shouldBeReadyWhenDisabled() throws Exception {
+    Handlebars handlebars = handlebars("/precompile/malformed");
+    TemplatePrecompiler templatePrecompiler = new TemplatePrecompiler(false, 2);
+    templatePrecompiler.register(new TemplateServiceImpl(handlebars), handlebars.getLoader());
+
+    templatePrecompiler.warmUp().get(5, TimeUnit.SECONDS);
+
+    assertTrue(templatePrecompiler.isReady());
+    assertEquals(0, templatePrecompiler.getTemplateCount());
+  }
+
+  private static Handlebars handlebars(String directory) {
+    return new Handlebars(new ClassPathTemplateLoader(directory, ".hbs"));
+  }
+
+  /**
+   * Records the compiled template files, optionally waiting for a latch
+   */
+  private static class RecordingTemplateService extends TemplateServiceImpl {
+
+    private final Set<String> compiled = ConcurrentHashMap.newKeySet();
+
+    private final CountDownLatch latch;
+
+    private volatile boolean timedOut;
+
+    RecordingTemplateService(Handlebars handlebars, CountDownLatch latch) {
+      super(handlebars);
+      this.latch = latch;
+    }
+
+    @Override
+    public void precompile(String templateFile) throws IOException {
+      if (latch != null) {
+        latch.countDown();
+        try {
+          if (!latch.await(5, TimeUnit.SECONDS)) {
+            timedOut = true;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      compiled.add(templateFile);
+      super.precompile(templateFile);
+    }
+  }
+
+}
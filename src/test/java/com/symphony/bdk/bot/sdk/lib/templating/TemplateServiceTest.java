@@ -51,4 +51,38 @@ public class TemplateServiceTest {
     verify(template, times(1)).apply(any(Object.class));
   }
 
+  @Test
+  public void shouldCompileTemplateFileOnce() throws IOException {
+    when(handlebars.compile(anyString())).thenReturn(template);
+
+    templateService.processTemplateFile("templateFile", "data");
+    templateService.processTemplateFile("templateFile", "other data");
+
+    verify(handlebars, times(1)).compile(anyString());
+    verify(template, times(2)).apply(any(Object.class));
+  }
+
+  @Test
+  public void shouldCompileTemplateStringOnce() throws IOException {
+    when(handlebars.compileInline(anyString())).thenReturn(template);
+
+    templateService.processTemplateString("{{title}}", "data");
+    templateService.processTemplateString("{{title}}", "other data");
+    templateService.processTemplateString("{{name}}", "data");
+
+    verify(handlebars, times(2)).compileInline(anyString());
+    verify(template, times(3)).apply(any(Object.class));
+  }
+
+  @Test
+  public void shouldUsePrecompiledTemplateFile() throws IOException {
+    when(handlebars.compile(anyString())).thenReturn(template);
+
+    ((TemplateServiceImpl) templateService).precompile("templateFile");
+    templateService.processTemplateFile("templateFile", "data");
+
+    verify(handlebars, times(1)).compile(anyString());
+    verify(template, times(1)).apply(any(Object.class));
+  }
+
 }
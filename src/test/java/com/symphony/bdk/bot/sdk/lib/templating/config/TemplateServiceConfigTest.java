@@ -4,19 +4,17 @@ import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.symphony.bdk.bot.sdk.lib.templating.TemplateService;
 import com.symphony.bdk.bot.sdk.lib.templating.TemplateServiceImpl;
 import com.symphony.bdk.bot.sdk.lib.templating.config.TemplateServiceConfig;
 
-@ExtendWith(MockitoExtension.class)
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 public class TemplateServiceConfigTest {
 
-  @InjectMocks
-  private TemplateServiceConfig templateServiceConfig;
+  private TemplateServiceConfig templateServiceConfig = new TemplateServiceConfig(
+      new TemplateCacheProps(), new TemplatePrecompileProps(), new SimpleMeterRegistry());
 
   @Test
   public void shouldGetHandlebarsService() {
@@ -0,0 +1,58 @@
+package com.symphony.bdk.bot.sdk.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Outcome;
+import com.symphony.bdk.bot.sdk.monitoring.HandlerMetrics.Type;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class HandlerMetricsTest {
+
+  private MeterRegistry registry = new SimpleMeterRegistry();
+  private HandlerMetrics handlerMetrics = new HandlerMetrics(registry);
+  private Object handler = new Object();
+
+  @Test
+  public void recordReusesTimerTest() {
+    handlerMetrics.record(Type.COMMAND, handler, System.nanoTime(), Outcome.OK);
+    handlerMetrics.record(Type.COMMAND, handler, System.nanoTime(), Outcome.OK);
+    handlerMetrics.record(Type.COMMAND, handler, System.nanoTime(), Outcome.ERROR);
+    handlerMetrics.record(Type.EVENT, handler, System.nanoTime(), Outcome.OK);
+
+    assertEquals(2, timer("command", "ok").count());
+    assertEquals(1, timer("command", "error").count());
+    assertEquals(1, timer("event", "ok").count());
+    assertEquals(3, registry.find("symphony_bot_handler").timers().size());
+  }
+
+  @Test
+  public void recordCacheAccessCountsHitsAndMissesTest() {
+    handlerMetrics.recordCacheAccess(handler, true);
+    handlerMetrics.recordCacheAccess(handler, false);
+    handlerMetrics.recordCacheAccess(handler, true);
+
+    assertEquals(2, cacheCount("hit"));
+    assertEquals(1, cacheCount("miss"));
+  }
+
+  private Timer timer(String type, String outcome) {
+    return registry.get("symphony_bot_handler")
+        .tag("type", type)
+        .tag("handler", Object.class.getName())
+        .tag("outcome", outcome)
+        .timer();
+  }
+
+  private double cacheCount(String result) {
+    return registry.get("symphony_bot_response_cache")
+        .tag("handler", Object.class.getName())
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.symphony.bdk.bot.sdk.sse.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.symphony.bdk.bot.sdk.commons.PoolMode;
+import com.symphony.bdk.bot.sdk.commons.VirtualThreadExecutor;
+
+public class SseConfigTest {
+
+  private AsyncTaskExecutor executor;
+
+  @AfterEach
+  public void shutdown() {
+    if (executor instanceof ThreadPoolTaskExecutor) {
+      ((ThreadPoolTaskExecutor) executor).shutdown();
+    }
+  }
+
+  @Test
+  public void sseTaskExecutorIsThreadPoolTest() {
+    ThreadPoolTaskExecutor pool = new SseConfig(props(PoolMode.SHARED)).sseTaskExecutor();
+    executor = pool;
+
+    assertNotNull(pool.getThreadPoolExecutor());
+  }
+
+  @Test
+  public void sseAsyncExecutorUsesThreadPoolTest() {
+    executor = new SseConfig(props(PoolMode.SHARED)).sseAsyncExecutor();
+
+    assertTrue(executor instanceof ThreadPoolTaskExecutor);
+  }
+
+  @Test
+  public void sseAsyncExecutorUsesVirtualThreadsWhenSupportedTest() {
+    executor = new SseConfig(props(PoolMode.VIRTUAL)).sseAsyncExecutor();
+
+    if (VirtualThreadExecutor.isSupported()) {
+      assertTrue(executor instanceof VirtualThreadExecutor);
+    } else {
+      assertTrue(executor instanceof ThreadPoolTaskExecutor);
+    }
+  }
+
+  @Test
+  public void sseAsyncExecutorIgnoresOrderedModeTest() {
+    executor = new SseConfig(props(PoolMode.ORDERED)).sseAsyncExecutor();
+
+    assertTrue(executor instanceof ThreadPoolTaskExecutor);
+  }
+
+  private static SsePoolProps props(PoolMode mode) {
+    SsePoolProps props = new SsePoolProps();
+    props.setCoreSize(1);
+    props.setMaxSize(2);
+    props.setQueueCapacity(0);
+    props.setThreadNamePrefix("sse");
+    props.setMode(mode);
+    props.setMaxConcurrency(10);
+    return props;
+  }
+
+}
@@ -0,0 +1,233 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.symphony.bdk.bot.sdk.event.model.MessageAttachment;
+import com.symphony.bdk.bot.sdk.event.model.MessageAttachmentFile;
+import com.symphony.bdk.bot.sdk.event.model.MessageEvent;
+import com.symphony.bdk.bot.sdk.lib.jsonmapper.JsonMapper;
+import com.symphony.bdk.bot.sdk.lib.templating.TemplateService;
+import com.symphony.bdk.bot.sdk.symphony.config.MessageAttachmentProps;
+import com.symphony.bdk.bot.sdk.symphony.config.MessageCoalescingProps;
+import com.symphony.bdk.bot.sdk.symphony.config.MessagePoolProps;
+import com.symphony.bdk.bot.sdk.symphony.config.OutboundProps;
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyMessage;
+
+import clients.SymBotClient;
+import clients.symphony.api.MessagesClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import model.OutboundMessage;
+
+@ExtendWith(MockitoExtension.class)
+public class MessageClientImplTest {
+
+  private static final String STREAM_ID = "STREAM_ID_1234";
+
+  @Mock
+  private SymBotClient symBotClient;
+
+  @Mock
+  private MessagesClient messagesClient;
+
+  @Mock
+  private TemplateService templateService;
+
+  @Mock
+  private JsonMapper jsonMapper;
+
+  private MessageClientImpl messageClient;
+
+  @BeforeEach
+  public void setUp() {
+    messageClient = new MessageClientImpl(symBotClient, templateService, jsonMapper,
+        new OutboundGovernor(new OutboundProps(), new SimpleMeterRegistry()),
+        new MessageCoalescingProps(), new MessagePoolProps(), attachmentProps());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    messageClient.shutdown();
+  }
+
+  @Test
+  public void sendMessageAsyncTest() throws Exception {
+    when(symBotClient.getMessagesClient()).thenReturn(messagesClient);
+    CompletableFuture<Void> future =
+        messageClient.sendMessageAsync(STREAM_ID, new SymphonyMessage("some message"));
+
+    future.get(5, TimeUnit.SECONDS);
+    verify(messagesClient).sendMessage(eq(STREAM_ID), any(OutboundMessage.class));
+  }
+
+  @Test
+  public void sendMessageAsyncErrorTest() throws Exception {
+    when(symBotClient.getMessagesClient()).thenReturn(messagesClient);
+    doThrow(new RuntimeException("agent unavailable"))
+        .when(messagesClient).sendMessage(eq(STREAM_ID), any(OutboundMessage.class));
+
+    CompletableFuture<Void> future =
+        messageClient.sendMessageAsync(STREAM_ID, new SymphonyMessage("some message"));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof SymphonyClientException);
+  }
+
+  @Test
+  public void sendMessageAsyncRenderErrorTest() {
+    List<MessageAttachmentFile> invalidAttachments = Collections.singletonList(null);
+
+    CompletableFuture<Void> future =
+        messageClient.sendMessageAsync(STREAM_ID, "some message", null, invalidAttachments);
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof NullPointerException);
+  }
+
+  @Test
+  public void sendMessageCoalescingRaisesErrorTest() {
+    messageClient.shutdown();
+    messageClient = coalescingMessageClient();
+    when(symBotClient.getMessagesClient()).thenReturn(messagesClient);
+    doThrow(new RuntimeException("agent unavailable"))
+        .when(messagesClient).sendMessage(eq(STREAM_ID), any(OutboundMessage.class));
+
+    // the synchronous API sends right away
+    assertThrows(SymphonyClientException.class,
+        () -> messageClient.sendMessage(STREAM_ID, new SymphonyMessage("some message")));
+  }
+
+  @Test
+  public void sendMessageAsyncCoalescedErrorTest() throws Exception {
+    messageClient.shutdown();
+    messageClient = coalescingMessageClient();
+    when(symBotClient.getMessagesClient()).thenReturn(messagesClient);
+    doThrow(new RuntimeException("agent unavailable"))
+        .when(messagesClient).sendMessage(eq(STREAM_ID), any(OutboundMessage.class));
+
+    CompletableFuture<Void> first =
+        messageClient.sendMessageAsync(STREAM_ID, new SymphonyMessage("first"));
+    CompletableFuture<Void> second =
+        messageClient.sendMessageAsync(STREAM_ID, new SymphonyMessage("second"));
+
+    // failed once the merged message could not be sent
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof SymphonyClientException);
+    assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void defaultSendMessageAsyncTest() throws Exception {
+    MessageClient defaultClient = mock(MessageClient.class, CALLS_REAL_METHODS);
+    SymphonyClientException error = new SymphonyClientException(new Exception("down"));
+    doThrow(error).when(defaultClient).sendMessage(STREAM_ID, "some message", null, null);
+
+    CompletableFuture<Void> future = defaultClient.sendMessageAsync(STREAM_ID, "some message",
+        null);
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertEquals(error, e.getCause());
+  }
+
+  @Test
+  public void renderEnrichedTemplateMessageTest() throws Exception {
+    doAnswer(invocation -> {
+      invocation.getArgument(2, Writer.class).write("rendered " + invocation.getArgument(1));
+      return null;
+    }).when(templateService).processTemplateString(eq("{{this}}"), eq("data"), any(Writer.class));
+    when(jsonMapper.toEnricherString("entity.name", "entity", "1.0")).thenReturn("{}");
+    SymphonyMessage message = new SymphonyMessage();
+    message.setEnrichedTemplateMessage("{{this}}", "data", "entity.name", "entity", "1.0");
+
+    OutboundMessage outMessage = messageClient.toOutboundMessage(message);
+    OutboundMessage nextOutMessage = messageClient.toOutboundMessage(message);
+
+    assertEquals("<div class='entity' data-entity-id='entity.name'>rendered data</div>",
+        outMessage.getMessage());
+    assertEquals(outMessage.getMessage(), nextOutMessage.getMessage());
+    assertEquals("{}", outMessage.getData());
+  }
+
+  @Test
+  public void downloadMessageAttachmentsTest() throws Exception {
+    when(symBotClient.getMessagesClient()).thenReturn(messagesClient);
+    when(messagesClient.getAttachment(STREAM_ID, "ATTACHMENT_1", "MESSAGE_ID"))
+        .thenReturn(bytes("small"));
+    when(messagesClient.getAttachment(STREAM_ID, "ATTACHMENT_2", "MESSAGE_ID"))
+        .thenReturn(bytes("larger than the threshold"));
+    MessageEvent messageEvent = new MessageEvent();
+    messageEvent.setMessageId("MESSAGE_ID");
+    messageEvent.setStreamId(STREAM_ID);
+    messageEvent.setAttachments(Arrays.asList(
+        attachment("ATTACHMENT_1", "small.txt"), attachment("ATTACHMENT_2", "large.txt")));
+
+    List<MessageAttachmentFile> files = messageClient.downloadMessageAttachments(messageEvent);
+
+    assertEquals(2, files.size());
+    assertFalse(files.get(0).isSpooled());
+    assertArrayEquals(bytes("small"), files.get(0).getFileContent());
+    MessageAttachmentFile spooled = files.get(1);
+    assertTrue(spooled.isSpooled());
+    assertEquals("large.txt", spooled.getFile().getName());
+    assertArrayEquals(bytes("larger than the threshold"), spooled.getFileContent());
+    spooled.close();
+    assertFalse(spooled.getFile().exists());
+  }
+
+  private MessageClientImpl coalescingMessageClient() {
+    MessageCoalescingProps coalescingProps = new MessageCoalescingProps();
+    coalescingProps.setEnabled(true);
+    coalescingProps.setWindow(10);
+    return new MessageClientImpl(symBotClient, templateService, jsonMapper,
+        new OutboundGovernor(new OutboundProps(), new SimpleMeterRegistry()), coalescingProps,
+        new MessagePoolProps(), attachmentProps());
+  }
+
+  private static MessageAttachmentProps attachmentProps() {
+    MessageAttachmentProps attachmentProps = new MessageAttachmentProps();
+    attachmentProps.setSpoolThreshold(10);
+    return attachmentProps;
+  }
+
+  private static MessageAttachment attachment(String id, String name) {
+    MessageAttachment attachment = new MessageAttachment();
+    attachment.setId(id);
+    attachment.setName(name);
+    return attachment;
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(StandardCharsets.UTF_8);
+  }
+
+}
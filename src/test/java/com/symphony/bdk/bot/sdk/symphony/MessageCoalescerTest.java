@@ -0,0 +1,163 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.symphony.bdk.bot.sdk.commons.StreamOrderedExecutor;
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+
+import model.OutboundMessage;
+
+@ExtendWith(MockitoExtension.class)
+public class MessageCoalescerTest {
+
+  private static final String STREAM_ID = "STREAM_ID_1234";
+
+  @Mock
+  private MessageCoalescer.Sender sender;
+
+  private StreamOrderedExecutor executor =
+      new StreamOrderedExecutor(1, Integer.MAX_VALUE, "message-pool-", null);
+  private CountDownLatch release = new CountDownLatch(1);
+  private MessageCoalescer coalescer;
+
+  @AfterEach
+  public void tearDown() {
+    release.countDown();
+    if (coalescer != null) {
+      coalescer.shutdown();
+    }
+    executor.shutdown();
+  }
+
+  @Test
+  public void mergeMessagesTest() throws SymphonyClientException {
+    coalescer = new MessageCoalescer(sender, executor, 60000, 1000);
+
+    coalescer.add(STREAM_ID, "<messageML>first</messageML>");
+    coalescer.add(STREAM_ID, "second");
+    verify(sender, never()).send(any(String.class), any(OutboundMessage.class));
+    coalescer.flush(STREAM_ID);
+
+    assertEquals(Arrays.asList("<messageML>first<br/>second</messageML>"), sentMessages(1));
+  }
+
+  @Test
+  public void singleMessageSentUnchangedTest() throws SymphonyClientException {
+    coalescer = new MessageCoalescer(sender, executor, 60000, 1000);
+
+    coalescer.add(STREAM_ID, "<messageML>only</messageML>");
+    coalescer.flush(STREAM_ID);
+
+    assertEquals(Arrays.asList("<messageML>only</messageML>"), sentMessages(1));
+  }
+
+  @Test
+  public void maxLengthTest() throws SymphonyClientException {
+    coalescer = new MessageCoalescer(sender, executor, 60000, 45);
+
+    coalescer.add(STREAM_ID, "0123456789");
+    coalescer.add(STREAM_ID, "abcdefghij");
+    coalescer.flush(STREAM_ID);
+
+    assertEquals(Arrays.asList("0123456789", "abcdefghij"), sentMessages(2));
+  }
+
+  @Test
+  public void flushAfterWindowTest() throws SymphonyClientException {
+    coalescer = new MessageCoalescer(sender, executor, 10, 1000);
+
+    coalescer.add(STREAM_ID, "first");
+    coalescer.add(STREAM_ID, "second");
+
+    verify(sender, timeout(5000)).send(
+        eq(STREAM_ID), any(OutboundMessage.class));
+  }
+
+  @Test
+  public void flushAfterWindowOnMessagePoolTest() throws Exception {
+    coalescer = new MessageCoalescer(sender, executor, 10, 1000);
+    AtomicReference<String> thread = new AtomicReference<>();
+    doAnswer(invocation -> {
+      thread.set(Thread.currentThread().getName());
+      return null;
+    }).when(sender).send(eq(STREAM_ID), any(OutboundMessage.class));
+
+    coalescer.add(STREAM_ID, "first").get(5, TimeUnit.SECONDS);
+
+    assertTrue(thread.get().startsWith("message-pool-"));
+  }
+
+  @Test
+  public void addDoesNotWaitForSendTest() throws Exception {
+    coalescer = new MessageCoalescer(sender, executor, 10, 1000);
+    CountDownLatch sending = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      sending.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    }).when(sender).send(eq(STREAM_ID), any(OutboundMessage.class));
+
+    CompletableFuture<Void> first = coalescer.add(STREAM_ID, "first");
+    assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+    // buffered while the first message is being sent
+    CompletableFuture<Void> second = assertTimeoutPreemptively(Duration.ofSeconds(1),
+        () -> coalescer.add(STREAM_ID, "second"));
+    assertFalse(first.isDone());
+    release.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void addFailsWhenMergedMessageFailsTest() throws Exception {
+    coalescer = new MessageCoalescer(sender, executor, 60000, 1000);
+    SymphonyClientException error = new SymphonyClientException(new RuntimeException());
+    doThrow(error).when(sender).send(eq(STREAM_ID), any(OutboundMessage.class));
+
+    CompletableFuture<Void> first = coalescer.add(STREAM_ID, "first");
+    CompletableFuture<Void> second = coalescer.add(STREAM_ID, "second");
+    coalescer.flush(STREAM_ID);
+
+    for (CompletableFuture<Void> future : Arrays.asList(first, second)) {
+      ExecutionException e = assertThrows(ExecutionException.class, future::get);
+      assertEquals(error, e.getCause());
+    }
+  }
+
+  private List<String> sentMessages(int count) throws SymphonyClientException {
+    ArgumentCaptor<OutboundMessage> captor = ArgumentCaptor.forClass(OutboundMessage.class);
+    verify(sender, times(count)).send(eq(STREAM_ID), captor.capture());
+    return captor.getAllValues().stream()
+        .map(OutboundMessage::getMessage)
+        .collect(Collectors.toList());
+  }
+
+}
@@ -0,0 +1,179 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.symphony.OutboundGovernor.Family;
+import com.symphony.bdk.bot.sdk.symphony.config.OutboundProps;
+
+import exceptions.SymClientException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OutboundGovernorTest {
+
+  private MeterRegistry registry;
+  private OutboundGovernor governor;
+
+  @BeforeEach
+  public void setUp() {
+    OutboundProps props = new OutboundProps();
+    props.setMaxRetries(2);
+    props.setMaxJitter(0);
+    registry = new SimpleMeterRegistry();
+    governor = new OutboundGovernor(props, registry);
+  }
+
+  @Test
+  public void retryAfterRateLimitTest() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = governor.call(Family.MESSAGES, () -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw rateLimited();
+      }
+      return "sent";
+    });
+
+    assertEquals("sent", result);
+    assertEquals(2, attempts.get());
+    assertEquals(1, count("rate-limited"));
+    assertEquals(1, count("ok"));
+  }
+
+  @Test
+  public void maxRetriesTest() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(WebApplicationException.class, () -> governor.run(Family.MESSAGES, () -> {
+      attempts.incrementAndGet();
+      throw rateLimited();
+    }));
+
+    assertEquals(3, attempts.get());
+    assertEquals(3, count("rate-limited"));
+  }
+
+  @Test
+  public void retryAfterJerseyRateLimitTest() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = governor.call(Family.USERS, () -> {
+      if (attempts.incrementAndGet() == 1) {
+        // raised by the JAX-RS client of the Symphony client on 4xx responses
+        throw new ProcessingException(new ClientErrorException(
+            Response.status(429).header("Retry-After", "0").build()));
+      }
+      return "found";
+    });
+
+    assertEquals("found", result);
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  public void retryAfterSymphonyClientRateLimitTest() throws Exception {
+    OutboundProps props = new OutboundProps();
+    props.setMaxRetries(2);
+    props.setMaxJitter(0);
+    props.setDefaultRetryAfter(0);
+    governor = new OutboundGovernor(props, registry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    governor.run(Family.STREAMS, () -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new SymClientException("Too Many Requests");
+      }
+    });
+
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  public void retryAfterSymphonyClientStatusCodeTest() throws Exception {
+    OutboundProps props = new OutboundProps();
+    props.setMaxRetries(2);
+    props.setMaxJitter(0);
+    props.setDefaultRetryAfter(0);
+    governor = new OutboundGovernor(props, registry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    governor.run(Family.STREAMS, () -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new SymClientException("Unexpected response status: 429");
+      }
+    });
+
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  public void noRetryOnSymphonyClientErrorContaining429Test() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(SymClientException.class, () -> governor.run(Family.MESSAGES, () -> {
+      attempts.incrementAndGet();
+      throw new SymClientException("User 1429042 not found");
+    }));
+
+    assertEquals(1, attempts.get());
+    assertEquals(1, count("error"));
+  }
+
+  @Test
+  public void interruptedWhilePausedTest() throws Exception {
+    OutboundProps props = new OutboundProps();
+    props.setMaxRetries(2);
+    props.setMaxJitter(0);
+    props.setDefaultRetryAfter(60000);
+    governor = new OutboundGovernor(props, registry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(InterruptedException.class, () -> governor.run(Family.MESSAGES, () -> {
+        attempts.incrementAndGet();
+        throw new WebApplicationException(Response.status(429).build());
+      }));
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  public void noRetryOnOtherErrorTest() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(IllegalStateException.class, () -> governor.run(Family.MESSAGES, () -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException("bad request");
+    }));
+
+    assertEquals(1, attempts.get());
+    assertEquals(1, count("error"));
+  }
+
+  private double count(String outcome) {
+    return registry.get("symphony_bot_outbound_calls")
+        .tag("family", "messages")
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private static WebApplicationException rateLimited() {
+    return new WebApplicationException(
+        Response.status(429).header("Retry-After", "0").build());
+  }
+
+}
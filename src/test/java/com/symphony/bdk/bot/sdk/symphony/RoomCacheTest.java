@@ -0,0 +1,94 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.event.model.RoomDetails;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoom;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyStream;
+
+public class RoomCacheTest {
+
+  private static final String STREAM_ID = "iWyZBIOdQQzQj0tKOLRivX+++/A==";
+  private static final String URL_SAFE_STREAM_ID = "iWyZBIOdQQzQj0tKOLRivX---_A";
+
+  private RoomCache roomCache = new RoomCache(100, 60000);
+  private AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  public void getRoomCachesRoomTest() throws Exception {
+    SymphonyRoom first = roomCache.getRoom(STREAM_ID, this::loadRoom);
+    first.setName("changed by caller");
+    SymphonyRoom second = roomCache.getRoom(URL_SAFE_STREAM_ID, this::loadRoom);
+
+    assertNotSame(first, second);
+    assertEquals("room", second.getName());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void updateAppliesRoomPropertiesTest() throws Exception {
+    roomCache.getRoom(STREAM_ID, this::loadRoom);
+    roomCache.getStream(STREAM_ID, this::loadStream);
+    RoomDetails details = new RoomDetails();
+    details.setName("renamed");
+    details.setIsPublic(true);
+
+    roomCache.update(URL_SAFE_STREAM_ID, details);
+
+    SymphonyRoom room = roomCache.getRoom(STREAM_ID, this::loadRoom);
+    assertEquals("renamed", room.getName());
+    assertEquals("description", room.getDescription());
+    assertTrue(room.getPublicRoom());
+    assertEquals("renamed", roomCache.getStream(STREAM_ID, this::loadStream).getRoomName());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void setActiveUpdatesRoomAndStreamTest() throws Exception {
+    roomCache.getRoom(STREAM_ID, this::loadRoom);
+    roomCache.getStream(STREAM_ID, this::loadStream);
+
+    roomCache.setActive(STREAM_ID, false);
+
+    assertFalse(roomCache.getRoom(STREAM_ID, this::loadRoom).isActive());
+    assertFalse(roomCache.getStream(STREAM_ID, this::loadStream).getActive());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void getDoesNotCacheRoomChangedWhileLoadingTest() throws Exception {
+    roomCache.getRoom(STREAM_ID, () -> {
+      roomCache.setActive(STREAM_ID, false);
+      return loadRoom();
+    });
+    roomCache.getRoom(STREAM_ID, this::loadRoom);
+
+    assertEquals(2, loads.get());
+  }
+
+  private SymphonyRoom loadRoom() {
+    loads.incrementAndGet();
+    return SymphonyRoom.builder()
+        .id(STREAM_ID)
+        .name("room")
+        .description("description")
+        .publicRoom(false)
+        .active(true)
+        .build();
+  }
+
+  private SymphonyStream loadStream() {
+    loads.incrementAndGet();
+    return SymphonyStream.builder()
+        .streamId(STREAM_ID)
+        .roomName("room")
+        .active(true)
+        .build();
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoomMember;
+
+public class RoomMembershipTest {
+
+  private static final String STREAM_ID = "iWyZBIOdQQzQj0tKOLRivX___A";
+
+  private RoomMembership roomMembership = new RoomMembership(100, 60000);
+  private AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  public void isMemberLoadsMembersOnceTest() throws Exception {
+    assertTrue(roomMembership.isMember(STREAM_ID, 1L, this::loadMembers));
+    assertTrue(roomMembership.isMember(STREAM_ID, 2L, this::loadMembers));
+    assertFalse(roomMembership.isMember(STREAM_ID, 3L, this::loadMembers));
+    assertTrue(roomMembership.isOwner(STREAM_ID, 1L, this::loadMembers));
+    assertFalse(roomMembership.isOwner(STREAM_ID, 2L, this::loadMembers));
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void eventsUpdateIndexedMembersTest() throws Exception {
+    roomMembership.isMember(STREAM_ID, 1L, this::loadMembers);
+
+    roomMembership.join(STREAM_ID, 3L);
+    roomMembership.promote(STREAM_ID, 2L);
+    roomMembership.demote(STREAM_ID, 1L);
+    roomMembership.leave(STREAM_ID, 2L);
+
+    assertTrue(roomMembership.isMember(STREAM_ID, 3L, this::loadMembers));
+    assertTrue(roomMembership.isMember(STREAM_ID, 1L, this::loadMembers));
+    assertFalse(roomMembership.isOwner(STREAM_ID, 1L, this::loadMembers));
+    assertFalse(roomMembership.isMember(STREAM_ID, 2L, this::loadMembers));
+    assertFalse(roomMembership.isOwner(STREAM_ID, 2L, this::loadMembers));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void eventsReceivedWhileLoadingAreReplayedTest() throws Exception {
+    roomMembership.isMember(STREAM_ID, 1L, () -> {
+      roomMembership.join(STREAM_ID, 3L);
+      roomMembership.leave(STREAM_ID, 2L);
+      return loadMembers();
+    });
+
+    assertTrue(roomMembership.isMember(STREAM_ID, 3L, this::loadMembers));
+    assertFalse(roomMembership.isMember(STREAM_ID, 2L, this::loadMembers));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void isMemberLoadsAgainAfterErrorTest() throws Exception {
+    SymphonyClientException error = new SymphonyClientException(new Exception("down"));
+
+    assertThrows(SymphonyClientException.class,
+        () -> roomMembership.isMember(STREAM_ID, 1L, () -> {
+          throw error;
+        }));
+
+    assertTrue(roomMembership.isMember(STREAM_ID, 1L, this::loadMembers));
+    assertEquals(1, loads.get());
+  }
+
+  private List<SymphonyRoomMember> loadMembers() {
+    loads.incrementAndGet();
+    return Arrays.asList(member(1L, true), member(2L, false));
+  }
+
+  private static SymphonyRoomMember member(Long userId, Boolean owner) {
+    SymphonyRoomMember member = mock(SymphonyRoomMember.class);
+    when(member.getUserId()).thenReturn(userId);
+    when(member.getOwner()).thenReturn(owner);
+    return member;
+  }
+
+}
@@ -0,0 +1,127 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyRoom;
+
+public class SingleFlightTest {
+
+  private static final Object KEY = SingleFlight.key("getRoomInfo", "stream");
+
+  private SingleFlight singleFlight = new SingleFlight();
+  private ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void executeSharesInFlightResultTest() throws Exception {
+    Object result = new Object();
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<Object> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+      calls.incrementAndGet();
+      started.countDown();
+      await(release);
+      return result;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+    Future<Object> follower = executor.submit(() -> singleFlight.execute(KEY, () -> {
+      calls.incrementAndGet();
+      return new Object();
+    }));
+    // let the follower join the in-flight call before it completes
+    Thread.sleep(200);
+    release.countDown();
+
+    assertSame(result, leader.get(5, TimeUnit.SECONDS));
+    assertSame(result, follower.get(5, TimeUnit.SECONDS));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void executeCopiesSharedResultForEachCallerTest() throws Exception {
+    SymphonyRoom room = SymphonyRoom.builder().id("stream").name("room").build();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<SymphonyRoom> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+      started.countDown();
+      await(release);
+      return room;
+    }, RoomCache::copy));
+    started.await(5, TimeUnit.SECONDS);
+    Future<SymphonyRoom> follower = executor.submit(
+        () -> singleFlight.execute(KEY, () -> (SymphonyRoom) null, RoomCache::copy));
+    Thread.sleep(200);
+    release.countDown();
+
+    SymphonyRoom leaderRoom = leader.get(5, TimeUnit.SECONDS);
+    SymphonyRoom followerRoom = follower.get(5, TimeUnit.SECONDS);
+    assertNotSame(leaderRoom, followerRoom);
+    assertNotSame(room, followerRoom);
+    leaderRoom.setName("renamed");
+    assertEquals("room", followerRoom.getName());
+  }
+
+  @Test
+  public void executeSharesInFlightExceptionTest() throws Exception {
+    SymphonyClientException error = new SymphonyClientException(new Exception("down"));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<Object> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+      started.countDown();
+      await(release);
+      throw error;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+    Future<Object> follower = executor.submit(() -> singleFlight.execute(KEY, () -> null));
+    Thread.sleep(200);
+    release.countDown();
+
+    ExecutionException leaderError = assertThrows(ExecutionException.class,
+        () -> leader.get(5, TimeUnit.SECONDS));
+    ExecutionException followerError = assertThrows(ExecutionException.class,
+        () -> follower.get(5, TimeUnit.SECONDS));
+    assertSame(error, leaderError.getCause());
+    assertSame(error, followerError.getCause());
+  }
+
+  @Test
+  public void executeCallsAgainOnceCompletedTest() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+
+    singleFlight.execute(SingleFlight.key("getUserFromId", 1L, true), calls::incrementAndGet);
+    singleFlight.execute(SingleFlight.key("getUserFromId", 1L, true), calls::incrementAndGet);
+    singleFlight.execute(SingleFlight.key("getUserFromId", 2L, true), calls::incrementAndGet);
+
+    assertEquals(3, calls.get());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.symphony.exception.SymphonyClientException;
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyUser;
+
+public class UserBatcherTest {
+
+  private ExecutorService executor = Executors.newFixedThreadPool(3);
+  private List<List<Long>> loaded = Collections.synchronizedList(new ArrayList<>());
+
+  @AfterEach
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void getBatchesLookupsTest() throws Exception {
+    UserBatcher userBatcher = new UserBatcher(this::load, 500, 100);
+
+    Future<SymphonyUser> first = executor.submit(() -> userBatcher.get(1L, true));
+    Future<SymphonyUser> second = executor.submit(() -> userBatcher.get(2L, true));
+    Future<SymphonyUser> missing = executor.submit(() -> userBatcher.get(404L, true));
+
+    assertEquals(1L, first.get(5, TimeUnit.SECONDS).getUserId());
+    assertEquals(2L, second.get(5, TimeUnit.SECONDS).getUserId());
+    assertNull(missing.get(5, TimeUnit.SECONDS));
+    assertEquals(1, loaded.size());
+    assertEquals(3, loaded.get(0).size());
+  }
+
+  @Test
+  public void getFetchesFullBatchWithoutWaitingTest() throws Exception {
+    UserBatcher userBatcher = new UserBatcher(this::load, 60000, 2);
+
+    Future<SymphonyUser> first = executor.submit(() -> userBatcher.get(1L, true));
+    Future<SymphonyUser> second = executor.submit(() -> userBatcher.get(2L, true));
+
+    assertEquals(1L, first.get(5, TimeUnit.SECONDS).getUserId());
+    assertEquals(2L, second.get(5, TimeUnit.SECONDS).getUserId());
+    assertEquals(1, loaded.size());
+  }
+
+  @Test
+  public void getSharesBatchErrorTest() throws Exception {
+    SymphonyClientException error = new SymphonyClientException(new Exception("down"));
+    UserBatcher userBatcher = new UserBatcher((userIds, local) -> {
+      throw error;
+    }, 200, 100);
+
+    Future<SymphonyUser> first = executor.submit(() -> userBatcher.get(1L, true));
+    Future<SymphonyUser> second = executor.submit(() -> userBatcher.get(2L, true));
+
+    assertSame(error, assertThrows(ExecutionException.class,
+        () -> first.get(5, TimeUnit.SECONDS)).getCause());
+    assertSame(error, assertThrows(ExecutionException.class,
+        () -> second.get(5, TimeUnit.SECONDS)).getCause());
+  }
+
+  private List<SymphonyUser> load(List<Long> userIds, Boolean local) {
+    loaded.add(userIds);
+    return userIds.stream()
+        .filter(userId -> userId != 404L)
+        .map(UserBatcherTest::user)
+        .collect(Collectors.toList());
+  }
+
+  private static SymphonyUser user(Long userId) {
+    SymphonyUser user = mock(SymphonyUser.class);
+    when(user.getUserId()).thenReturn(userId);
+    return user;
+  }
+
+}
@@ -0,0 +1,116 @@
+package com.symphony.bdk.bot.sdk.symphony;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import model.UserInfo;
+import org.junit.jupiter.api.Test;
+
+import com.symphony.bdk.bot.sdk.symphony.model.SymphonyUser;
+
+public class UserCacheTest {
+
+  private UserCache userCache = new UserCache(100, 60000, 60000);
+
+  @Test
+  public void getCachesUserTest() throws Exception {
+    SymphonyUser user = user(1L);
+    AtomicInteger loads = new AtomicInteger();
+
+    SymphonyUser first = userCache.get(UserCache.key("id", 1L, true), () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+    SymphonyUser second = userCache.get(UserCache.key("id", 1L, true), () -> {
+      loads.incrementAndGet();
+      return user;
+    });
+
+    assertEquals(user, first);
+    assertEquals(user, second);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void getReturnsCopiesTest() throws Exception {
+    SymphonyUser user = user(1L);
+    user.setDisplayName("Bob");
+
+    SymphonyUser first = userCache.get(UserCache.key("id", 1L, true), () -> user);
+    first.setDisplayName("changed");
+    user.setDisplayName("changed too");
+    SymphonyUser second = userCache.get(UserCache.key("id", 1L, true), () -> null);
+
+    assertNotSame(first, second);
+    assertEquals("Bob", second.getDisplayName());
+  }
+
+  @Test
+  public void getAllReturnsCopiesTest() throws Exception {
+    List<SymphonyUser> first = getAll(Arrays.asList(3L), new ArrayList<>());
+    first.get(0).setDisplayName("changed");
+
+    List<SymphonyUser> second = getAll(Arrays.asList(3L), new ArrayList<>());
+
+    assertNotSame(first.get(0), second.get(0));
+    assertNull(second.get(0).getDisplayName());
+  }
+
+  @Test
+  public void getCachesUserNotFoundTest() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+
+    userCache.get(UserCache.key("id", 1L, true), () -> {
+      loads.incrementAndGet();
+      return null;
+    });
+    SymphonyUser user = userCache.get(UserCache.key("id", 1L, true), () -> {
+      loads.incrementAndGet();
+      return null;
+    });
+
+    assertNull(user);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void getAllLoadsMissesOnlyTest() throws Exception {
+    userCache.get(UserCache.key("id", 1L, true), () -> user(1L));
+    userCache.get(UserCache.key("id", 2L, true), () -> null);
+    List<List<Long>> loaded = new ArrayList<>();
+
+    List<SymphonyUser> users = getAll(Arrays.asList(1L, 2L, 3L, 4L), loaded);
+
+    // 2 is not found, 4 is missing from the response
+    assertEquals(Arrays.asList(Arrays.asList(3L, 4L)), loaded);
+    assertEquals(Arrays.asList(1L, 3L),
+        users.stream().map(SymphonyUser::getUserId).collect(Collectors.toList()));
+
+    loaded.clear();
+    getAll(Arrays.asList(1L, 3L, 4L), loaded);
+    assertEquals(0, loaded.size());
+  }
+
+  private List<SymphonyUser> getAll(List<Long> userIds, List<List<Long>> loaded)
+      throws Exception {
+    return userCache.getAll(userIds, userId -> UserCache.key("id", userId, true),
+        user -> UserCache.key("id", user.getUserId(), true),
+        misses -> {
+          loaded.add(new ArrayList<>(misses));
+          return Arrays.asList(user(3L));
+        });
+  }
+
+  private static SymphonyUser user(Long userId) {
+    SymphonyUser user = new SymphonyUser(mock(UserInfo.class));
+    user.setUserId(userId);
+    return user;
+  }
+
+}